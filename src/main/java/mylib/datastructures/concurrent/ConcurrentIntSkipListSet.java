@@ -0,0 +1,405 @@
+package main.java.mylib.datastructures.concurrent;
+
+import main.java.mylib.datastructures.metrics.Instrumented;
+import main.java.mylib.datastructures.metrics.MemoryLayout;
+import java.util.NoSuchElementException;
+import java.util.OptionalInt;
+import java.util.PrimitiveIterator;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicMarkableReference;
+import java.util.function.IntConsumer;
+
+/**
+ * ConcurrentIntSkipListSet class represents a sorted set of int values that any number
+ * of threads can read and change at the same time without locks. It is a skip list:
+ * every value sits on the bottom list and, with probability 1/2 per level, on each list
+ * above it, so searches skip ahead on the sparse upper lists and take O(log n) expected
+ * time. Unlike an AVL tree behind a lock, writers only contend when they change the same
+ * links, and readers never wait.
+ *
+ * A value is removed by first marking the links out of its node, top level first, with
+ * a compare-and-set on the link and its mark together. A marked node is logically gone;
+ * threads that pass it unlink it. The bottom-level mark decides which remove succeeded.
+ * add, remove and contains are linearizable. floor, ceiling, rangeScan, size and the
+ * iterator are weakly consistent: they never fail because of concurrent changes, and
+ * they reflect some of the changes made while they run.
+ *
+ * Values are stored as primitives in the nodes; the head and tail sentinels use long
+ * keys below and above every int.
+ *
+ * @author Eeman Abid
+ *         <a href="mailto:eeman.abid@ucalgary.ca">eeman.abid@ucalgary.ca</a>
+ * @author Hareem Khan
+ *         <a href="mailto:hareem.khan@ucalgary.ca">hareem.khan@ucalgary.ca</a>
+ */
+
+public class ConcurrentIntSkipListSet implements Instrumented {
+    private static final int MAX_LEVEL = 32;
+
+    /**
+     * Skip list node with one markable link per level it is on.
+     */
+    private static final class Node {
+        final long key;
+        final AtomicMarkableReference<Node>[] next;
+
+        Node(long key, int height){
+            this.key = key;
+            this.next = newLinks(height);
+        }
+
+        @SuppressWarnings("unchecked")
+        private static AtomicMarkableReference<Node>[] newLinks(int height){
+            return (AtomicMarkableReference<Node>[]) new AtomicMarkableReference<?>[height];
+        }
+
+        int topLevel(){
+            return next.length - 1;
+        }
+    }
+
+    private final Node head;
+    private final Node tail;
+
+    /**
+     * Default constructor for ConcurrentIntSkipListSet class.
+     * Creates an empty set.
+     */
+    public ConcurrentIntSkipListSet(){
+        head = new Node(Long.MIN_VALUE, MAX_LEVEL);
+        tail = new Node(Long.MAX_VALUE, MAX_LEVEL);
+        for (int level = 0; level < MAX_LEVEL; level++){
+            head.next[level] = new AtomicMarkableReference<>(tail, false);
+            tail.next[level] = new AtomicMarkableReference<>(null, false);
+        }
+    }
+
+    /**
+     * Adds a value to the set.
+     * Time Complexity: O(log n) expected.
+     *
+     * @param val The value to add.
+     * @return True if the value was not in the set before.
+     */
+    public boolean add(int val){
+        int topLevel = randomLevel();
+        Node[] preds = new Node[MAX_LEVEL];
+        Node[] succs = new Node[MAX_LEVEL];
+        while (true){
+            if (find(val, preds, succs)){
+                return false;
+            }
+            Node node = new Node(val, topLevel + 1);
+            for (int level = 0; level <= topLevel; level++){
+                node.next[level] = new AtomicMarkableReference<>(succs[level], false);
+            }
+            // The node is in the set once it is on the bottom list
+            if (!preds[0].next[0].compareAndSet(succs[0], node, false, false)){
+                continue;
+            }
+            for (int level = 1; level <= topLevel; level++){
+                while (true){
+                    AtomicMarkableReference<Node> link = node.next[level];
+                    Node succ = succs[level];
+                    Node current = link.getReference();
+                    if (link.isMarked()
+                            || (current != succ && !link.compareAndSet(current, succ, false, false))){
+                        // A remove has started on the node, so stop linking it in
+                        return true;
+                    }
+                    if (preds[level].next[level].compareAndSet(succ, node, false, false)){
+                        break;
+                    }
+                    find(val, preds, succs);
+                }
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Removes a value from the set.
+     * Time Complexity: O(log n) expected.
+     *
+     * @param val The value to remove.
+     * @return True if this call removed the value.
+     */
+    public boolean remove(int val){
+        Node[] preds = new Node[MAX_LEVEL];
+        Node[] succs = new Node[MAX_LEVEL];
+        if (!find(val, preds, succs)){
+            return false;
+        }
+        Node victim = succs[0];
+        for (int level = victim.topLevel(); level > 0; level--){
+            boolean[] marked = new boolean[1];
+            Node succ = victim.next[level].get(marked);
+            while (!marked[0]){
+                victim.next[level].attemptMark(succ, true);
+                succ = victim.next[level].get(marked);
+            }
+        }
+        boolean[] marked = new boolean[1];
+        Node succ = victim.next[0].get(marked);
+        while (true){
+            boolean markedHere = victim.next[0].compareAndSet(succ, succ, false, true);
+            succ = victim.next[0].get(marked);
+            if (markedHere){
+                // Unlink the node on every level
+                find(val, preds, succs);
+                return true;
+            }
+            if (marked[0]){
+                return false;
+            }
+        }
+    }
+
+    /**
+     * Checks if a value is in the set. Does not write to shared memory.
+     * Time Complexity: O(log n) expected.
+     *
+     * @param val The value to look up.
+     * @return True if the value is in the set.
+     */
+    public boolean contains(int val){
+        Node node = lowerBound(val, new Node[1]);
+        return node.key == val;
+    }
+
+    /**
+     * Returns the largest value less than or equal to val.
+     * Time Complexity: O(log n) expected.
+     *
+     * @param val The value to compare with.
+     * @return The largest value not greater than val, or an empty OptionalInt.
+     */
+    public OptionalInt floor(int val){
+        Node[] pred = new Node[1];
+        lowerBound(val + 1L, pred);
+        if (pred[0] == head){
+            return OptionalInt.empty();
+        }
+        return OptionalInt.of((int) pred[0].key);
+    }
+
+    /**
+     * Returns the smallest value greater than or equal to val.
+     * Time Complexity: O(log n) expected.
+     *
+     * @param val The value to compare with.
+     * @return The smallest value not less than val, or an empty OptionalInt.
+     */
+    public OptionalInt ceiling(int val){
+        Node node = lowerBound(val, new Node[1]);
+        if (node == tail){
+            return OptionalInt.empty();
+        }
+        return OptionalInt.of((int) node.key);
+    }
+
+    /**
+     * Passes every value from low to high, both included, to the action in ascending
+     * order. Weakly consistent.
+     * Time Complexity: O(log n + k), k being the number of values passed.
+     *
+     * @param low The smallest value of the range.
+     * @param high The largest value of the range.
+     * @param action The action to run for each value.
+     */
+    public void rangeScan(int low, int high, IntConsumer action){
+        Node node = lowerBound(low, new Node[1]);
+        while (node != tail && node.key <= high){
+            if (!node.next[0].isMarked()){
+                action.accept((int) node.key);
+            }
+            node = node.next[0].getReference();
+        }
+    }
+
+    /**
+     * Returns an iterator over the values in ascending order. Weakly consistent: it
+     * never throws ConcurrentModificationException.
+     *
+     * @return An iterator over the values.
+     */
+    public PrimitiveIterator.OfInt iterator(){
+        return new PrimitiveIterator.OfInt() {
+            private Node next = skipMarked(head.next[0].getReference());
+
+            @Override
+            public boolean hasNext(){
+                return next != tail;
+            }
+
+            @Override
+            public int nextInt(){
+                if (next == tail){
+                    throw new NoSuchElementException();
+                }
+                int val = (int) next.key;
+                next = skipMarked(next.next[0].getReference());
+                return val;
+            }
+        };
+    }
+
+    /**
+     * Returns the number of values by walking the bottom list. Weakly consistent.
+     * Time Complexity: O(n).
+     *
+     * @return The number of values.
+     */
+    public int size(){
+        int count = 0;
+        for (Node node = skipMarked(head.next[0].getReference()); node != tail;
+                node = skipMarked(node.next[0].getReference())){
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * Checks if the set is empty.
+     *
+     * @return True if the set holds no values.
+     */
+    public boolean isEmpty(){
+        return skipMarked(head.next[0].getReference()) == tail;
+    }
+
+    /**
+     * Returns an estimate of the heap used by the set. Every node on the bottom list is
+     * counted with its link array and one markable reference, holding a reference and
+     * mark pair, per level. Weakly consistent.
+     * Time Complexity: O(n).
+     *
+     * @return The estimated number of bytes.
+     */
+    @Override
+    public long memoryFootprint(){
+        long bytes = MemoryLayout.shallowSizeOf(getClass()) + nodeFootprint(head) + nodeFootprint(tail);
+        for (Node node = head.next[0].getReference(); node != tail; node = node.next[0].getReference()){
+            bytes += nodeFootprint(node);
+        }
+        return bytes;
+    }
+
+    private static long nodeFootprint(Node node){
+        long link = MemoryLayout.shallowSizeOf(AtomicMarkableReference.class)
+                + MemoryLayout.align(MemoryLayout.OBJECT_HEADER_SIZE + MemoryLayout.REFERENCE_SIZE + 1);
+        return MemoryLayout.shallowSizeOf(Node.class) + MemoryLayout.sizeOf(node.next) + node.next.length * link;
+    }
+
+    /**
+     * Finds, on every level, the last node with a key less than key and the node after
+     * it, unlinking any marked nodes met on the way.
+     *
+     * @return True if the bottom-level successor has the key.
+     */
+    private boolean find(long key, Node[] preds, Node[] succs){
+        boolean[] marked = new boolean[1];
+        retry:
+        while (true){
+            Node pred = head;
+            for (int level = MAX_LEVEL - 1; level >= 0; level--){
+                Node curr = pred.next[level].getReference();
+                while (true){
+                    Node succ = curr.next[level].get(marked);
+                    while (marked[0]){
+                        if (!pred.next[level].compareAndSet(curr, succ, false, false)){
+                            continue retry;
+                        }
+                        curr = succ;
+                        succ = curr.next[level].get(marked);
+                    }
+                    if (curr.key < key){
+                        pred = curr;
+                        curr = succ;
+                    }
+                    else {
+                        break;
+                    }
+                }
+                preds[level] = pred;
+                succs[level] = curr;
+            }
+            return succs[0].key == key;
+        }
+    }
+
+    /**
+     * Returns the first unmarked bottom-level node with a key of at least key, stepping
+     * over marked nodes without unlinking them. The node before it is stored in pred[0].
+     */
+    private Node lowerBound(long key, Node[] pred){
+        boolean[] marked = new boolean[1];
+        Node before = head;
+        Node curr = null;
+        for (int level = MAX_LEVEL - 1; level >= 0; level--){
+            curr = before.next[level].getReference();
+            while (true){
+                Node succ = curr.next[level].get(marked);
+                while (marked[0]){
+                    curr = succ;
+                    succ = curr.next[level].get(marked);
+                }
+                if (curr.key < key){
+                    before = curr;
+                    curr = succ;
+                }
+                else {
+                    break;
+                }
+            }
+        }
+        pred[0] = before;
+        return curr;
+    }
+
+    private Node skipMarked(Node node){
+        while (node != tail && node.next[0].isMarked()){
+            node = node.next[0].getReference();
+        }
+        return node;
+    }
+
+    /**
+     * Returns a level from 0 to MAX_LEVEL - 1 with probability 1/2 per level.
+     */
+    private static int randomLevel(){
+        int bits = ThreadLocalRandom.current().nextInt();
+        return Math.min(Integer.numberOfTrailingZeros(bits), MAX_LEVEL - 1);
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        System.out.println("\nConcurrentIntSkipListSet Tests");
+
+        ConcurrentIntSkipListSet set = new ConcurrentIntSkipListSet();
+
+        // Four threads insert interleaved values at the same time
+        Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; t++) {
+            final int offset = t;
+            threads[t] = new Thread(() -> {
+                for (int i = offset; i < 1000; i += 4) {
+                    set.add(i * 10);
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        System.out.println("Size after concurrent inserts: " + set.size()); //should output: 1000
+
+        set.remove(500);
+        System.out.println("Contains 500: " + set.contains(500)); //should output: false
+        System.out.println("Floor of 505: " + set.floor(505).getAsInt()); //should output: 490
+        System.out.println("Ceiling of 505: " + set.ceiling(505).getAsInt()); //should output: 510
+
+        System.out.print("Values from 470 to 530: ");
+        set.rangeScan(470, 530, val -> System.out.print(val + " "));
+        System.out.println("\n"); //should output: 470 480 490 510 520 530
+    }
+}
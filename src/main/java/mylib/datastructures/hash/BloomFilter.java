@@ -0,0 +1,204 @@
+package main.java.mylib.datastructures.hash;
+
+import main.java.mylib.datastructures.metrics.MemoryLayout;
+import java.util.Arrays;
+
+/**
+ * BloomFilter class represents a Bloom filter over int values: a bit array in which
+ * every value sets k bits chosen by hashing. A value whose k bits are not all set was
+ * never added. The bit count and k are chosen from the expected number of values and
+ * the wanted false positive rate, so that, for example, 10 bits and 7 hashes per value
+ * give a rate of about 1%.
+ *
+ * The k positions come from one 64-bit hash of the value split into two halves,
+ * h1 + i * h2, which keeps lookups to a single hash computation. Values cannot be
+ * removed; use CountingBloomFilter for structures that delete often.
+ *
+ * @author Eeman Abid
+ *         <a href="mailto:eeman.abid@ucalgary.ca">eeman.abid@ucalgary.ca</a>
+ * @author Hareem Khan
+ *         <a href="mailto:hareem.khan@ucalgary.ca">hareem.khan@ucalgary.ca</a>
+ */
+
+public class BloomFilter implements MembershipFilter {
+    private final long[] bits;
+    private final int bitCount;
+    private final int hashCount;
+    private int added;
+
+    /**
+     * Constructor for BloomFilter class.
+     *
+     * @param expectedInsertions The number of values expected to be added.
+     * @param falsePositiveRate The wanted rate of wrong true answers once they are added.
+     * @throws IllegalArgumentException if expectedInsertions is negative or the rate is
+     *         not between 0 and 1.
+     */
+    public BloomFilter(int expectedInsertions, double falsePositiveRate){
+        checkSizing(expectedInsertions, falsePositiveRate);
+        this.bitCount = optimalBitCount(expectedInsertions, falsePositiveRate);
+        this.hashCount = optimalHashCount(expectedInsertions, bitCount);
+        this.bits = new long[(bitCount + 63) >>> 6];
+    }
+
+    /**
+     * Adds a value by setting its k bits.
+     * Time Complexity: O(k).
+     *
+     * @param val The value to add.
+     */
+    @Override
+    public void add(int val){
+        long h = hash64(val);
+        int h1 = (int) h;
+        int h2 = (int) (h >>> 32) | 1;
+        for (int i = 0; i < hashCount; i++){
+            int index = index(h1 + i * h2, bitCount);
+            bits[index >>> 6] |= 1L << index;
+        }
+        added++;
+    }
+
+    /**
+     * Checks if a value might have been added.
+     * Time Complexity: O(k).
+     *
+     * @param val The value to look up.
+     * @return False if the value was certainly not added, true if it might have been.
+     */
+    @Override
+    public boolean mightContain(int val){
+        long h = hash64(val);
+        int h1 = (int) h;
+        int h2 = (int) (h >>> 32) | 1;
+        for (int i = 0; i < hashCount; i++){
+            int index = index(h1 + i * h2, bitCount);
+            if ((bits[index >>> 6] & (1L << index)) == 0){
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Does nothing, since a bit may be shared by other values.
+     *
+     * @param val The value to remove.
+     * @return False.
+     */
+    @Override
+    public boolean remove(int val){
+        return false;
+    }
+
+    @Override
+    public void clear(){
+        Arrays.fill(bits, 0L);
+        added = 0;
+    }
+
+    /**
+     * Returns the number of bits of the filter.
+     *
+     * @return The bit count.
+     */
+    public int getBitCount(){
+        return bitCount;
+    }
+
+    /**
+     * Returns the number of bits each value sets.
+     *
+     * @return The number of hashes.
+     */
+    public int getHashCount(){
+        return hashCount;
+    }
+
+    /**
+     * Returns the false positive rate expected for the number of values added since
+     * the filter was created or cleared: (1 - e^(-k * n / m))^k.
+     *
+     * @return The expected false positive rate.
+     */
+    public double expectedFalsePositiveRate(){
+        return Math.pow(1 - Math.exp(-(double) hashCount * added / bitCount), hashCount);
+    }
+
+    /**
+     * Returns an estimate of the heap used by the filter and its bit array.
+     * Time Complexity: O(1).
+     *
+     * @return The estimated number of bytes.
+     */
+    @Override
+    public long memoryFootprint(){
+        return MemoryLayout.shallowSizeOf(getClass()) + MemoryLayout.sizeOf(bits);
+    }
+
+    @Override
+    public String toString(){
+        return "BloomFilter[bits=" + bitCount + ", hashes=" + hashCount + ", added=" + added + "]";
+    }
+
+    static void checkSizing(int expectedInsertions, double falsePositiveRate){
+        if (expectedInsertions < 0){
+            throw new IllegalArgumentException("expectedInsertions must not be negative");
+        }
+        if (!(falsePositiveRate > 0 && falsePositiveRate < 1)){
+            throw new IllegalArgumentException("falsePositiveRate must be between 0 and 1");
+        }
+    }
+
+    /**
+     * Returns m = -n ln(p) / (ln 2)^2, rounded up to a multiple of 64.
+     */
+    static int optimalBitCount(int expectedInsertions, double falsePositiveRate){
+        double n = Math.max(expectedInsertions, 1);
+        double m = -n * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2));
+        long rounded = ((long) Math.ceil(m) + 63) & ~63L;
+        return (int) Math.min(Math.max(rounded, 64), Integer.MAX_VALUE & ~63);
+    }
+
+    /**
+     * Returns k = m / n ln 2, at least 1.
+     */
+    static int optimalHashCount(int expectedInsertions, int bitCount){
+        double n = Math.max(expectedInsertions, 1);
+        return Math.max(1, (int) Math.round(bitCount / n * Math.log(2)));
+    }
+
+    /**
+     * Mixes all bits of a value into a 64-bit hash, as the SplitMix64 finalizer does.
+     */
+    static long hash64(int val){
+        long h = val * 0x9E3779B97F4A7C15L;
+        h = (h ^ (h >>> 30)) * 0xBF58476D1CE4E5B9L;
+        h = (h ^ (h >>> 27)) * 0x94D049BB133111EBL;
+        return h ^ (h >>> 31);
+    }
+
+    static int index(int combined, int bitCount){
+        return (combined & Integer.MAX_VALUE) % bitCount;
+    }
+
+    public static void main(String[] args) {
+        System.out.println("\nBloomFilter Tests");
+
+        BloomFilter filter = new BloomFilter(1000, 0.01);
+        for (int i = 0; i < 1000; i++) {
+            filter.add(i * 2);
+        }
+        System.out.println(filter); //should output: BloomFilter[bits=9600, hashes=7, added=1000]
+        System.out.println("Might contain 500: " + filter.mightContain(500)); //should output: true
+
+        int falsePositives = 0;
+        for (int i = 0; i < 10000; i++) {
+            if (filter.mightContain(-1 - 2 * i)) {
+                falsePositives++;
+            }
+        }
+        // Roughly 1% of the 10000 absent odd values pass the filter
+        System.out.println("False positives below 200: " + (falsePositives < 200) + "\n"); //should output: true
+    }
+}
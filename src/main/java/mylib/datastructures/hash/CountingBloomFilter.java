@@ -0,0 +1,191 @@
+package main.java.mylib.datastructures.hash;
+
+import main.java.mylib.datastructures.metrics.MemoryLayout;
+import java.util.Arrays;
+
+/**
+ * CountingBloomFilter class represents a Bloom filter that supports removal. Every
+ * position holds a 4-bit counter instead of a bit: adding a value increments its k
+ * counters and removing it decrements them, so a list or tree that deletes values keeps
+ * the filter as sharp as when it was filled. It uses four times the memory of a
+ * BloomFilter with the same false positive rate.
+ *
+ * Sixteen counters are packed into each long. A counter that reaches 15 stays there,
+ * since it no longer knows how many values share it; this can only leave extra true
+ * answers, and with the default sizing it needs about 15 values on one position, which
+ * practically never happens.
+ *
+ * @author Eeman Abid
+ *         <a href="mailto:eeman.abid@ucalgary.ca">eeman.abid@ucalgary.ca</a>
+ * @author Hareem Khan
+ *         <a href="mailto:hareem.khan@ucalgary.ca">hareem.khan@ucalgary.ca</a>
+ */
+
+public class CountingBloomFilter implements MembershipFilter {
+    private static final long MAX_COUNT = 15;
+
+    private final long[] counters;
+    private final int counterCount;
+    private final int hashCount;
+    private int size;
+
+    /**
+     * Constructor for CountingBloomFilter class.
+     *
+     * @param expectedInsertions The number of values expected to be in the filter at once.
+     * @param falsePositiveRate The wanted rate of wrong true answers at that size.
+     * @throws IllegalArgumentException if expectedInsertions is negative or the rate is
+     *         not between 0 and 1.
+     */
+    public CountingBloomFilter(int expectedInsertions, double falsePositiveRate){
+        BloomFilter.checkSizing(expectedInsertions, falsePositiveRate);
+        this.counterCount = BloomFilter.optimalBitCount(expectedInsertions, falsePositiveRate);
+        this.hashCount = BloomFilter.optimalHashCount(expectedInsertions, counterCount);
+        this.counters = new long[counterCount >>> 4];
+    }
+
+    /**
+     * Adds a value by incrementing its k counters.
+     * Time Complexity: O(k).
+     *
+     * @param val The value to add.
+     */
+    @Override
+    public void add(int val){
+        long h = BloomFilter.hash64(val);
+        int h1 = (int) h;
+        int h2 = (int) (h >>> 32) | 1;
+        for (int i = 0; i < hashCount; i++){
+            int index = BloomFilter.index(h1 + i * h2, counterCount);
+            if (count(index) < MAX_COUNT){
+                counters[index >>> 4] += 1L << shift(index);
+            }
+        }
+        size++;
+    }
+
+    /**
+     * Checks if a value might be in the filter.
+     * Time Complexity: O(k).
+     *
+     * @param val The value to look up.
+     * @return False if the value is certainly not in the filter, true if it might be.
+     */
+    @Override
+    public boolean mightContain(int val){
+        long h = BloomFilter.hash64(val);
+        int h1 = (int) h;
+        int h2 = (int) (h >>> 32) | 1;
+        for (int i = 0; i < hashCount; i++){
+            if (count(BloomFilter.index(h1 + i * h2, counterCount)) == 0){
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Removes one occurrence of a value by decrementing its k counters. Counters stuck
+     * at 15 are left as they are.
+     * Time Complexity: O(k).
+     *
+     * @param val The value to remove.
+     * @return True if the value was removed, false if it was certainly not in the filter.
+     */
+    @Override
+    public boolean remove(int val){
+        if (!mightContain(val)){
+            return false;
+        }
+        long h = BloomFilter.hash64(val);
+        int h1 = (int) h;
+        int h2 = (int) (h >>> 32) | 1;
+        for (int i = 0; i < hashCount; i++){
+            int index = BloomFilter.index(h1 + i * h2, counterCount);
+            long count = count(index);
+            if (count > 0 && count < MAX_COUNT){
+                counters[index >>> 4] -= 1L << shift(index);
+            }
+        }
+        size--;
+        return true;
+    }
+
+    @Override
+    public void clear(){
+        Arrays.fill(counters, 0L);
+        size = 0;
+    }
+
+    /**
+     * Returns the number of values added and not removed.
+     *
+     * @return The number of values in the filter.
+     */
+    public int size(){
+        return size;
+    }
+
+    /**
+     * Returns the number of counters of the filter.
+     *
+     * @return The counter count.
+     */
+    public int getCounterCount(){
+        return counterCount;
+    }
+
+    /**
+     * Returns the number of counters each value increments.
+     *
+     * @return The number of hashes.
+     */
+    public int getHashCount(){
+        return hashCount;
+    }
+
+    /**
+     * Returns an estimate of the heap used by the filter and its counter array.
+     * Time Complexity: O(1).
+     *
+     * @return The estimated number of bytes.
+     */
+    @Override
+    public long memoryFootprint(){
+        return MemoryLayout.shallowSizeOf(getClass()) + MemoryLayout.sizeOf(counters);
+    }
+
+    @Override
+    public String toString(){
+        return "CountingBloomFilter[counters=" + counterCount + ", hashes=" + hashCount + ", size=" + size + "]";
+    }
+
+    private long count(int index){
+        return (counters[index >>> 4] >>> shift(index)) & MAX_COUNT;
+    }
+
+    private static int shift(int index){
+        return (index & 15) << 2;
+    }
+
+    public static void main(String[] args) {
+        System.out.println("\nCountingBloomFilter Tests");
+
+        CountingBloomFilter filter = new CountingBloomFilter(100, 0.01);
+        for (int i = 0; i < 100; i++) {
+            filter.add(i);
+        }
+        filter.add(7);
+        System.out.println(filter); //should output: CountingBloomFilter[counters=960, hashes=7, size=101]
+
+        // 7 was added twice, so it is still there after one removal
+        filter.remove(7);
+        System.out.println("Might contain 7: " + filter.mightContain(7)); //should output: true
+
+        for (int i = 0; i < 100; i++) {
+            filter.remove(i);
+        }
+        System.out.println("Size: " + filter.size()); //should output: 0
+        System.out.println("Might contain 42: " + filter.mightContain(42) + "\n"); //should output: false
+    }
+}
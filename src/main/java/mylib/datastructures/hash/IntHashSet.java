@@ -0,0 +1,348 @@
+package main.java.mylib.datastructures.hash;
+
+import main.java.mylib.datastructures.linear.SLL;
+import main.java.mylib.datastructures.trees.BPlusTree;
+import main.java.mylib.datastructures.trees.BST;
+import main.java.mylib.datastructures.trees.PersistentAVL;
+import main.java.mylib.datastructures.metrics.Instrumented;
+import main.java.mylib.datastructures.metrics.MemoryLayout;
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * IntHashSet class represents a set of int values in an open-addressing hash table. The
+ * values are stored directly in an int array, so unlike a HashSet of Integer no object
+ * is allocated per value and a lookup touches one or two cache lines.
+ *
+ * Collisions are resolved by linear probing. Removing a value shifts the following
+ * values of its probe run back into the gap, so the table never holds tombstones and
+ * lookups do not slow down after many removals. The capacity is a power of two and is
+ * doubled whenever the table becomes three quarters full. The slot value 0 marks an
+ * empty slot, so the value 0 itself is tracked with a separate flag.
+ *
+ * The of methods build a set from the values of the other structures in the library.
+ *
+ * @author Eeman Abid
+ *         <a href="mailto:eeman.abid@ucalgary.ca">eeman.abid@ucalgary.ca</a>
+ * @author Hareem Khan
+ *         <a href="mailto:hareem.khan@ucalgary.ca">hareem.khan@ucalgary.ca</a>
+ */
+
+public class IntHashSet implements Instrumented {
+    private static final int MIN_CAPACITY = 8;
+
+    private int[] keys;
+    private int mask;
+    private int used;
+    private boolean hasZero;
+
+    /**
+     * Default constructor for IntHashSet class.
+     * Creates an empty set.
+     */
+    public IntHashSet(){
+        this(0);
+    }
+
+    /**
+     * Constructor for IntHashSet class that sizes the table for the given number of
+     * values, so that adding them does not resize it.
+     *
+     * @param expectedSize The number of values expected.
+     * @throws IllegalArgumentException if expectedSize is negative.
+     */
+    public IntHashSet(int expectedSize){
+        if (expectedSize < 0){
+            throw new IllegalArgumentException("expectedSize must not be negative");
+        }
+        allocate(capacityFor(expectedSize));
+    }
+
+    /**
+     * Creates a set of the given values.
+     *
+     * @param values The values to add.
+     * @return A new set.
+     */
+    public static IntHashSet of(int... values){
+        IntHashSet set = new IntHashSet(values.length);
+        for (int val : values){
+            set.add(val);
+        }
+        return set;
+    }
+
+    /**
+     * Creates a set of the values of a list. Works for every list in the library.
+     *
+     * @param list The list to take the values from.
+     * @return A new set.
+     */
+    public static IntHashSet of(SLL list){
+        IntHashSet set = new IntHashSet();
+        list.forEach(set::add);
+        return set;
+    }
+
+    /**
+     * Creates a set of the values of a binary search tree. Works for BST and all its
+     * subclasses.
+     *
+     * @param tree The tree to take the values from.
+     * @return A new set.
+     */
+    public static IntHashSet of(BST tree){
+        IntHashSet set = new IntHashSet();
+        tree.forEachInOrder(set::add);
+        return set;
+    }
+
+    /**
+     * Creates a set of the values of a version of a persistent AVL tree.
+     *
+     * @param tree The tree to take the values from.
+     * @return A new set.
+     */
+    public static IntHashSet of(PersistentAVL tree){
+        IntHashSet set = new IntHashSet(tree.size());
+        tree.forEachInOrder(set::add);
+        return set;
+    }
+
+    /**
+     * Creates a set of the keys of a B+ tree.
+     *
+     * @param tree The tree to take the keys from.
+     * @return A new set.
+     */
+    public static IntHashSet of(BPlusTree tree){
+        IntHashSet set = new IntHashSet(tree.size());
+        tree.rangeScan(Integer.MIN_VALUE, Integer.MAX_VALUE, set::add);
+        return set;
+    }
+
+    /**
+     * Adds a value to the set.
+     * Time Complexity: O(1) expected.
+     *
+     * @param val The value to add.
+     * @return True if the value was not in the set before.
+     */
+    public boolean add(int val){
+        if (val == 0){
+            if (hasZero){
+                return false;
+            }
+            hasZero = true;
+            return true;
+        }
+        int slot = hash(val) & mask;
+        while (keys[slot] != 0){
+            if (keys[slot] == val){
+                return false;
+            }
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = val;
+        if (++used > maxFill(keys.length)){
+            allocate(keys.length * 2);
+        }
+        return true;
+    }
+
+    /**
+     * Checks if a value is in the set.
+     * Time Complexity: O(1) expected.
+     *
+     * @param val The value to look up.
+     * @return True if the value is in the set.
+     */
+    public boolean contains(int val){
+        if (val == 0){
+            return hasZero;
+        }
+        int slot = hash(val) & mask;
+        while (keys[slot] != 0){
+            if (keys[slot] == val){
+                return true;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return false;
+    }
+
+    /**
+     * Removes a value from the set.
+     * Time Complexity: O(1) expected.
+     *
+     * @param val The value to remove.
+     * @return True if the value was in the set.
+     */
+    public boolean remove(int val){
+        if (val == 0){
+            boolean had = hasZero;
+            hasZero = false;
+            return had;
+        }
+        int slot = hash(val) & mask;
+        while (keys[slot] != 0){
+            if (keys[slot] == val){
+                shiftBack(slot);
+                used--;
+                return true;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return false;
+    }
+
+    /**
+     * Returns the number of values in the set.
+     *
+     * @return The number of values.
+     */
+    public int size(){
+        return used + (hasZero ? 1 : 0);
+    }
+
+    /**
+     * Checks if the set is empty.
+     *
+     * @return True if the set holds no values.
+     */
+    public boolean isEmpty(){
+        return size() == 0;
+    }
+
+    /**
+     * Removes all values from the set, keeping the table size.
+     */
+    public void clear(){
+        Arrays.fill(keys, 0);
+        used = 0;
+        hasZero = false;
+    }
+
+    /**
+     * Passes every value to the action, in no particular order.
+     *
+     * @param action The action to run for each value.
+     */
+    public void forEach(IntConsumer action){
+        if (hasZero){
+            action.accept(0);
+        }
+        for (int key : keys){
+            if (key != 0){
+                action.accept(key);
+            }
+        }
+    }
+
+    /**
+     * Returns the values of the set in a new array, in no particular order.
+     *
+     * @return An array of the values.
+     */
+    public int[] toArray(){
+        int[] result = new int[size()];
+        int i = 0;
+        if (hasZero){
+            result[i++] = 0;
+        }
+        for (int key : keys){
+            if (key != 0){
+                result[i++] = key;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Closes the gap left at slot by a removed value: every following value of the
+     * probe run whose home slot does not lie between the gap and its own slot is moved
+     * into the gap, which then moves to where that value was.
+     */
+    private void shiftBack(int gap){
+        int slot = gap;
+        while (true){
+            slot = (slot + 1) & mask;
+            int key = keys[slot];
+            if (key == 0){
+                break;
+            }
+            int home = hash(key) & mask;
+            if (((slot - home) & mask) >= ((slot - gap) & mask)){
+                keys[gap] = key;
+                gap = slot;
+            }
+        }
+        keys[gap] = 0;
+    }
+
+    private void allocate(int capacity){
+        int[] old = keys;
+        keys = new int[capacity];
+        mask = capacity - 1;
+        if (old != null){
+            for (int key : old){
+                if (key != 0){
+                    int slot = hash(key) & mask;
+                    while (keys[slot] != 0){
+                        slot = (slot + 1) & mask;
+                    }
+                    keys[slot] = key;
+                }
+            }
+        }
+    }
+
+    /**
+     * Spreads the bits of a value so that values differing only in their high bits
+     * land in different slots.
+     */
+    static int hash(int val){
+        int h = val * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    static int maxFill(int capacity){
+        return capacity / 4 * 3;
+    }
+
+    static int capacityFor(int expectedSize){
+        int capacity = MIN_CAPACITY;
+        while (capacity < (1 << 30) && maxFill(capacity) < expectedSize){
+            capacity *= 2;
+        }
+        return capacity;
+    }
+
+    /**
+     * Returns an estimate of the heap used by the set and its table.
+     * Time Complexity: O(1).
+     *
+     * @return The estimated number of bytes.
+     */
+    @Override
+    public long memoryFootprint(){
+        return MemoryLayout.shallowSizeOf(getClass()) + MemoryLayout.sizeOf(keys);
+    }
+
+    public static void main(String[] args) {
+        System.out.println("\nIntHashSet Tests");
+
+        IntHashSet set = IntHashSet.of(5, 0, 17, 42, 5, 99);
+        System.out.println("Size: " + set.size()); //should output: 5
+        System.out.println("Contains 42: " + set.contains(42)); //should output: true
+        System.out.println("Contains 7: " + set.contains(7)); //should output: false
+
+        set.remove(42);
+        set.remove(0);
+        set.add(7);
+        System.out.println("Contains 42 after removal: " + set.contains(42)); //should output: false
+        int[] values = set.toArray();
+        Arrays.sort(values);
+        System.out.println("Values: " + Arrays.toString(values) + "\n"); //should output: [5, 7, 17, 99]
+    }
+}
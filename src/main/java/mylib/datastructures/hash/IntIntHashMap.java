@@ -0,0 +1,338 @@
+package main.java.mylib.datastructures.hash;
+
+import main.java.mylib.datastructures.linear.SLL;
+import main.java.mylib.datastructures.trees.BST;
+import main.java.mylib.datastructures.metrics.Instrumented;
+import main.java.mylib.datastructures.metrics.MemoryLayout;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * IntIntHashMap class represents a map from int keys to int values in an open-addressing
+ * hash table, with the keys and values in two parallel int arrays so that no object is
+ * allocated per entry.
+ *
+ * It uses the same table layout as IntHashSet: linear probing, removal by shifting the
+ * rest of the probe run back instead of leaving tombstones, and a power-of-two capacity
+ * that doubles at three quarters full. The key 0 marks an empty slot, so its entry is
+ * kept in separate fields.
+ *
+ * The countsOf methods build a map from each value of a list or tree to the number of
+ * times it occurs.
+ *
+ * @author Eeman Abid
+ *         <a href="mailto:eeman.abid@ucalgary.ca">eeman.abid@ucalgary.ca</a>
+ * @author Hareem Khan
+ *         <a href="mailto:hareem.khan@ucalgary.ca">hareem.khan@ucalgary.ca</a>
+ */
+
+public class IntIntHashMap implements Instrumented {
+
+    /**
+     * Receives the key and value of each entry.
+     */
+    public interface EntryConsumer {
+        void accept(int key, int value);
+    }
+
+    private int[] keys;
+    private int[] values;
+    private int mask;
+    private int used;
+    private boolean hasZeroKey;
+    private int zeroValue;
+
+    /**
+     * Default constructor for IntIntHashMap class.
+     * Creates an empty map.
+     */
+    public IntIntHashMap(){
+        this(0);
+    }
+
+    /**
+     * Constructor for IntIntHashMap class that sizes the table for the given number of
+     * entries, so that adding them does not resize it.
+     *
+     * @param expectedSize The number of entries expected.
+     * @throws IllegalArgumentException if expectedSize is negative.
+     */
+    public IntIntHashMap(int expectedSize){
+        if (expectedSize < 0){
+            throw new IllegalArgumentException("expectedSize must not be negative");
+        }
+        allocate(IntHashSet.capacityFor(expectedSize));
+    }
+
+    /**
+     * Creates a map from each value of a list to the number of times it occurs. Works
+     * for every list in the library.
+     *
+     * @param list The list to count the values of.
+     * @return A new map.
+     */
+    public static IntIntHashMap countsOf(SLL list){
+        IntIntHashMap counts = new IntIntHashMap();
+        list.forEach(val -> counts.addTo(val, 1));
+        return counts;
+    }
+
+    /**
+     * Creates a map from each value of a binary search tree to the number of times it
+     * occurs. Works for BST and all its subclasses.
+     *
+     * @param tree The tree to count the values of.
+     * @return A new map.
+     */
+    public static IntIntHashMap countsOf(BST tree){
+        IntIntHashMap counts = new IntIntHashMap();
+        tree.forEachInOrder(val -> counts.addTo(val, 1));
+        return counts;
+    }
+
+    /**
+     * Maps a key to a value, replacing any value it had.
+     * Time Complexity: O(1) expected.
+     *
+     * @param key The key.
+     * @param value The value.
+     * @return True if the key was not in the map before.
+     */
+    public boolean put(int key, int value){
+        if (key == 0){
+            boolean added = !hasZeroKey;
+            hasZeroKey = true;
+            zeroValue = value;
+            return added;
+        }
+        int slot = find(key);
+        if (keys[slot] == key){
+            values[slot] = value;
+            return false;
+        }
+        insertAt(slot, key, value);
+        return true;
+    }
+
+    /**
+     * Adds delta to the value of a key, treating a missing key as having the value 0.
+     * Time Complexity: O(1) expected.
+     *
+     * @param key The key.
+     * @param delta The amount to add.
+     * @return The new value of the key.
+     */
+    public int addTo(int key, int delta){
+        if (key == 0){
+            zeroValue = hasZeroKey ? zeroValue + delta : delta;
+            hasZeroKey = true;
+            return zeroValue;
+        }
+        int slot = find(key);
+        if (keys[slot] == key){
+            values[slot] += delta;
+            return values[slot];
+        }
+        insertAt(slot, key, delta);
+        return delta;
+    }
+
+    /**
+     * Returns the value of a key.
+     * Time Complexity: O(1) expected.
+     *
+     * @param key The key.
+     * @return The value of the key.
+     * @throws NoSuchElementException if the key is not in the map.
+     */
+    public int get(int key){
+        if (!containsKey(key)){
+            throw new NoSuchElementException("key " + key + " is not in the map");
+        }
+        return getOrDefault(key, 0);
+    }
+
+    /**
+     * Returns the value of a key, or a default if it is not in the map.
+     * Time Complexity: O(1) expected.
+     *
+     * @param key The key.
+     * @param defaultValue The value to return for a missing key.
+     * @return The value of the key, or defaultValue.
+     */
+    public int getOrDefault(int key, int defaultValue){
+        if (key == 0){
+            return hasZeroKey ? zeroValue : defaultValue;
+        }
+        int slot = find(key);
+        return keys[slot] == key ? values[slot] : defaultValue;
+    }
+
+    /**
+     * Checks if a key is in the map.
+     * Time Complexity: O(1) expected.
+     *
+     * @param key The key.
+     * @return True if the key is in the map.
+     */
+    public boolean containsKey(int key){
+        if (key == 0){
+            return hasZeroKey;
+        }
+        return keys[find(key)] == key;
+    }
+
+    /**
+     * Removes a key and its value from the map.
+     * Time Complexity: O(1) expected.
+     *
+     * @param key The key.
+     * @return True if the key was in the map.
+     */
+    public boolean remove(int key){
+        if (key == 0){
+            boolean had = hasZeroKey;
+            hasZeroKey = false;
+            zeroValue = 0;
+            return had;
+        }
+        int slot = find(key);
+        if (keys[slot] != key){
+            return false;
+        }
+        shiftBack(slot);
+        used--;
+        return true;
+    }
+
+    /**
+     * Returns the number of entries in the map.
+     *
+     * @return The number of entries.
+     */
+    public int size(){
+        return used + (hasZeroKey ? 1 : 0);
+    }
+
+    /**
+     * Checks if the map is empty.
+     *
+     * @return True if the map holds no entries.
+     */
+    public boolean isEmpty(){
+        return size() == 0;
+    }
+
+    /**
+     * Removes all entries from the map, keeping the table size.
+     */
+    public void clear(){
+        Arrays.fill(keys, 0);
+        used = 0;
+        hasZeroKey = false;
+        zeroValue = 0;
+    }
+
+    /**
+     * Passes every entry to the action, in no particular order.
+     *
+     * @param action The action to run for each entry.
+     */
+    public void forEach(EntryConsumer action){
+        if (hasZeroKey){
+            action.accept(0, zeroValue);
+        }
+        for (int i = 0; i < keys.length; i++){
+            if (keys[i] != 0){
+                action.accept(keys[i], values[i]);
+            }
+        }
+    }
+
+    /**
+     * Returns the slot holding key, or the empty slot that ends its probe run.
+     */
+    private int find(int key){
+        int slot = IntHashSet.hash(key) & mask;
+        while (keys[slot] != 0 && keys[slot] != key){
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private void insertAt(int slot, int key, int value){
+        keys[slot] = key;
+        values[slot] = value;
+        if (++used > IntHashSet.maxFill(keys.length)){
+            allocate(keys.length * 2);
+        }
+    }
+
+    /**
+     * Closes the gap left at slot by a removed entry, as in IntHashSet.
+     */
+    private void shiftBack(int gap){
+        int slot = gap;
+        while (true){
+            slot = (slot + 1) & mask;
+            int key = keys[slot];
+            if (key == 0){
+                break;
+            }
+            int home = IntHashSet.hash(key) & mask;
+            if (((slot - home) & mask) >= ((slot - gap) & mask)){
+                keys[gap] = key;
+                values[gap] = values[slot];
+                gap = slot;
+            }
+        }
+        keys[gap] = 0;
+    }
+
+    private void allocate(int capacity){
+        int[] oldKeys = keys;
+        int[] oldValues = values;
+        keys = new int[capacity];
+        values = new int[capacity];
+        mask = capacity - 1;
+        if (oldKeys != null){
+            for (int i = 0; i < oldKeys.length; i++){
+                if (oldKeys[i] != 0){
+                    int slot = find(oldKeys[i]);
+                    keys[slot] = oldKeys[i];
+                    values[slot] = oldValues[i];
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns an estimate of the heap used by the map and its key and value tables.
+     * Time Complexity: O(1).
+     *
+     * @return The estimated number of bytes.
+     */
+    @Override
+    public long memoryFootprint(){
+        return MemoryLayout.shallowSizeOf(getClass()) + MemoryLayout.sizeOf(keys) + MemoryLayout.sizeOf(values);
+    }
+
+    public static void main(String[] args) {
+        System.out.println("\nIntIntHashMap Tests");
+
+        IntIntHashMap map = new IntIntHashMap();
+        map.put(1, 100);
+        map.put(0, 5);
+        map.put(42, 7);
+        map.addTo(42, 3);
+        map.addTo(9, 1);
+
+        System.out.println("Size: " + map.size()); //should output: 4
+        System.out.println("Value of 42: " + map.get(42)); //should output: 10
+        System.out.println("Value of 0: " + map.get(0)); //should output: 5
+
+        map.remove(1);
+        System.out.println("Contains 1 after removal: " + map.containsKey(1)); //should output: false
+        System.out.println("Value of 1 or -1: " + map.getOrDefault(1, -1) + "\n"); //should output: -1
+    }
+}
@@ -0,0 +1,53 @@
+package main.java.mylib.datastructures.hash;
+
+import main.java.mylib.datastructures.metrics.Instrumented;
+
+/**
+ * MembershipFilter is implemented by the probabilistic filters that the lists and trees
+ * of the library can keep in front of their searches. A filter answers whether a value
+ * might have been added: a false answer is always right, so a search for the value can
+ * stop at once, while a true answer is wrong with a small probability and the search
+ * goes on as usual.
+ *
+ * A structure with an attached filter adds every value it stores and removes every
+ * value it drops. Filters that cannot delete ignore removals and slowly fill with
+ * values that are gone, which only makes their answers less useful, never wrong.
+ *
+ * @author Eeman Abid
+ *         <a href="mailto:eeman.abid@ucalgary.ca">eeman.abid@ucalgary.ca</a>
+ * @author Hareem Khan
+ *         <a href="mailto:hareem.khan@ucalgary.ca">hareem.khan@ucalgary.ca</a>
+ */
+
+public interface MembershipFilter extends Instrumented {
+
+    /**
+     * Adds one occurrence of a value.
+     *
+     * @param val The value to add.
+     */
+    void add(int val);
+
+    /**
+     * Checks if a value might have been added.
+     *
+     * @param val The value to look up.
+     * @return False if the value was certainly not added, true if it might have been.
+     */
+    boolean mightContain(int val);
+
+    /**
+     * Removes one occurrence of a value that was added before. Removing a value that
+     * was never added can make the filter answer false for values that were.
+     *
+     * @param val The value to remove.
+     * @return True if the filter removed the value, false if it cannot delete or the
+     *         value was certainly not added.
+     */
+    boolean remove(int val);
+
+    /**
+     * Removes all values.
+     */
+    void clear();
+}
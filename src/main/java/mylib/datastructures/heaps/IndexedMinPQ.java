@@ -0,0 +1,286 @@
+package main.java.mylib.datastructures.heaps;
+
+import main.java.mylib.datastructures.metrics.Instrumented;
+import main.java.mylib.datastructures.metrics.MemoryLayout;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * IndexedMinPQ class represents a priority queue of the indexes 0 to capacity - 1, each
+ * with an int key, ordered by smallest key. Besides insert and delMin it can change the
+ * key of an index already in the queue, which is what Dijkstra and Prim style algorithms
+ * and schedulers with adjustable priorities need.
+ *
+ * It is a binary heap of indexes together with an inverse array that records where each
+ * index sits in the heap, so contains, keyOf and minIndex take O(1) and insert, delMin,
+ * delete, decreaseKey and increaseKey take O(log n).
+ *
+ * @author Eeman Abid
+ *         <a href="mailto:eeman.abid@ucalgary.ca">eeman.abid@ucalgary.ca</a>
+ * @author Hareem Khan
+ *         <a href="mailto:hareem.khan@ucalgary.ca">hareem.khan@ucalgary.ca</a>
+ */
+
+public class IndexedMinPQ implements Instrumented {
+    private final int[] heap;
+    private final int[] position;
+    private final int[] keys;
+    private int size;
+
+    /**
+     * Constructor for IndexedMinPQ class that creates an empty queue for the indexes
+     * 0 to capacity - 1.
+     *
+     * @param capacity The number of indexes.
+     * @throws IllegalArgumentException if capacity is negative.
+     */
+    public IndexedMinPQ(int capacity){
+        if (capacity < 0){
+            throw new IllegalArgumentException("capacity must not be negative");
+        }
+        heap = new int[capacity];
+        position = new int[capacity];
+        keys = new int[capacity];
+        Arrays.fill(position, -1);
+    }
+
+    /**
+     * Adds an index with the given key.
+     * Time Complexity: O(log n).
+     *
+     * @param i The index.
+     * @param key The key of the index.
+     * @throws IllegalArgumentException if the index is already in the queue.
+     */
+    public void insert(int i, int key){
+        checkIndex(i);
+        if (position[i] != -1){
+            throw new IllegalArgumentException("index " + i + " is already in the queue");
+        }
+        keys[i] = key;
+        heap[size] = i;
+        position[i] = size;
+        siftUp(size++);
+    }
+
+    /**
+     * Checks if an index is in the queue.
+     *
+     * @param i The index.
+     * @return True if the index is in the queue.
+     */
+    public boolean contains(int i){
+        checkIndex(i);
+        return position[i] != -1;
+    }
+
+    /**
+     * Returns the key of an index in the queue.
+     *
+     * @param i The index.
+     * @return The key of the index.
+     * @throws NoSuchElementException if the index is not in the queue.
+     */
+    public int keyOf(int i){
+        checkContains(i);
+        return keys[i];
+    }
+
+    /**
+     * Returns the index with the smallest key.
+     *
+     * @return The index with the smallest key.
+     * @throws NoSuchElementException if the queue is empty.
+     */
+    public int minIndex(){
+        if (size == 0){
+            throw new NoSuchElementException("queue is empty");
+        }
+        return heap[0];
+    }
+
+    /**
+     * Returns the smallest key.
+     *
+     * @return The smallest key.
+     * @throws NoSuchElementException if the queue is empty.
+     */
+    public int minKey(){
+        return keys[minIndex()];
+    }
+
+    /**
+     * Removes the index with the smallest key and returns it.
+     * Time Complexity: O(log n).
+     *
+     * @return The index with the smallest key.
+     * @throws NoSuchElementException if the queue is empty.
+     */
+    public int delMin(){
+        int min = minIndex();
+        removeAt(0);
+        return min;
+    }
+
+    /**
+     * Removes an index from the queue.
+     * Time Complexity: O(log n).
+     *
+     * @param i The index.
+     * @throws NoSuchElementException if the index is not in the queue.
+     */
+    public void delete(int i){
+        checkContains(i);
+        removeAt(position[i]);
+    }
+
+    /**
+     * Lowers the key of an index in the queue.
+     * Time Complexity: O(log n).
+     *
+     * @param i The index.
+     * @param key The new key, not larger than the current one.
+     * @throws NoSuchElementException if the index is not in the queue.
+     * @throws IllegalArgumentException if the key is larger than the current one.
+     */
+    public void decreaseKey(int i, int key){
+        checkContains(i);
+        if (key > keys[i]){
+            throw new IllegalArgumentException("key is larger than the current key");
+        }
+        keys[i] = key;
+        siftUp(position[i]);
+    }
+
+    /**
+     * Raises the key of an index in the queue.
+     * Time Complexity: O(log n).
+     *
+     * @param i The index.
+     * @param key The new key, not smaller than the current one.
+     * @throws NoSuchElementException if the index is not in the queue.
+     * @throws IllegalArgumentException if the key is smaller than the current one.
+     */
+    public void increaseKey(int i, int key){
+        checkContains(i);
+        if (key < keys[i]){
+            throw new IllegalArgumentException("key is smaller than the current key");
+        }
+        keys[i] = key;
+        siftDown(position[i]);
+    }
+
+    /**
+     * Returns the number of indexes in the queue.
+     *
+     * @return The number of indexes.
+     */
+    public int size(){
+        return size;
+    }
+
+    /**
+     * Checks if the queue is empty.
+     *
+     * @return True if the queue holds no indexes.
+     */
+    public boolean isEmpty(){
+        return size == 0;
+    }
+
+    private void removeAt(int slot){
+        int removed = heap[slot];
+        size--;
+        if (slot != size){
+            // Fill the hole with the last index, which may belong above or below it
+            int last = heap[size];
+            move(last, slot);
+            siftUp(slot);
+            siftDown(position[last]);
+        }
+        position[removed] = -1;
+    }
+
+    private void siftUp(int slot){
+        int i = heap[slot];
+        while (slot > 0){
+            int parent = (slot - 1) >>> 1;
+            if (keys[heap[parent]] <= keys[i]){
+                break;
+            }
+            move(heap[parent], slot);
+            slot = parent;
+        }
+        move(i, slot);
+    }
+
+    private void siftDown(int slot){
+        int i = heap[slot];
+        while (true){
+            int child = 2 * slot + 1;
+            if (child >= size){
+                break;
+            }
+            if (child + 1 < size && keys[heap[child + 1]] < keys[heap[child]]){
+                child++;
+            }
+            if (keys[heap[child]] >= keys[i]){
+                break;
+            }
+            move(heap[child], slot);
+            slot = child;
+        }
+        move(i, slot);
+    }
+
+    private void move(int i, int slot){
+        heap[slot] = i;
+        position[i] = slot;
+    }
+
+    private void checkIndex(int i){
+        if (i < 0 || i >= keys.length){
+            throw new IndexOutOfBoundsException("Index: " + i + ", Capacity: " + keys.length);
+        }
+    }
+
+    private void checkContains(int i){
+        if (!contains(i)){
+            throw new NoSuchElementException("index " + i + " is not in the queue");
+        }
+    }
+
+    /**
+     * Returns an estimate of the heap used by the queue and its arrays.
+     * Time Complexity: O(1).
+     *
+     * @return The estimated number of bytes.
+     */
+    @Override
+    public long memoryFootprint(){
+        return MemoryLayout.shallowSizeOf(getClass()) + MemoryLayout.sizeOf(heap)
+                + MemoryLayout.sizeOf(position) + MemoryLayout.sizeOf(keys);
+    }
+
+    public static void main(String[] args) {
+        System.out.println("\nIndexedMinPQ Tests");
+
+        IndexedMinPQ pq = new IndexedMinPQ(6);
+        pq.insert(0, 50);
+        pq.insert(1, 20);
+        pq.insert(2, 40);
+        pq.insert(3, 10);
+        pq.insert(4, 30);
+
+        System.out.println("Index with smallest key: " + pq.minIndex()); //should output: 3
+        pq.decreaseKey(2, 5);
+        pq.increaseKey(3, 60);
+        pq.delete(4);
+
+        System.out.print("Indexes in key order: ");
+        while (!pq.isEmpty()) {
+            System.out.print(pq.delMin() + " ");
+        }
+        System.out.println("\n"); //should output: 2 1 0 3
+    }
+}
@@ -0,0 +1,48 @@
+package main.java.mylib.datastructures.heaps;
+
+/**
+ * IntBinaryHeap class represents a binary min-heap of int values stored in an array.
+ * It is the IntDaryHeap with two children per node: insert and poll take O(log n) and
+ * a heap is built from an array in O(n). It can replace a DLL kept sorted with
+ * SortedInsert as a priority queue, which costs O(n) per insertion.
+ *
+ * @author Eeman Abid
+ *         <a href="mailto:eeman.abid@ucalgary.ca">eeman.abid@ucalgary.ca</a>
+ * @author Hareem Khan
+ *         <a href="mailto:hareem.khan@ucalgary.ca">hareem.khan@ucalgary.ca</a>
+ */
+
+public class IntBinaryHeap extends IntDaryHeap {
+
+    /**
+     * Default constructor for IntBinaryHeap class.
+     * Creates an empty heap.
+     */
+    public IntBinaryHeap(){
+        super(2);
+    }
+
+    /**
+     * Constructor for IntBinaryHeap class that builds a heap from the given values in O(n).
+     *
+     * @param values The initial values. The array is copied.
+     */
+    public IntBinaryHeap(int[] values){
+        super(2, values);
+    }
+
+    public static void main(String[] args) {
+        System.out.println("\nIntBinaryHeap Tests");
+
+        IntBinaryHeap heap = new IntBinaryHeap(new int[]{9, 4, 7, 1});
+        heap.insert(3);
+        heap.insert(8);
+
+        System.out.println("Smallest value: " + heap.peek()); //should output: 1
+        System.out.print("Polled in order: ");
+        while (!heap.isEmpty()) {
+            System.out.print(heap.poll() + " ");
+        }
+        System.out.println("\n"); //should output: 1 3 4 7 8 9
+    }
+}
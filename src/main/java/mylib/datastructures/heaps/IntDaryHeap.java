@@ -0,0 +1,210 @@
+package main.java.mylib.datastructures.heaps;
+
+import main.java.mylib.datastructures.metrics.Instrumented;
+import main.java.mylib.datastructures.metrics.MemoryLayout;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * IntDaryHeap class represents a min-heap of int values stored in a growable array,
+ * where every node has up to d children. The children of the node at index i are at
+ * indexes d * i + 1 to d * i + d. Insert takes O(log_d n) and poll takes O(d log_d n),
+ * so a larger arity makes the tree shallower and favours insert-heavy workloads, while
+ * d = 2 (see IntBinaryHeap) does the fewest comparisons per poll.
+ *
+ * A heap is built from an array in O(n) by sifting down every internal node, starting
+ * from the last one.
+ *
+ * @author Eeman Abid
+ *         <a href="mailto:eeman.abid@ucalgary.ca">eeman.abid@ucalgary.ca</a>
+ * @author Hareem Khan
+ *         <a href="mailto:hareem.khan@ucalgary.ca">hareem.khan@ucalgary.ca</a>
+ */
+
+public class IntDaryHeap implements Instrumented {
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private final int arity;
+    private int[] heap;
+    private int size;
+
+    /**
+     * Constructor for IntDaryHeap class that creates an empty heap.
+     *
+     * @param arity The number of children per node, at least 2.
+     * @throws IllegalArgumentException if arity is less than 2.
+     */
+    public IntDaryHeap(int arity){
+        this(arity, new int[DEFAULT_CAPACITY], 0);
+    }
+
+    /**
+     * Constructor for IntDaryHeap class that builds a heap from the given values in O(n).
+     *
+     * @param arity The number of children per node, at least 2.
+     * @param values The initial values. The array is copied.
+     * @throws IllegalArgumentException if arity is less than 2.
+     */
+    public IntDaryHeap(int arity, int[] values){
+        this(arity, Arrays.copyOf(values, Math.max(values.length, DEFAULT_CAPACITY)), values.length);
+    }
+
+    private IntDaryHeap(int arity, int[] heap, int size){
+        if (arity < 2){
+            throw new IllegalArgumentException("arity must be at least 2");
+        }
+        this.arity = arity;
+        this.heap = heap;
+        this.size = size;
+        for (int i = (size - 2) / arity; i >= 0; i--){
+            siftDown(i);
+        }
+    }
+
+    /**
+     * Adds a value to the heap.
+     * Time Complexity: O(log_d n).
+     *
+     * @param val The value to be inserted.
+     */
+    public void insert(int val){
+        if (size == heap.length){
+            heap = Arrays.copyOf(heap, heap.length * 2);
+        }
+        heap[size] = val;
+        siftUp(size++);
+    }
+
+    /**
+     * Returns the smallest value without removing it.
+     *
+     * @return The smallest value.
+     * @throws NoSuchElementException if the heap is empty.
+     */
+    public int peek(){
+        if (size == 0){
+            throw new NoSuchElementException("heap is empty");
+        }
+        return heap[0];
+    }
+
+    /**
+     * Removes and returns the smallest value.
+     * Time Complexity: O(d log_d n).
+     *
+     * @return The smallest value.
+     * @throws NoSuchElementException if the heap is empty.
+     */
+    public int poll(){
+        int min = peek();
+        heap[0] = heap[--size];
+        if (size > 0){
+            siftDown(0);
+        }
+        return min;
+    }
+
+    /**
+     * Returns the number of values in the heap.
+     *
+     * @return The number of values.
+     */
+    public int size(){
+        return size;
+    }
+
+    /**
+     * Checks if the heap is empty.
+     *
+     * @return True if the heap holds no values.
+     */
+    public boolean isEmpty(){
+        return size == 0;
+    }
+
+    /**
+     * Returns the number of children per node.
+     *
+     * @return The arity of the heap.
+     */
+    public int getArity(){
+        return arity;
+    }
+
+    /**
+     * Removes all values from the heap.
+     */
+    public void clear(){
+        size = 0;
+    }
+
+    /**
+     * Moves the value at index i up until its parent is not larger. The value is held
+     * aside and the parents are shifted down, so each level costs one array write.
+     */
+    private void siftUp(int i){
+        int val = heap[i];
+        while (i > 0){
+            int parent = (i - 1) / arity;
+            if (heap[parent] <= val){
+                break;
+            }
+            heap[i] = heap[parent];
+            i = parent;
+        }
+        heap[i] = val;
+    }
+
+    /**
+     * Moves the value at index i down until none of its children is smaller.
+     */
+    private void siftDown(int i){
+        int val = heap[i];
+        while (true){
+            int first = arity * i + 1;
+            if (first >= size){
+                break;
+            }
+            int last = Math.min(first + arity, size);
+            int min = first;
+            for (int c = first + 1; c < last; c++){
+                if (heap[c] < heap[min]){
+                    min = c;
+                }
+            }
+            if (heap[min] >= val){
+                break;
+            }
+            heap[i] = heap[min];
+            i = min;
+        }
+        heap[i] = val;
+    }
+
+    /**
+     * Returns an estimate of the heap used by the heap and its array, including the
+     * unused capacity.
+     * Time Complexity: O(1).
+     *
+     * @return The estimated number of bytes.
+     */
+    @Override
+    public long memoryFootprint(){
+        return MemoryLayout.shallowSizeOf(getClass()) + MemoryLayout.sizeOf(heap);
+    }
+
+    public static void main(String[] args) {
+        System.out.println("\nIntDaryHeap Tests");
+
+        IntDaryHeap heap = new IntDaryHeap(4, new int[]{42, 7, 19, 3, 25, 11, 8, 30});
+        heap.insert(1);
+        heap.insert(15);
+
+        System.out.println("Size: " + heap.size()); //should output: 10
+        System.out.print("Polled in order: ");
+        while (!heap.isEmpty()) {
+            System.out.print(heap.poll() + " ");
+        }
+        System.out.println("\n"); //should output: 1 3 7 8 11 15 19 25 30 42
+    }
+}
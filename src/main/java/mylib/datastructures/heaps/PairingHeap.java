@@ -0,0 +1,266 @@
+package main.java.mylib.datastructures.heaps;
+
+import main.java.mylib.datastructures.metrics.Instrumented;
+import main.java.mylib.datastructures.metrics.MemoryLayout;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * PairingHeap class represents a min-heap of int keys stored as a multiway tree. Insert,
+ * meld and decreaseKey only link two trees, which takes O(1), and poll pairs up the
+ * children of the removed root in two passes in O(log n) amortized time. This makes it
+ * the heap to use when whole queues are merged often, where an array heap would have to
+ * copy and rebuild.
+ *
+ * Insert returns the node holding the key, which is the handle passed to decreaseKey.
+ * Each node keeps its first child, its next sibling, and a link back to its previous
+ * sibling, or to its parent if it is the first child.
+ *
+ * @author Eeman Abid
+ *         <a href="mailto:eeman.abid@ucalgary.ca">eeman.abid@ucalgary.ca</a>
+ * @author Hareem Khan
+ *         <a href="mailto:hareem.khan@ucalgary.ca">hareem.khan@ucalgary.ca</a>
+ */
+
+public class PairingHeap implements Instrumented {
+
+    /**
+     * Heap node, returned by insert as a handle for decreaseKey.
+     */
+    public static final class Node {
+        private int key;
+        private Node child;
+        private Node sibling;
+        private Node prev;
+
+        private Node(int key){
+            this.key = key;
+        }
+
+        /**
+         * Returns the current key of the node.
+         *
+         * @return The key.
+         */
+        public int getKey(){
+            return key;
+        }
+    }
+
+    private Node root;
+    private int size;
+
+    /**
+     * Default constructor for PairingHeap class.
+     * Creates an empty heap.
+     */
+    public PairingHeap(){
+        this.root = null;
+    }
+
+    /**
+     * Adds a key to the heap.
+     * Time Complexity: O(1).
+     *
+     * @param key The key to be inserted.
+     * @return The node holding the key, for use with decreaseKey.
+     */
+    public Node insert(int key){
+        Node node = new Node(key);
+        root = link(root, node);
+        size++;
+        return node;
+    }
+
+    /**
+     * Returns the smallest key without removing it.
+     *
+     * @return The smallest key.
+     * @throws NoSuchElementException if the heap is empty.
+     */
+    public int peek(){
+        if (root == null){
+            throw new NoSuchElementException("heap is empty");
+        }
+        return root.key;
+    }
+
+    /**
+     * Removes and returns the smallest key.
+     * Time Complexity: O(log n) amortized.
+     *
+     * @return The smallest key.
+     * @throws NoSuchElementException if the heap is empty.
+     */
+    public int poll(){
+        int min = peek();
+        Node old = root;
+        root = mergePairs(old.child);
+        old.child = null;
+        size--;
+        return min;
+    }
+
+    /**
+     * Lowers the key of a node in this heap. The node is cut from its parent and linked
+     * with the root.
+     * Time Complexity: O(1) for the cut and link, O(log n) amortized.
+     *
+     * @param node A node returned by insert on this heap and not yet polled.
+     * @param key The new key, not larger than the current one.
+     * @throws IllegalArgumentException if the key is larger than the current one, or the
+     *         node is no longer in the heap.
+     */
+    public void decreaseKey(Node node, int key){
+        if (key > node.key){
+            throw new IllegalArgumentException("key is larger than the current key");
+        }
+        if (node != root && node.prev == null){
+            throw new IllegalArgumentException("node is not in the heap");
+        }
+        node.key = key;
+        if (node == root){
+            return;
+        }
+        if (node.prev.child == node){
+            node.prev.child = node.sibling;
+        }
+        else {
+            node.prev.sibling = node.sibling;
+        }
+        if (node.sibling != null){
+            node.sibling.prev = node.prev;
+        }
+        node.sibling = null;
+        node.prev = null;
+        root = link(root, node);
+    }
+
+    /**
+     * Moves every key of the other heap into this heap, leaving the other heap empty.
+     * Handles returned by the other heap now belong to this heap.
+     * Time Complexity: O(1).
+     *
+     * @param other The heap to merge into this one.
+     */
+    public void meld(PairingHeap other){
+        if (other == this){
+            return;
+        }
+        root = link(root, other.root);
+        size += other.size;
+        other.root = null;
+        other.size = 0;
+    }
+
+    /**
+     * Returns the number of keys in the heap.
+     *
+     * @return The number of keys.
+     */
+    public int size(){
+        return size;
+    }
+
+    /**
+     * Checks if the heap is empty.
+     *
+     * @return True if the heap holds no keys.
+     */
+    public boolean isEmpty(){
+        return root == null;
+    }
+
+    /**
+     * Links two trees by making the root with the larger key the first child of the
+     * other root.
+     *
+     * @return The root of the linked tree.
+     */
+    private static Node link(Node a, Node b){
+        if (a == null){
+            return b;
+        }
+        if (b == null){
+            return a;
+        }
+        if (b.key < a.key){
+            Node t = a;
+            a = b;
+            b = t;
+        }
+        b.prev = a;
+        b.sibling = a.child;
+        if (a.child != null){
+            a.child.prev = b;
+        }
+        a.child = b;
+        a.sibling = null;
+        a.prev = null;
+        return a;
+    }
+
+    /**
+     * Links the siblings of a child list in pairs from left to right, then links the
+     * results into one tree from right to left.
+     *
+     * @return The root of the resulting tree.
+     */
+    private static Node mergePairs(Node first){
+        List<Node> pairs = new ArrayList<>();
+        while (first != null){
+            Node a = first;
+            Node b = a.sibling;
+            first = b == null ? null : b.sibling;
+            a.sibling = null;
+            a.prev = null;
+            if (b != null){
+                b.sibling = null;
+                b.prev = null;
+            }
+            pairs.add(link(a, b));
+        }
+        Node result = null;
+        for (int i = pairs.size() - 1; i >= 0; i--){
+            result = link(pairs.get(i), result);
+        }
+        return result;
+    }
+
+    /**
+     * Returns an estimate of the heap used by the heap and its nodes.
+     * Time Complexity: O(1).
+     *
+     * @return The estimated number of bytes.
+     */
+    @Override
+    public long memoryFootprint(){
+        return MemoryLayout.shallowSizeOf(getClass()) + (long) size * MemoryLayout.shallowSizeOf(Node.class);
+    }
+
+    public static void main(String[] args) {
+        System.out.println("\nPairingHeap Tests");
+
+        PairingHeap heap = new PairingHeap();
+        heap.insert(40);
+        PairingHeap.Node node = heap.insert(35);
+        heap.insert(10);
+        heap.insert(25);
+
+        PairingHeap other = new PairingHeap();
+        other.insert(30);
+        other.insert(5);
+
+        // Meld and lower a key
+        heap.meld(other);
+        heap.decreaseKey(node, 1);
+
+        System.out.println("Size: " + heap.size()); //should output: 6
+        System.out.print("Polled in order: ");
+        while (!heap.isEmpty()) {
+            System.out.print(heap.poll() + " ");
+        }
+        System.out.println("\n"); //should output: 1 5 10 25 30 40
+    }
+}
@@ -0,0 +1,115 @@
+package main.java.mylib.datastructures.io;
+
+import java.io.Flushable;
+import java.io.IOException;
+
+/**
+ * ChunkedWriter collects text in a StringBuilder and hands it to an Appendable in
+ * chunks, so that printing a large structure costs one call on the destination per
+ * chunk instead of one call per element. Data still held in the buffer is only
+ * written by flush().
+ *
+ * @author Eeman Abid
+ *         <a href="mailto:eeman.abid@ucalgary.ca">eeman.abid@ucalgary.ca</a>
+ * @author Hareem Khan
+ *         <a href="mailto:hareem.khan@ucalgary.ca">hareem.khan@ucalgary.ca</a>
+ */
+
+public class ChunkedWriter {
+    /**
+     * Default number of buffered characters that triggers a write to the destination.
+     */
+    public static final int DEFAULT_CHUNK_SIZE = 8192;
+
+    private final Appendable out;
+    private final StringBuilder buffer;
+    private final int chunkSize;
+
+    /**
+     * Constructs a ChunkedWriter with the default chunk size.
+     *
+     * @param out The destination for the buffered text.
+     */
+    public ChunkedWriter(Appendable out) {
+        this(out, DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * Constructs a ChunkedWriter with the given chunk size.
+     *
+     * @param out The destination for the buffered text.
+     * @param chunkSize The number of buffered characters that triggers a write.
+     * @throws IllegalArgumentException if chunkSize is less than 1.
+     */
+    public ChunkedWriter(Appendable out, int chunkSize) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("chunkSize must be at least 1");
+        }
+        this.out = out;
+        this.chunkSize = chunkSize;
+        this.buffer = new StringBuilder(chunkSize + 16);
+    }
+
+    /**
+     * Appends text to the buffer.
+     *
+     * @param text The text to append.
+     * @return This writer.
+     * @throws IOException if a chunk could not be written to the destination.
+     */
+    public ChunkedWriter append(String text) throws IOException {
+        buffer.append(text);
+        return spill();
+    }
+
+    /**
+     * Appends the decimal form of a value followed by a single space, which is the
+     * element format used by all Print methods in the library.
+     *
+     * @param value The value to append.
+     * @return This writer.
+     * @throws IOException if a chunk could not be written to the destination.
+     */
+    public ChunkedWriter value(int value) throws IOException {
+        buffer.append(value).append(' ');
+        return spill();
+    }
+
+    /**
+     * Appends the platform line separator.
+     *
+     * @return This writer.
+     * @throws IOException if a chunk could not be written to the destination.
+     */
+    public ChunkedWriter newLine() throws IOException {
+        buffer.append(System.lineSeparator());
+        return spill();
+    }
+
+    /**
+     * Writes all buffered text to the destination and flushes the destination if it
+     * is Flushable.
+     *
+     * @throws IOException if the destination could not be written or flushed.
+     */
+    public void flush() throws IOException {
+        if (buffer.length() > 0) {
+            out.append(buffer);
+            buffer.setLength(0);
+        }
+        if (out instanceof Flushable) {
+            ((Flushable) out).flush();
+        }
+    }
+
+    /**
+     * Writes the buffer to the destination once it has reached the chunk size.
+     */
+    private ChunkedWriter spill() throws IOException {
+        if (buffer.length() >= chunkSize) {
+            out.append(buffer);
+            buffer.setLength(0);
+        }
+        return this;
+    }
+}
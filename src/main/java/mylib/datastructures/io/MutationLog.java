@@ -0,0 +1,240 @@
+package main.java.mylib.datastructures.io;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * MutationLog is an append-only write-ahead log of structure mutations. Each record is
+ * a fixed 9 bytes: an operation code chosen by the owning structure and two int
+ * arguments. Records are collected in memory and written with a single
+ * FileChannel.force once groupSize records are pending (group commit), or when
+ * commit() is called. Records that have not been committed may be lost on a crash.
+ *
+ * For a base path "dir/name" the log lives in "dir/name.log" and starts with a header
+ * holding a generation number. Generation g means the log applies on top of the
+ * snapshot "dir/name.g.snap", or on top of an empty structure when g is 0. compact()
+ * writes snapshot g + 1, then atomically replaces the log with an empty one for
+ * generation g + 1, so a crash at any point leaves a matching snapshot and log.
+ *
+ * @author Eeman Abid
+ *         <a href="mailto:eeman.abid@ucalgary.ca">eeman.abid@ucalgary.ca</a>
+ * @author Hareem Khan
+ *         <a href="mailto:hareem.khan@ucalgary.ca">hareem.khan@ucalgary.ca</a>
+ */
+
+public class MutationLog implements Closeable {
+    /**
+     * Size in bytes of one log record.
+     */
+    public static final int RECORD_SIZE = 9;
+
+    private static final int MAGIC = 0x4D4C574C;
+    private static final int HEADER_SIZE = 12;
+
+    /**
+     * Receives the records of the log during replay.
+     */
+    public interface Replayer {
+        void apply(byte op, int first, int second);
+    }
+
+    /**
+     * Writes a snapshot of the owning structure to the given file.
+     */
+    public interface SnapshotWriter {
+        void write(Path path) throws IOException;
+    }
+
+    private final Path base;
+    private final Path logPath;
+    private final ByteBuffer buffer;
+    private FileChannel channel;
+    private long generation;
+    private long records;
+
+    /**
+     * Opens or creates a mutation log.
+     *
+     * @param base The base path of the log and snapshot files.
+     * @param groupSize The number of records written together with one force.
+     * @return The opened log, positioned for replay.
+     * @throws IOException if the log could not be opened or has a bad header.
+     * @throws IllegalArgumentException if groupSize is less than 1.
+     */
+    public static MutationLog open(Path base, int groupSize) throws IOException {
+        if (groupSize < 1) {
+            throw new IllegalArgumentException("groupSize must be at least 1");
+        }
+        return new MutationLog(base, groupSize);
+    }
+
+    private MutationLog(Path base, int groupSize) throws IOException {
+        this.base = base;
+        this.logPath = base.resolveSibling(base.getFileName() + ".log");
+        this.buffer = ByteBuffer.allocate(groupSize * RECORD_SIZE);
+
+        if (Files.exists(logPath) && Files.size(logPath) >= HEADER_SIZE) {
+            channel = FileChannel.open(logPath, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            while (header.hasRemaining()) {
+                if (channel.read(header, header.position()) < 0) {
+                    break;
+                }
+            }
+            header.flip();
+            if (header.getInt() != MAGIC) {
+                channel.close();
+                throw new IOException("Not a mutation log: " + logPath);
+            }
+            generation = header.getLong();
+        } else {
+            writeEmptyLog(logPath, 0);
+            channel = FileChannel.open(logPath, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            generation = 0;
+        }
+        channel.position(HEADER_SIZE);
+    }
+
+    /**
+     * Returns the snapshot the log applies on top of.
+     *
+     * @return The snapshot file, or null if the log starts from an empty structure.
+     */
+    public Path snapshotPath() {
+        return generation == 0 ? null : snapshotPath(generation);
+    }
+
+    /**
+     * Feeds every complete record in the log to the replayer, in the order they were
+     * appended. A partially written record at the end of the file is cut off, and new
+     * records are appended after the last complete one.
+     *
+     * @param replayer The receiver of the records.
+     * @throws IOException if the log could not be read.
+     */
+    public void replay(Replayer replayer) throws IOException {
+        long end = HEADER_SIZE;
+        long length = channel.size();
+        if (length > HEADER_SIZE) {
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, HEADER_SIZE, length - HEADER_SIZE);
+            while (mapped.remaining() >= RECORD_SIZE) {
+                replayer.apply(mapped.get(), mapped.getInt(), mapped.getInt());
+                end += RECORD_SIZE;
+            }
+        }
+        records = (end - HEADER_SIZE) / RECORD_SIZE;
+        if (end < length) {
+            channel.truncate(end);
+        }
+        channel.position(end);
+    }
+
+    /**
+     * Appends a record. The record becomes durable with the next group commit.
+     *
+     * @param op The operation code.
+     * @param first The first argument.
+     * @param second The second argument.
+     * @throws IOException if a group commit was due and failed.
+     */
+    public void append(byte op, int first, int second) throws IOException {
+        buffer.put(op).putInt(first).putInt(second);
+        records++;
+        if (!buffer.hasRemaining()) {
+            commit();
+        }
+    }
+
+    /**
+     * Writes all pending records and forces them to the storage device.
+     *
+     * @throws IOException if the records could not be written.
+     */
+    public void commit() throws IOException {
+        if (buffer.position() == 0) {
+            return;
+        }
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+        channel.force(false);
+    }
+
+    /**
+     * Returns the number of records in the log since the last compaction,
+     * including records that are not committed yet.
+     *
+     * @return The number of records.
+     */
+    public long size() {
+        return records;
+    }
+
+    /**
+     * Replaces the log by a snapshot of the structure and an empty log.
+     *
+     * @param writer Writes the snapshot of the current state to the given file.
+     * @throws IOException if the snapshot or the new log could not be written.
+     */
+    public void compact(SnapshotWriter writer) throws IOException {
+        commit();
+        long next = generation + 1;
+        Path snapshot = snapshotPath(next);
+        writer.write(snapshot);
+        try (FileChannel snapshotChannel = FileChannel.open(snapshot, StandardOpenOption.WRITE)) {
+            snapshotChannel.force(true);
+        }
+
+        Path fresh = base.resolveSibling(base.getFileName() + ".log.tmp");
+        writeEmptyLog(fresh, next);
+        channel.close();
+        Files.move(fresh, logPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        channel = FileChannel.open(logPath, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        channel.position(HEADER_SIZE);
+
+        if (generation != 0) {
+            Files.deleteIfExists(snapshotPath(generation));
+        }
+        generation = next;
+        records = 0;
+    }
+
+    /**
+     * Commits pending records and closes the log.
+     *
+     * @throws IOException if the records could not be written.
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            commit();
+        } finally {
+            channel.close();
+        }
+    }
+
+    private Path snapshotPath(long gen) {
+        return base.resolveSibling(base.getFileName() + "." + gen + ".snap");
+    }
+
+    private static void writeEmptyLog(Path path, long gen) throws IOException {
+        try (FileChannel out = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).putInt(MAGIC).putLong(gen);
+            header.flip();
+            while (header.hasRemaining()) {
+                out.write(header);
+            }
+            out.force(true);
+        }
+    }
+}
@@ -0,0 +1,325 @@
+package main.java.mylib.datastructures.io;
+
+import main.java.mylib.datastructures.nodes.DNode;
+import main.java.mylib.datastructures.nodes.TNode;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.function.ToIntFunction;
+
+/**
+ * Snapshot reads and writes the compact binary format used by the save and load
+ * methods of the lists and trees. A snapshot starts with a fixed 11 byte header:
+ * <pre>
+ *   int  magic   "MLDS"
+ *   byte version
+ *   byte kind    1 = list, 2 = tree
+ *   byte flags   bit 0 set if the values are in ascending order,
+ *                bit 1 set if every tree node carries a second value
+ *   int  count   number of values
+ * </pre>
+ * followed by one variable-length integer (7 bits per byte, high bit set on all but
+ * the last byte) per value. Each value is stored as the difference from the previous
+ * one. Sorted lists store the plain difference, which is never negative. Other lists
+ * zig-zag encode it so small negative steps stay short. Trees are stored in pre-order,
+ * and the two low bits of each entry record whether the node has a left and a right
+ * child, so the exact shape of the tree comes back on load. A node's second value, such
+ * as the high endpoint of an interval, follows its entry as the zig-zag encoded
+ * difference from the node's own value.
+ *
+ * Writing goes through a fixed-size buffer that is flushed to the file channel when
+ * full. Reading maps the whole file with FileChannel.map and decodes it in memory, so
+ * a snapshot must be smaller than 2 GB.
+ *
+ * @author Eeman Abid
+ *         <a href="mailto:eeman.abid@ucalgary.ca">eeman.abid@ucalgary.ca</a>
+ * @author Hareem Khan
+ *         <a href="mailto:hareem.khan@ucalgary.ca">hareem.khan@ucalgary.ca</a>
+ */
+
+public final class Snapshot {
+    public static final int MAGIC = 0x4D4C4453;
+    public static final byte VERSION = 1;
+    public static final byte KIND_LIST = 1;
+    public static final byte KIND_TREE = 2;
+    public static final byte FLAG_SORTED = 1;
+    public static final byte FLAG_PAIRS = 2;
+
+    private static final int HEADER_SIZE = 11;
+    private static final int COUNT_OFFSET = 7;
+    private static final int BUFFER_SIZE = 1 << 16;
+    private static final int HAS_LEFT = 2;
+    private static final int HAS_RIGHT = 1;
+
+    private Snapshot() {
+    }
+
+    /**
+     * Creates the tree nodes read from a snapshot whose nodes carry a second value.
+     */
+    public interface PairNodeFactory {
+        /**
+         * Creates an unlinked node.
+         *
+         * @param value The value of the node.
+         * @param second The second value saved with it, or value itself if the
+         *               snapshot has no second values.
+         * @return The new node.
+         */
+        TNode create(int value, int second);
+    }
+
+    /**
+     * Writes count values of a node chain, starting at first and following next
+     * pointers, as a list snapshot. The chain may be circular.
+     *
+     * @param path The file to write. An existing file is replaced.
+     * @param first The first node of the chain, or null for an empty list.
+     * @param count The number of nodes to write.
+     * @throws IOException if the file could not be written.
+     */
+    public static void writeList(Path path, DNode first, int count) throws IOException {
+        boolean sorted = true;
+        DNode current = first;
+        for (int i = 1; i < count; i++) {
+            if (current.getData() > current.getNext().getData()) {
+                sorted = false;
+                break;
+            }
+            current = current.getNext();
+        }
+
+        try (FileChannel channel = openForWrite(path)) {
+            ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+            putHeader(buffer, KIND_LIST, sorted ? FLAG_SORTED : 0, count);
+
+            long previous = 0;
+            current = first;
+            for (int i = 0; i < count; i++) {
+                long delta = current.getData() - previous;
+                putVarLong(channel, buffer, sorted && i > 0 ? delta : zigZag(delta));
+                previous = current.getData();
+                current = current.getNext();
+            }
+            drain(channel, buffer);
+        }
+    }
+
+    /**
+     * Reads the values of a list snapshot by mapping the file into memory.
+     *
+     * @param path The file to read.
+     * @return The values in list order.
+     * @throws IOException if the file could not be read or is not a list snapshot.
+     */
+    public static int[] readList(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            byte flags = checkHeader(buffer, KIND_LIST);
+            boolean sorted = (flags & FLAG_SORTED) != 0;
+            int count = buffer.getInt();
+
+            int[] values = new int[count];
+            long previous = 0;
+            for (int i = 0; i < count; i++) {
+                long raw = getVarLong(buffer);
+                previous += sorted && i > 0 ? raw : unZigZag(raw);
+                values[i] = (int) previous;
+            }
+            return values;
+        }
+    }
+
+    /**
+     * Writes a tree as a snapshot in pre-order, recording the shape of every node.
+     * The walk uses an explicit stack so degenerate trees do not overflow the call stack.
+     *
+     * @param path The file to write. An existing file is replaced.
+     * @param root The root of the tree, or null for an empty tree.
+     * @throws IOException if the file could not be written.
+     */
+    public static void writeTree(Path path, TNode root) throws IOException {
+        writeTree(path, root, null);
+    }
+
+    /**
+     * Writes a tree as a snapshot like writeTree(path, root), storing a second value
+     * for every node, for example the high endpoint of an interval.
+     *
+     * @param path The file to write. An existing file is replaced.
+     * @param root The root of the tree, or null for an empty tree.
+     * @param second Returns the second value of a node, or null to store none.
+     * @throws IOException if the file could not be written.
+     */
+    public static void writeTree(Path path, TNode root, ToIntFunction<TNode> second) throws IOException {
+        try (FileChannel channel = openForWrite(path)) {
+            ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+            putHeader(buffer, KIND_TREE, second != null ? FLAG_PAIRS : 0, 0);
+
+            int count = 0;
+            long previous = 0;
+            Deque<TNode> stack = new ArrayDeque<>();
+            if (root != null) {
+                stack.push(root);
+            }
+            while (!stack.isEmpty()) {
+                TNode node = stack.pop();
+                int shape = (node.getLeft() != null ? HAS_LEFT : 0) | (node.getRight() != null ? HAS_RIGHT : 0);
+                putVarLong(channel, buffer, zigZag(node.getData() - previous) << 2 | shape);
+                if (second != null) {
+                    putVarLong(channel, buffer, zigZag((long) second.applyAsInt(node) - node.getData()));
+                }
+                previous = node.getData();
+                count++;
+                if (node.getRight() != null) {
+                    stack.push(node.getRight());
+                }
+                if (node.getLeft() != null) {
+                    stack.push(node.getLeft());
+                }
+            }
+            drain(channel, buffer);
+
+            ByteBuffer countBytes = ByteBuffer.allocate(4).putInt(0, count);
+            channel.write(countBytes, COUNT_OFFSET);
+        }
+    }
+
+    /**
+     * Reads a tree snapshot by mapping the file into memory and rebuilds the nodes with
+     * the same shape, values and parent links they were saved with. Second values, if
+     * the snapshot has any, are skipped.
+     *
+     * @param path The file to read.
+     * @return The root of the rebuilt tree, or null if the snapshot is empty.
+     * @throws IOException if the file could not be read or is not a tree snapshot.
+     */
+    public static TNode readTree(Path path) throws IOException {
+        return readTree(path, (value, second) -> new TNode(value, 0, null, null, null));
+    }
+
+    /**
+     * Reads a tree snapshot like readTree(path), creating each node from its value and
+     * its second value with the given factory.
+     *
+     * @param path The file to read.
+     * @param factory Creates the nodes.
+     * @return The root of the rebuilt tree, or null if the snapshot is empty.
+     * @throws IOException if the file could not be read or is not a tree snapshot.
+     */
+    public static TNode readTree(Path path, PairNodeFactory factory) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            boolean pairs = (checkHeader(buffer, KIND_TREE) & FLAG_PAIRS) != 0;
+            int count = buffer.getInt();
+            if (count == 0) {
+                return null;
+            }
+
+            // Each node with a right child waits on the stack until its left subtree,
+            // which immediately follows it in pre-order, has been read.
+            Deque<TNode> waitingForRight = new ArrayDeque<>();
+            long previous = 0;
+            TNode root = null;
+            TNode parent = null;
+            boolean asLeft = false;
+            for (int i = 0; i < count; i++) {
+                long raw = getVarLong(buffer);
+                previous += unZigZag(raw >>> 2);
+                long second = pairs ? previous + unZigZag(getVarLong(buffer)) : previous;
+                TNode node = factory.create((int) previous, (int) second);
+                node.setParent(parent);
+                if (parent == null) {
+                    root = node;
+                } else if (asLeft) {
+                    parent.setLeft(node);
+                } else {
+                    parent.setRight(node);
+                }
+
+                if ((raw & HAS_RIGHT) != 0) {
+                    waitingForRight.push(node);
+                }
+                if ((raw & HAS_LEFT) != 0) {
+                    parent = node;
+                    asLeft = true;
+                } else if (!waitingForRight.isEmpty()) {
+                    parent = waitingForRight.pop();
+                    asLeft = false;
+                } else if (i + 1 < count) {
+                    throw new IOException("Corrupt tree snapshot: " + path);
+                }
+            }
+            return root;
+        }
+    }
+
+    private static FileChannel openForWrite(Path path) throws IOException {
+        return FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+    }
+
+    private static void putHeader(ByteBuffer buffer, byte kind, int flags, int count) {
+        buffer.putInt(MAGIC).put(VERSION).put(kind).put((byte) flags).putInt(count);
+    }
+
+    private static byte checkHeader(ByteBuffer buffer, byte kind) throws IOException {
+        if (buffer.remaining() < HEADER_SIZE || buffer.getInt() != MAGIC) {
+            throw new IOException("Not a snapshot file");
+        }
+        if (buffer.get() != VERSION) {
+            throw new IOException("Unsupported snapshot version");
+        }
+        if (buffer.get() != kind) {
+            throw new IOException("Snapshot holds a different kind of structure");
+        }
+        return buffer.get();
+    }
+
+    /**
+     * Appends a variable-length integer, flushing the buffer first if it might not fit.
+     */
+    private static void putVarLong(FileChannel channel, ByteBuffer buffer, long value) throws IOException {
+        if (buffer.remaining() < 10) {
+            drain(channel, buffer);
+        }
+        while ((value & ~0x7FL) != 0) {
+            buffer.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        buffer.put((byte) value);
+    }
+
+    private static long getVarLong(ByteBuffer buffer) {
+        long value = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = buffer.get();
+            value |= (long) (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return value;
+    }
+
+    private static void drain(FileChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    private static long zigZag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long unZigZag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+}
@@ -1,6 +1,11 @@
 package main.java.mylib.datastructures.linear;
 
 import main.java.mylib.datastructures.nodes.DNode;
+import main.java.mylib.datastructures.metrics.Operation;
+import main.java.mylib.datastructures.hash.IntHashSet;
+import main.java.mylib.datastructures.io.ChunkedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 
  /**
  * The CDLL (Circular Doubly Linked List) class is a Java class that represents a circular 
@@ -59,6 +64,7 @@ public class CDLL extends DLL {
             //head.setPrevious(tail);
         }
         size++;
+        filterAdd(node);
     }
 
     /**
@@ -81,6 +87,7 @@ public class CDLL extends DLL {
             tail = node;
         }
         size++;
+        filterAdd(node);
     }
 
     /**
@@ -112,6 +119,7 @@ public class CDLL extends DLL {
             current.getNext().setPrevious(node);
             current.setNext(node);
             size++;
+            filterAdd(node);
         }
     }
 
@@ -148,6 +156,7 @@ public class CDLL extends DLL {
             return;
         }
         if (this.head == this.tail) {
+            filterRemove(this.head);
             this.head = null;
             this.tail = null;
             this.size = 0;
@@ -166,6 +175,7 @@ public class CDLL extends DLL {
     @Override
     public void DeleteTail() {
         if (tail != null) {
+            filterRemove(tail);
             if (head == tail) { // If there is only one node in the CDLL
                 head = null;
                 tail = null;
@@ -187,6 +197,8 @@ public class CDLL extends DLL {
         if (this.head == null) {
             return;
         }
+        long start = operationStart();
+        int visited = 1;
         if (this.head.getData() == node.getData()) {
             this.DeleteHead(); // Call DeleteHead() if the node to delete is the head
         } else if (this.tail.getData() == node.getData()) {
@@ -194,16 +206,74 @@ public class CDLL extends DLL {
         } else {
             DNode temp = this.head;
             for (int i = 0; i < this.size - 1; i++) {
+                visited = i + 1;
                 if (temp.getData() == node.getData()) {
                     DNode previousDNode = temp.getPrevious();
                     previousDNode.setNext(temp.getNext());
                     previousDNode.getNext().setPrevious(previousDNode);
                     this.size--;
-                    return;
+                    filterRemove(temp);
+                    break;
                 }
                 temp = temp.getNext();
             }
         }
+        recordOperation(Operation.DELETE, visited, start);
+    }
+
+    /**
+     * Unlinks the given node from the CDLL in O(1) by joining its neighbours, without
+     * searching for it. Unlike Delete(node), which removes the first node holding the
+     * same value, this removes exactly the node passed in.
+     * The node must be in this list; this is not checked.
+     *
+     * @param node The node to be unlinked. Its next and previous references are cleared.
+     */
+    public void unlink(DNode node) {
+        if (head == tail) {
+            head = null;
+            tail = null;
+        } else {
+            node.getPrevious().setNext(node.getNext());
+            node.getNext().setPrevious(node.getPrevious());
+            if (node == head) {
+                head = node.getNext();
+            }
+            if (node == tail) {
+                tail = node.getPrevious();
+            }
+        }
+        node.setNext(null);
+        node.setPrevious(null);
+        size--;
+        filterRemove(node);
+    }
+
+    /**
+     * Removes the first node holding the value by unlinking it in place. If a node pool
+     * is attached, the node is given back to it.
+     *
+     * @param val The value to be removed.
+     * @return True if a node was removed.
+     */
+    @Override
+    public boolean remove(int val) {
+        DNode node = find(val);
+        if (node == null) {
+            return false;
+        }
+        unlink(node);
+        recycle(node);
+        return true;
+    }
+
+    /**
+     * Joins the tail and the head in both directions to keep the list circular.
+     */
+    @Override
+    protected void linkEnds() {
+        tail.setNext(head);
+        head.setPrevious(tail);
     }
 
     /**
@@ -254,33 +324,59 @@ public class CDLL extends DLL {
         }
     }
 
+    /**
+     * Sorts the CDLL in ascending order with a fork-join merge sort.
+     * The circular chain is sorted as a run of size nodes, after which the previous
+     * pointers are rebuilt and the tail is linked back to the head.
+     *
+     * @param threshold The segment length below which no further tasks are forked.
+     * @throws IllegalArgumentException if threshold is less than 1.
+     */
+    @Override
+    public void parallelSort(int threshold) {
+        if (threshold < 1) {
+            throw new IllegalArgumentException("threshold must be at least 1");
+        }
+        if (head == null || size < 2) {
+            return;
+        }
+        head = sortChain(head, size, threshold);
+
+        DNode current = head;
+        while (current.getNext() != null) {
+            current.getNext().setPrevious(current);
+            current = current.getNext();
+        }
+        tail = current;
+        tail.setNext(head);
+        head.setPrevious(tail);
+    }
+
     /**
      * Returns a boolean value indicating if the Circular Doubly Linked List (CDLL) is sorted in ascending order.
      * CDLL is considered sorted if it is empty (i.e., has no elements) or has only one element.
      * Otherwise, it iterates through the CDLL and compares each element with its adjacent element.
      * If any element is greater than its adjacent element, CDLL is considered not sorted.
-     * If the last element is reached, it wraps around to the head and compares with it to check for sorted order.
+     * The link from the tail back to the head is not compared, since it always goes from the
+     * largest element to the smallest one in a sorted CDLL.
      *
      * @return true if CDLL is sorted, false otherwise.
      */
     @Override
     public boolean isSorted() {
-        if (head == null || head.getNext() == null) {
+        if (head == null || size < 2) {
             // CDLL is empty or has only one element, it is considered sorted
             return true;
         }
     
         DNode current = head;
-        do {
-            if (current == null || current.getNext() == null || current.getData() > current.getNext().getData()) {
+        for (int i = 1; i < size; i++) {
+            if (current.getData() > current.getNext().getData()) {
                 // If current element is greater than the next element, CDLL is not sorted
                 return false;
-            } else if (current.getNext() == null) {
-                // If current.getNext() is null, it means current is the last element, and we need to wrap around to the head
-                return current.getData() <= head.getData(); // compare current with head to check for sorted order
-            }            
+            }
             current = current.getNext();
-        } while (current != head); // Continue until we reach back to the head
+        }
     
         return true;
     }
@@ -292,29 +388,35 @@ public class CDLL extends DLL {
      */
     @Override
     public void Print() {
-        System.out.println("");
-        System.out.println("CDLL TEST");
-        System.out.println("List length: " + size);
-
-        if (isSorted()) {
-            System.out.println("List is sorted");
-        } else {
-            System.out.println("List is not sorted");
+        try {
+            appendTo(System.out);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
         }
+    }
 
-        System.out.print("List content: ");
-        if (head != null) {
-            DNode current = head;
-            do {
-                if (current == null) {
-                    // If current is null, break out of the loop to avoid NullPointerException
-                    break;
-                }
-                System.out.print(current.getData() + " ");
-                current = current.getNext();
-            } while (current != head);
+    /**
+     * Writes the CDLL report to the given destination through a ChunkedWriter.
+     * At most limit elements are written per content line. A limit of 0 writes only
+     * the summary lines.
+     *
+     * @param out The destination, for example a Writer or StringBuilder.
+     * @param limit The maximum number of elements to write.
+     * @throws IOException if the destination could not be written.
+     */
+    @Override
+    public void appendTo(Appendable out, int limit) throws IOException {
+        ChunkedWriter writer = new ChunkedWriter(out);
+        writer.newLine().append("CDLL TEST").newLine();
+        writer.append("List length: " + size).newLine();
+
+        if (limit > 0) {
+            writer.append(isSorted() ? "List is sorted" : "List is not sorted").newLine();
+            writer.append("List content: ");
+            appendValues(writer, head, size, limit, true);
+            writer.newLine();
         }
-        System.out.println();
+        writer.flush();
     }
 
 
@@ -397,5 +499,19 @@ public class CDLL extends DLL {
         System.out.println("");
         System.out.print("List after deleting the head node: ");
         cdll.Print(); // should output: List length: 1, List is sorted, List content: 3
+
+        // Test parallelSort
+        cdll.InsertTail(new DNode(1));
+        cdll.InsertTail(new DNode(2));
+        cdll.parallelSort(1);
+        cdll.Print(); // should output: List length: 3, List is sorted, List content: 1 2 3
+
+        // Test addAll, splice and removeAll
+        cdll.addAll(new int[] {4, 5});
+        SLL values = new SLL();
+        values.addAll(new int[] {6, 7});
+        cdll.splice(values);
+        cdll.removeAll(IntHashSet.of(2, 5));
+        cdll.Print(); // should output: List length: 5, List is sorted, List content: 1 3 4 6 7
     }
 }
\ No newline at end of file
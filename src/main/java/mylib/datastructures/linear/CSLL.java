@@ -1,6 +1,10 @@
 package main.java.mylib.datastructures.linear;
 
 import main.java.mylib.datastructures.nodes.DNode;
+import main.java.mylib.datastructures.metrics.Operation;
+import main.java.mylib.datastructures.io.ChunkedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 
  /**
  * Circular Singly Linked List (CSLL) implementation that extends Singly Linked List (SLL).
@@ -113,6 +117,17 @@ public class CSLL extends SLL {
         tail.setNext(head);
     }
 
+    /**
+     * Overrides the parallelSort method of SLL to link the new tail back to the head.
+     */
+    @Override
+    public void parallelSort(int threshold) {
+        super.parallelSort(threshold);
+        if (tail != null) {
+            tail.setNext(head);
+        }
+    }
+
     /**
      * Overrides the Search method of SLL to search for a node in the CSLL.
      */
@@ -121,14 +136,24 @@ public class CSLL extends SLL {
         if (head == null) {
             return null;
         }
+        long start = operationStart();
+        if (filterExcludes(node.getData())) {
+            recordOperation(Operation.SEARCH, 0, start);
+            return null;
+        }
+        int visited = 0;
+        DNode found = null;
         DNode current = head;
         do {
+            visited++;
             if (current == node) {
-                return current;
+                found = current;
+                break;
             }
             current = current.getNext();
         } while (current != head);
-        return null;
+        recordOperation(Operation.SEARCH, visited, start);
+        return found;
     }
 
     /** 
@@ -161,6 +186,8 @@ public class CSLL extends SLL {
      */
     @Override
     public void Delete(DNode node) {
+        long start = operationStart();
+        int visited = 1;
         if (head == node) {
             DeleteHead();
         } else if (tail == node) {
@@ -168,13 +195,16 @@ public class CSLL extends SLL {
         } else {
             DNode current = head;
             while (current != null && current.getNext() != node) {
+                visited++;
                 current = current.getNext();
             }
             if (current != null) {
                 current.setNext(node.getNext());
                 size--;
+                filterRemove(node);
             }
         }
+        recordOperation(Operation.DELETE, visited, start);
     }
 
     /**
@@ -211,11 +241,14 @@ public class CSLL extends SLL {
      */
     @Override
     public void SortedInsert(DNode node) { //should this be updated to handle the case where the list is initially empty?
+        long start = operationStart();
+        int visited = 0;
         if (head == null || size == 0) {
             head = node;
             tail = node;
             node.setNext(node); // set next to itself for circular reference
             size = 1;
+            filterAdd(node);
         } else {
             if (!isSorted()) {
                 Sort();
@@ -225,6 +258,7 @@ public class CSLL extends SLL {
             DNode prev = tail;
     
             while (current != head && node.getData() > current.getData()){
+                visited++;
                 prev = current;
                 current = current.getNext();
             }
@@ -239,8 +273,18 @@ public class CSLL extends SLL {
                     tail = node; // update tail if inserting at head
                 }
                 size++;
+                filterAdd(node);
             }
         }
+        recordOperation(Operation.SORTED_INSERT, visited, start);
+    }
+
+    /**
+     * Points the tail's next reference back at the head to keep the list circular.
+     */
+    @Override
+    protected void linkEnds() {
+        tail.setNext(head);
     }
 
     /**
@@ -261,24 +305,35 @@ public class CSLL extends SLL {
      */
     @Override
     public void Print() {
-        System.out.println("");
-        System.out.println("CSLL TEST");
-        System.out.println("List length: " + size);
-    
-        if (isSorted()) {
-            System.out.println("List is sorted");
-        } else {
-            System.out.println("List is not sorted");
+        try {
+            appendTo(System.out);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
         }
-    
-        System.out.print("List content: ");
-        System.out.print("List content: ");
-        DNode current = this.head;
-        for (int i = 0; i < this.size; i++) {
-            System.out.print(current.getData() + " ");
-            current = current.getNext();
+    }
+
+    /**
+     * Writes the CSLL report to the given destination through a ChunkedWriter.
+     * At most limit elements are written per content line. A limit of 0 writes only
+     * the summary lines.
+     *
+     * @param out The destination, for example a Writer or StringBuilder.
+     * @param limit The maximum number of elements to write.
+     * @throws IOException if the destination could not be written.
+     */
+    @Override
+    public void appendTo(Appendable out, int limit) throws IOException {
+        ChunkedWriter writer = new ChunkedWriter(out);
+        writer.newLine().append("CSLL TEST").newLine();
+        writer.append("List length: " + size).newLine();
+
+        if (limit > 0) {
+            writer.append(isSorted() ? "List is sorted" : "List is not sorted").newLine();
+            writer.append("List content: ");
+            appendValues(writer, head, size, limit, true);
+            writer.newLine();
         }
-        System.out.println();
+        writer.flush();
     }
 
     public static void main(String[] args) {
@@ -1,6 +1,13 @@
 package main.java.mylib.datastructures.linear;
 
 import main.java.mylib.datastructures.nodes.DNode;
+import main.java.mylib.datastructures.hash.CountingBloomFilter;
+import main.java.mylib.datastructures.metrics.Operation;
+import main.java.mylib.datastructures.io.ChunkedWriter;
+import main.java.mylib.datastructures.io.Snapshot;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
 
 /**
  * The DLL class represents a Doubly Linked List, which is a linear data structure 
@@ -15,9 +22,6 @@ import main.java.mylib.datastructures.nodes.DNode;
  */
 
 public class DLL extends SLL {
-    protected DNode head;
-    protected DNode tail;
-    protected int size;
     
     //constructors
 
@@ -62,6 +66,7 @@ public class DLL extends SLL {
             head = node;
         }
         size++;
+        filterAdd(node);
     }
 
     /**
@@ -81,6 +86,7 @@ public class DLL extends SLL {
             tail = node;
         }
         size++;
+        filterAdd(node);
     }
 
     /**
@@ -105,6 +111,7 @@ public class DLL extends SLL {
             current.getNext().setPrevious(node);
             current.setNext(node);
             size++;
+            filterAdd(node);
         }
     }
 
@@ -116,6 +123,7 @@ public class DLL extends SLL {
      */
     @Override
     public void SortedInsert(DNode node){
+        long start = operationStart();
         if (!isSorted()) {
             Sort();
         }
@@ -135,6 +143,7 @@ public class DLL extends SLL {
         }
         if (!inserted)
             InsertTail(node);
+        recordOperation(Operation.SORTED_INSERT, i, start);
     }
     
     /**
@@ -145,19 +154,27 @@ public class DLL extends SLL {
      */
     @Override
     public DNode Search(DNode node) {
+        long start = operationStart();
+        if (filterExcludes(node.getData())) {
+            recordOperation(Operation.SEARCH, 0, start);
+            return null;
+        }
+        int visited = 0;
         DNode current = this.head;
         while (current != null) {
+            visited++;
             if (current == node){
-                return current;
+                break;
             }
             else if (current.getData() == node.getData()){
-                return current;
+                break;
             }
             else {
                 current = current.getNext();
             }
         }
-        return null;
+        recordOperation(Operation.SEARCH, visited, start);
+        return current;
     }
 
     /**
@@ -167,6 +184,7 @@ public class DLL extends SLL {
     @Override
     public void DeleteHead() {
         if (head != null) {
+            filterRemove(head);
             head = head.getNext();
             if (head != null) {
                 head.setPrevious(null);
@@ -184,6 +202,7 @@ public class DLL extends SLL {
     @Override
     public void DeleteTail() {
         if (tail != null) {
+            filterRemove(tail);
             if (head == tail) {
                 head = null;
                 tail = null;
@@ -207,15 +226,20 @@ public class DLL extends SLL {
         }
     
         // Search for the node in the list
+        long start = operationStart();
+        int visited = 0;
         DNode current = head;
         while (current != null && current != node) {
+            visited++;
             current = current.getNext();
         }
     
         // If the node is not found in the list, return without deleting
         if (current == null) {
+            recordOperation(Operation.DELETE, visited, start);
             return;
         }
+        visited++;
     
         // If the node is the head of the list, call DeleteHead() to delete it
         if (head == node) {
@@ -232,7 +256,9 @@ public class DLL extends SLL {
             node.getPrevious().setNext(node.getNext());
             node.getNext().setPrevious(node.getPrevious());
             size--;
+            filterRemove(node);
         }
+        recordOperation(Operation.DELETE, visited, start);
     }
     
     /**
@@ -254,6 +280,7 @@ public class DLL extends SLL {
                         current.getNext().setPrevious(prev);
                     }     
                     size--;
+                    filterRemove(current);
     
                     SortedInsert(current);
     
@@ -270,6 +297,33 @@ public class DLL extends SLL {
         
     }
 
+    /**
+     * Sorts the doubly linked list in ascending order with a fork-join merge sort.
+     * The chain is sorted through its next pointers, then a single pass restores the
+     * previous pointers and the tail.
+     *
+     * @param threshold The segment length below which no further tasks are forked.
+     * @throws IllegalArgumentException if threshold is less than 1.
+     */
+    @Override
+    public void parallelSort(int threshold) {
+        if (threshold < 1) {
+            throw new IllegalArgumentException("threshold must be at least 1");
+        }
+        if (head == null || size < 2) {
+            return;
+        }
+        head = sortChain(head, size, threshold);
+        head.setPrevious(null);
+
+        DNode current = head;
+        while (current.getNext() != null) {
+            current.getNext().setPrevious(current);
+            current = current.getNext();
+        }
+        tail = current;
+    }
+
     //helper function - change to consider CDLL?
     /**
      * Check if the doubly linked list is sorted in ascending order.
@@ -291,6 +345,50 @@ public class DLL extends SLL {
         return true;
     }
 
+    /**
+     * Moves all nodes of another list to the tail of this list, leaving the other list
+     * empty. Nodes coming from a singly linked list have no previous references yet, so
+     * these are set on the way.
+     * Time Complexity: O(1) from a doubly linked list, O(k) from a singly linked one.
+     *
+     * @param other The list whose nodes are moved.
+     * @throws IllegalArgumentException if other is this list.
+     */
+    @Override
+    public void splice(SLL other) {
+        if (!(other instanceof DLL)) {
+            DNode previous = null;
+            DNode current = other.head;
+            for (int i = 0; i < other.size && current != null; i++) {
+                current.setPrevious(previous);
+                previous = current;
+                current = current.getNext();
+            }
+        }
+        super.splice(other);
+    }
+
+    /**
+     * Makes node follow prev, setting both the next and the previous reference.
+     *
+     * @param prev The node before.
+     * @param node The node after.
+     */
+    @Override
+    protected void linkNext(DNode prev, DNode node) {
+        prev.setNext(node);
+        node.setPrevious(prev);
+    }
+
+    /**
+     * Clears the tail's next and the head's previous reference.
+     */
+    @Override
+    protected void linkEnds() {
+        tail.setNext(null);
+        head.setPrevious(null);
+    }
+
     // Deletes the whole list
     /**
      * Clear the doubly linked list by deleting all nodes.
@@ -300,6 +398,10 @@ public class DLL extends SLL {
         if (head == null) {
             return;
         }
+        if (nodePool != null) {
+            releaseAll();
+            return;
+        }
         DNode current = head;
         while (current != null) {
             DNode next = current.getNext();
@@ -310,8 +412,27 @@ public class DLL extends SLL {
         head = null;
         tail = null;
         size = 0;
+        if (filter != null) {
+            filter.clear();
+        }
     }
     
+    /**
+     * Loads a doubly linked list from a snapshot file written by save().
+     * The file is memory mapped and decoded in a single pass.
+     *
+     * @param path The snapshot file to read.
+     * @return A new list holding the saved values in the same order.
+     * @throws IOException if the file could not be read or is not a list snapshot.
+     */
+    public static DLL load(Path path) throws IOException {
+        DLL list = new DLL();
+        for (int value : Snapshot.readList(path)) {
+            list.InsertTail(new DNode(value));
+        }
+        return list;
+    }
+
     /**
     * Prints the contents of the doubly linked list.
     * It displays the list length, whether the list is sorted or not,
@@ -319,31 +440,38 @@ public class DLL extends SLL {
     */
     @Override
     public void Print() {
-        System.out.println("");
-        System.out.println("DLL TEST");
-        System.out.println("List length: " + size);
-    
-        if (isSorted()) {
-            System.out.println("List is sorted");
-        } else {
-            System.out.println("List is not sorted");
+        try {
+            appendTo(System.out);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
         }
-    
-        System.out.print("List content: ");
-        DNode current = head;
-        while (current != null) {
-            System.out.print(current.getData() + " ");
-            current = current.getNext();
-        }
-        System.out.println();
-    
-        System.out.print("Reverse list content: ");
-        DNode reverseCurrent = tail;
-        while (reverseCurrent != null) {
-            System.out.print(reverseCurrent.getData() + " ");
-            reverseCurrent = reverseCurrent.getPrevious();
+    }
+
+    /**
+     * Writes the DLL report to the given destination through a ChunkedWriter.
+     * At most limit elements are written per content line. A limit of 0 writes only
+     * the summary lines.
+     *
+     * @param out The destination, for example a Writer or StringBuilder.
+     * @param limit The maximum number of elements to write.
+     * @throws IOException if the destination could not be written.
+     */
+    @Override
+    public void appendTo(Appendable out, int limit) throws IOException {
+        ChunkedWriter writer = new ChunkedWriter(out);
+        writer.newLine().append("DLL TEST").newLine();
+        writer.append("List length: " + size).newLine();
+
+        if (limit > 0) {
+            writer.append(isSorted() ? "List is sorted" : "List is not sorted").newLine();
+            writer.append("List content: ");
+            appendValues(writer, head, Integer.MAX_VALUE, limit, true);
+            writer.newLine();
+            writer.append("Reverse list content: ");
+            appendValues(writer, tail, Integer.MAX_VALUE, limit, false);
+            writer.newLine();
         }
-        System.out.println();
+        writer.flush();
     }
 
     public static void main(String[] args) {
@@ -410,6 +538,22 @@ public class DLL extends SLL {
          dll.Print(); // should output: 1 4 3
          dll.Sort();
          dll.Print(); // should output: 1 3 4
+
+         dll.Clear();
+         dll.InsertTail(new DNode(9));
+         dll.InsertTail(new DNode(7));
+         dll.InsertTail(new DNode(8));
+         dll.InsertTail(new DNode(6));
+         dll.parallelSort(1);
+         dll.Print(); // should output: 6 7 8 9, reverse: 9 8 7 6
+
+         System.out.println("Estimated footprint: " + dll.memoryFootprint() + " bytes"); // should output: 136 bytes with compressed oops (40 for the list, 24 per node)
+
+         // A counting filter answers searches for absent values without walking the list
+         dll.setFilter(new CountingBloomFilter(100, 0.01));
+         System.out.println("Contains 8: " + dll.contains(8)); // should output: true
+         dll.remove(8);
+         System.out.println("Contains 8 after removal: " + dll.contains(8)); // should output: false
     }
     
 }
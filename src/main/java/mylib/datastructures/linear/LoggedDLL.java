@@ -0,0 +1,406 @@
+package main.java.mylib.datastructures.linear;
+
+import main.java.mylib.datastructures.nodes.DNode;
+import main.java.mylib.datastructures.io.MutationLog;
+import main.java.mylib.datastructures.io.Snapshot;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.function.IntPredicate;
+
+/**
+ * LoggedDLL is a doubly linked list whose mutations are recorded in a MutationLog, so
+ * the list can be rebuilt after a crash. Every completed mutation appends one record;
+ * records reach the disk in groups, so a mutation costs a buffer write in the common
+ * case and one FileChannel.force per group. Once the log holds compactThreshold
+ * records it is compacted into a snapshot.
+ *
+ * Deletions are logged by position, so replay removes the same node even when the
+ * list holds duplicate values. Mutations made by one public method through another
+ * (for example SortedInsert calling Insert) are logged only once. The batch methods
+ * addAll, splice and removeIf log one tail insertion or positional deletion per node.
+ *
+ * @author Eeman Abid
+ *         <a href="mailto:eeman.abid@ucalgary.ca">eeman.abid@ucalgary.ca</a>
+ * @author Hareem Khan
+ *         <a href="mailto:hareem.khan@ucalgary.ca">hareem.khan@ucalgary.ca</a>
+ */
+
+public class LoggedDLL extends DLL implements Closeable {
+    private static final byte INSERT_HEAD = 1;
+    private static final byte INSERT_TAIL = 2;
+    private static final byte INSERT_AT = 3;
+    private static final byte SORTED_INSERT = 4;
+    private static final byte DELETE_HEAD = 5;
+    private static final byte DELETE_TAIL = 6;
+    private static final byte DELETE_AT = 7;
+    private static final byte SORT = 8;
+    private static final byte CLEAR = 9;
+    private static final byte PARALLEL_SORT = 10;
+
+    private final MutationLog log;
+    private final long compactThreshold;
+    private boolean replaying;
+    private int depth;
+
+    private LoggedDLL(MutationLog log, long compactThreshold) {
+        super();
+        this.log = log;
+        this.compactThreshold = compactThreshold;
+    }
+
+    /**
+     * Opens a logged list, restoring its contents from the latest snapshot and the
+     * records logged after it.
+     *
+     * @param base The base path of the log and snapshot files.
+     * @param groupSize The number of records forced to disk together.
+     * @param compactThreshold The log length that triggers compaction, or 0 to
+     *                         compact only when compact() is called.
+     * @return The restored list.
+     * @throws IOException if the log or snapshot could not be read.
+     */
+    public static LoggedDLL open(Path base, int groupSize, long compactThreshold) throws IOException {
+        MutationLog log = MutationLog.open(base, groupSize);
+        LoggedDLL list = new LoggedDLL(log, compactThreshold);
+        list.replaying = true;
+        try {
+            Path snapshot = log.snapshotPath();
+            if (snapshot != null) {
+                for (int value : Snapshot.readList(snapshot)) {
+                    list.InsertTail(new DNode(value));
+                }
+            }
+            log.replay(list::apply);
+        } catch (IOException e) {
+            log.close();
+            throw e;
+        } finally {
+            list.replaying = false;
+        }
+        return list;
+    }
+
+    @Override
+    public void InsertHead(DNode node) {
+        depth++;
+        try {
+            super.InsertHead(node);
+        } finally {
+            depth--;
+        }
+        record(INSERT_HEAD, node.getData(), 0);
+    }
+
+    @Override
+    public void InsertTail(DNode node) {
+        depth++;
+        try {
+            super.InsertTail(node);
+        } finally {
+            depth--;
+        }
+        record(INSERT_TAIL, node.getData(), 0);
+    }
+
+    @Override
+    public void Insert(DNode node, int position) {
+        depth++;
+        try {
+            super.Insert(node, position);
+        } finally {
+            depth--;
+        }
+        record(INSERT_AT, node.getData(), position);
+    }
+
+    @Override
+    public void SortedInsert(DNode node) {
+        depth++;
+        try {
+            super.SortedInsert(node);
+        } finally {
+            depth--;
+        }
+        record(SORTED_INSERT, node.getData(), 0);
+    }
+
+    @Override
+    public void DeleteHead() {
+        depth++;
+        try {
+            super.DeleteHead();
+        } finally {
+            depth--;
+        }
+        record(DELETE_HEAD, 0, 0);
+    }
+
+    @Override
+    public void DeleteTail() {
+        depth++;
+        try {
+            super.DeleteTail();
+        } finally {
+            depth--;
+        }
+        record(DELETE_TAIL, 0, 0);
+    }
+
+    /**
+     * Deletes the given node and logs its position in the list.
+     * Nothing is logged if the node is not in the list.
+     *
+     * @param node The node to be deleted.
+     */
+    @Override
+    public void Delete(DNode node) {
+        int index = 0;
+        DNode current = head;
+        while (current != null && current != node) {
+            current = current.getNext();
+            index++;
+        }
+        if (current == null) {
+            return;
+        }
+        depth++;
+        try {
+            super.Delete(node);
+        } finally {
+            depth--;
+        }
+        record(DELETE_AT, index, 0);
+    }
+
+    @Override
+    public void Sort() {
+        depth++;
+        try {
+            super.Sort();
+        } finally {
+            depth--;
+        }
+        record(SORT, 0, 0);
+    }
+
+    @Override
+    public void parallelSort(int threshold) {
+        depth++;
+        try {
+            super.parallelSort(threshold);
+        } finally {
+            depth--;
+        }
+        record(PARALLEL_SORT, threshold, 0);
+    }
+
+    @Override
+    public void Clear() {
+        depth++;
+        try {
+            super.Clear();
+        } finally {
+            depth--;
+        }
+        record(CLEAR, 0, 0);
+    }
+
+    @Override
+    public void addAll(int[] values) {
+        DNode last = tail;
+        depth++;
+        try {
+            super.addAll(values);
+        } finally {
+            depth--;
+        }
+        recordAppended(last, values.length);
+    }
+
+    /**
+     * Moves the nodes of another list to the tail of this list and logs them as tail
+     * insertions.
+     *
+     * @param other The list whose nodes are moved.
+     */
+    @Override
+    public void splice(SLL other) {
+        DNode last = tail;
+        int count = other.size;
+        depth++;
+        try {
+            super.splice(other);
+        } finally {
+            depth--;
+        }
+        recordAppended(last, count);
+    }
+
+    /**
+     * Empties the list after splice moved its nodes into another list, of any type,
+     * and logs it as cleared.
+     */
+    @Override
+    protected void detachAll() {
+        super.detachAll();
+        record(CLEAR, 0, 0);
+    }
+
+    /**
+     * Removes every node whose value matches the predicate and logs the position each
+     * removed node had at the moment it was removed.
+     *
+     * @param predicate The test for the values to be removed.
+     * @return The number of nodes removed.
+     */
+    @Override
+    public int removeIf(IntPredicate predicate) {
+        int[] positions = new int[size];
+        int[] counts = new int[2];
+        depth++;
+        try {
+            super.removeIf(val -> {
+                if (predicate.test(val)) {
+                    // Earlier removals have shifted this node to the number of nodes kept so far
+                    positions[counts[1]++] = counts[0];
+                    return true;
+                }
+                counts[0]++;
+                return false;
+            });
+        } finally {
+            depth--;
+        }
+        recordAll(DELETE_AT, positions, counts[1]);
+        return counts[1];
+    }
+
+    /**
+     * Forces all logged mutations to disk.
+     *
+     * @throws IOException if the log could not be written.
+     */
+    public void commit() throws IOException {
+        log.commit();
+    }
+
+    /**
+     * Writes a snapshot of the list and starts a new, empty log.
+     *
+     * @throws IOException if the snapshot or log could not be written.
+     */
+    public void compact() throws IOException {
+        log.compact(this::save);
+    }
+
+    /**
+     * Commits pending mutations and closes the log. The list stays usable in memory
+     * but further mutations can no longer be logged.
+     *
+     * @throws IOException if the log could not be written.
+     */
+    @Override
+    public void close() throws IOException {
+        log.close();
+    }
+
+    /**
+     * Appends a record for a completed top-level mutation and compacts the log once it
+     * reaches the threshold.
+     */
+    private void record(byte op, int first, int second) {
+        if (depth > 0 || replaying) {
+            return;
+        }
+        try {
+            log.append(op, first, second);
+            compactIfFull();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Appends one record per value for a completed batch mutation. The compaction
+     * check runs after the whole batch, so a snapshot never covers only part of it.
+     */
+    private void recordAll(byte op, int[] firsts, int count) {
+        if (depth > 0 || replaying || count == 0) {
+            return;
+        }
+        try {
+            for (int i = 0; i < count; i++) {
+                log.append(op, firsts[i], 0);
+            }
+            compactIfFull();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void compactIfFull() throws IOException {
+        if (compactThreshold > 0 && log.size() >= compactThreshold) {
+            compact();
+        }
+    }
+
+    /**
+     * Logs the count nodes following last, or starting at the head if last is null, as
+     * tail insertions.
+     */
+    private void recordAppended(DNode last, int count) {
+        int[] values = new int[count];
+        DNode current = last == null ? head : last.getNext();
+        for (int i = 0; i < count; i++) {
+            values[i] = current.getData();
+            current = current.getNext();
+        }
+        recordAll(INSERT_TAIL, values, count);
+    }
+
+    /**
+     * Applies one logged mutation during replay.
+     */
+    private void apply(byte op, int first, int second) {
+        switch (op) {
+            case INSERT_HEAD:
+                InsertHead(new DNode(first));
+                break;
+            case INSERT_TAIL:
+                InsertTail(new DNode(first));
+                break;
+            case INSERT_AT:
+                Insert(new DNode(first), second);
+                break;
+            case SORTED_INSERT:
+                SortedInsert(new DNode(first));
+                break;
+            case DELETE_HEAD:
+                DeleteHead();
+                break;
+            case DELETE_TAIL:
+                DeleteTail();
+                break;
+            case DELETE_AT:
+                DNode current = head;
+                for (int i = 0; i < first && current != null; i++) {
+                    current = current.getNext();
+                }
+                Delete(current);
+                break;
+            case SORT:
+                Sort();
+                break;
+            case CLEAR:
+                Clear();
+                break;
+            case PARALLEL_SORT:
+                parallelSort(first);
+                break;
+            default:
+                throw new IllegalStateException("Unknown log record: " + op);
+        }
+    }
+}
@@ -1,6 +1,15 @@
 package main.java.mylib.datastructures.linear;
 
 import main.java.mylib.datastructures.nodes.DNode;
+import main.java.mylib.datastructures.nodes.DNodePool;
+import main.java.mylib.datastructures.metrics.Operation;
+import main.java.mylib.datastructures.io.ChunkedWriter;
+import main.java.mylib.datastructures.io.Snapshot;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.NoSuchElementException;
+import java.util.function.IntPredicate;
 
  /**
  * QueueLL is a class that represents a queue data structure implemented using 
@@ -36,14 +45,49 @@ public class QueueLL extends SLL{
      * @param node The node to be enqueued.
      */
     public void enqueue(DNode node){
+        long start = operationStart();
         super.InsertTail(node);
+        recordOperation(Operation.ENQUEUE, 1, start);
     }
 
     /**
-     * Dequeues the node from the front of the queue.
+     * Dequeues the node from the front of the queue. If a node pool is attached, the
+     * node is given back to it.
      */
     public void dequeue(){
+        long start = operationStart();
+        DNode front = this.head;
         super.DeleteHead();
+        if (front != null){
+            recycle(front);
+        }
+        recordOperation(Operation.DEQUEUE, 1, start);
+    }
+
+    /**
+     * Enqueues a value at the back of the queue. The node is created by the queue, taken
+     * from the attached node pool if there is one.
+     *
+     * @param val The value to be enqueued.
+     */
+    public void enqueue(int val){
+        enqueue(newNode(val));
+    }
+
+    /**
+     * Dequeues the value at the front of the queue. If a node pool is attached, its node
+     * is given back to it.
+     *
+     * @return The value that was at the front of the queue.
+     * @throws NoSuchElementException if the queue is empty.
+     */
+    public int dequeueInt(){
+        if (this.head == null){
+            throw new NoSuchElementException("queue is empty");
+        }
+        int val = this.head.getData();
+        dequeue();
+        return val;
     }
 
     /**
@@ -62,18 +106,37 @@ public class QueueLL extends SLL{
      * @return The position of the node in the queue. Returns -1 if the node is not found.
      */
     public int search(DNode node) {
+        long start = operationStart();
         int position = 0;
         DNode current = this.head;
         while (current != null) {
             if (current.getData() == node.getData()) {
+                recordOperation(Operation.SEARCH, position + 1, start);
                 return position;
             }
             current = current.getNext();
             position++;
         }
+        recordOperation(Operation.SEARCH, position, start);
         return -1;
     }
 
+    /**
+     * Loads a queue from a snapshot file written by save(). The first saved value
+     * is at the front of the queue.
+     *
+     * @param path The snapshot file to read.
+     * @return A new queue holding the saved values in the same order.
+     * @throws IOException if the file could not be read or is not a list snapshot.
+     */
+    public static QueueLL load(Path path) throws IOException {
+        QueueLL queue = new QueueLL();
+        for (int value : Snapshot.readList(path)) {
+            queue.enqueue(new DNode(value));
+        }
+        return queue;
+    }
+
     /**
      * Clears all nodes from the queue.
      */
@@ -93,6 +156,9 @@ public class QueueLL extends SLL{
     @Override
     public void InsertHead(DNode node){}
 
+    @Override
+    public void insertHead(int val){}
+
     @Override
     public void Insert(DNode node, int position){}
 
@@ -108,23 +174,45 @@ public class QueueLL extends SLL{
     @Override
     public void Delete(DNode node){}
 
+    @Override
+    public int removeIf(IntPredicate predicate) {return 0;}
+
     @Override
     public void Sort(){}
 
+    @Override
+    public void parallelSort(int threshold){}
+
     @Override
     public void Print(){
-        System.out.println("");
-        System.out.println("QUEUELL TEST");
-        System.out.println("List length: " + size);
-        System.out.println("Is list empty: " + empty());
+        try {
+            appendTo(System.out);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
 
-        System.out.print("List content: ");
-        DNode current = head;
-        while (current != null) {
-            System.out.print(current.getData() + " ");
-            current = current.getNext();
+    /**
+     * Writes the QueueLL report to the given destination through a ChunkedWriter.
+     * At most limit elements are written. A limit of 0 writes only the summary lines.
+     *
+     * @param out The destination, for example a Writer or StringBuilder.
+     * @param limit The maximum number of elements to write.
+     * @throws IOException if the destination could not be written.
+     */
+    @Override
+    public void appendTo(Appendable out, int limit) throws IOException {
+        ChunkedWriter writer = new ChunkedWriter(out);
+        writer.newLine().append("QUEUELL TEST").newLine();
+        writer.append("List length: " + size).newLine();
+        writer.append("Is list empty: " + empty()).newLine();
+
+        if (limit > 0) {
+            writer.append("List content: ");
+            appendValues(writer, head, Integer.MAX_VALUE, limit, true);
+            writer.newLine();
         }
-        System.out.println();
+        writer.flush();
     }
 
     public static void main(String[] args) {
@@ -180,5 +268,15 @@ public class QueueLL extends SLL{
         queue.Clear();
         System.out.println("\n-----Testing the clear method for the queue-----");
         queue.Print(); //should output: List length: 0, is list empty: true, List content:
+
+        // Testing the value-based methods with a node pool
+        queue.setNodePool(new DNodePool(16));
+        queue.enqueue(7);
+        queue.enqueue(8);
+        System.out.println("\n-----Testing enqueue and dequeueInt with values-----");
+        System.out.println("Dequeued: " + queue.dequeueInt()); //should output: Dequeued: 7
+        queue.enqueue(9);
+        System.out.println("Dequeued: " + queue.dequeueInt() + " " + queue.dequeueInt()); //should output: Dequeued: 8 9
+        System.out.println("Pool hits: " + queue.getNodePool().getHits()); //should output: Pool hits: 1
     }
 }
@@ -1,6 +1,26 @@
 package main.java.mylib.datastructures.linear;
 
 import main.java.mylib.datastructures.nodes.DNode;
+import main.java.mylib.datastructures.nodes.DNodePool;
+import main.java.mylib.datastructures.hash.IntHashSet;
+import main.java.mylib.datastructures.hash.MembershipFilter;
+import main.java.mylib.datastructures.io.ChunkedWriter;
+import main.java.mylib.datastructures.io.Snapshot;
+import main.java.mylib.datastructures.metrics.Instrumented;
+import main.java.mylib.datastructures.metrics.MemoryLayout;
+import main.java.mylib.datastructures.metrics.Operation;
+import main.java.mylib.datastructures.metrics.OperationMetrics;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.IntConsumer;
+import java.util.function.IntPredicate;
 
  /**
  * The SLL class is an implementation of a singly linked list with additional methods 
@@ -14,10 +34,19 @@ import main.java.mylib.datastructures.nodes.DNode;
  *         <a href="mailto:hareem.khan@ucalgary.ca">hareem.khan@ucalgary.ca</a>
  */
 
-public class SLL {
+public class SLL implements Instrumented {
+    /**
+     * Default segment length below which parallelSort() stops forking and
+     * sorts the segment sequentially.
+     */
+    public static final int DEFAULT_SORT_THRESHOLD = 8192;
+
     protected DNode head;
     protected DNode tail;
     protected int size;
+    protected DNodePool nodePool;
+    protected OperationMetrics metrics;
+    protected MembershipFilter filter;
 
     /**
      * Default constructor for SLL class.
@@ -54,6 +83,7 @@ public class SLL {
             head = node;
         }
         size++;
+        filterAdd(node);
     }
 
     /**
@@ -71,6 +101,7 @@ public class SLL {
             tail = node;
         }
         size++;
+        filterAdd(node);
     }
 
     /**
@@ -94,6 +125,7 @@ public class SLL {
             node.setNext(current.getNext());
             current.setNext(node);
             size++;
+            filterAdd(node);
         }
     }
 
@@ -103,9 +135,12 @@ public class SLL {
      * @param node The node to be inserted.
      */
     public void SortedInsert(DNode node){
+        long start = operationStart();
+        int visited = 0;
         if (head == null){
             head = node;
             tail = node;
+            filterAdd(node);
         }
         else {
             if (!isSorted()){
@@ -116,6 +151,7 @@ public class SLL {
             DNode prev = null;
 
             while (current != null && node.getData() > current.getData()){
+                visited++;
                 prev = current;
                 current = current.getNext();
             }
@@ -127,8 +163,10 @@ public class SLL {
                 node.setNext(current);
                 prev.setNext(node);
                 size++;
+                filterAdd(node);
             }
         }
+        recordOperation(Operation.SORTED_INSERT, visited, start);
     }
 
     /**
@@ -138,19 +176,27 @@ public class SLL {
      * @return The node with the given value, or null if not found.
      */
     public DNode Search(DNode node) {
+        long start = operationStart();
+        if (filterExcludes(node.getData())) {
+            recordOperation(Operation.SEARCH, 0, start);
+            return null;
+        }
+        int visited = 0;
         DNode current = this.head;
         while (current != null) {
+            visited++;
             if (current == node){
-                return current;
+                break;
             }
             else if (current.getData() == node.getData()){
-                return current;
+                break;
             }
             else {
                 current = current.getNext();
             }
         }
-        return null;
+        recordOperation(Operation.SEARCH, visited, start);
+        return current;
     }
     
     /**
@@ -158,6 +204,7 @@ public class SLL {
      */
     public void DeleteHead(){
         if (head != null){
+            filterRemove(head);
             head = head.getNext();
             size--;
 
@@ -172,6 +219,7 @@ public class SLL {
      */
     public void DeleteTail(){
         if (tail != null){
+            filterRemove(tail);
             if (head == tail){
                 head = null;
                 tail = null;
@@ -196,6 +244,8 @@ public class SLL {
         if (head == null) {
             return;
         }
+        long start = operationStart();
+        int visited = 1;
         if (head == node){
             DeleteHead();
         }
@@ -205,13 +255,16 @@ public class SLL {
         else {
             DNode current = head;
             while (current != null && current.getNext() != node){
+                visited++;
                 current = current.getNext();
             }
             if (current != null && current.getNext() != null){
                 current.setNext(node.getNext());
                 size--;
+                filterRemove(node);
             }
         }
+        recordOperation(Operation.DELETE, visited, start);
     }    
 
     /**
@@ -228,6 +281,7 @@ public class SLL {
             if (current.getData() < prev.getData()) {
                 prev.setNext(current.getNext());
                 this.size--;
+                filterRemove(current);
 
                 SortedInsert(current);
 
@@ -243,6 +297,393 @@ public class SLL {
         }
     }
 
+    /**
+     * Sorts the list in ascending order with a fork-join merge sort, using
+     * DEFAULT_SORT_THRESHOLD as the sequential cutoff.
+     */
+    public void parallelSort() {
+        parallelSort(DEFAULT_SORT_THRESHOLD);
+    }
+
+    /**
+     * Sorts the list in ascending order with a fork-join merge sort. The node chain
+     * is split in half recursively, both halves are sorted in parallel on the common
+     * ForkJoinPool and then merged. Segments of at most threshold nodes are sorted
+     * sequentially. The sort is stable and relinks the existing nodes in place.
+     *
+     * @param threshold The segment length below which no further tasks are forked.
+     * @throws IllegalArgumentException if threshold is less than 1.
+     */
+    public void parallelSort(int threshold) {
+        if (threshold < 1) {
+            throw new IllegalArgumentException("threshold must be at least 1");
+        }
+        if (head == null || size < 2) {
+            return;
+        }
+        head = sortChain(head, size, threshold);
+
+        DNode current = head;
+        while (current.getNext() != null) {
+            current = current.getNext();
+        }
+        tail = current;
+    }
+
+    /**
+     * Sorts the first count nodes of the chain starting at first. Only the next
+     * pointers are rewritten, and the returned chain is null terminated, so the
+     * input may be an open or a circular chain.
+     *
+     * @param first The first node of the chain.
+     * @param count The number of nodes to sort.
+     * @param threshold The sequential cutoff for forking.
+     * @return The head of the sorted chain.
+     */
+    protected static DNode sortChain(DNode first, int count, int threshold) {
+        if (count <= threshold) {
+            return mergeSort(first, count);
+        }
+        return ForkJoinPool.commonPool().invoke(new MergeSortTask(first, count, threshold));
+    }
+
+    /**
+     * Sequential merge sort over the first count nodes of a chain.
+     *
+     * @param first The first node of the chain.
+     * @param count The number of nodes to sort.
+     * @return The head of the sorted, null terminated chain.
+     */
+    private static DNode mergeSort(DNode first, int count) {
+        if (count == 1) {
+            first.setNext(null);
+            return first;
+        }
+        int half = count / 2;
+        DNode second = nodeAt(first, half);
+        DNode left = mergeSort(first, half);
+        DNode right = mergeSort(second, count - half);
+        return merge(left, right);
+    }
+
+    /**
+     * Returns the node that is steps positions after first.
+     */
+    private static DNode nodeAt(DNode first, int steps) {
+        DNode current = first;
+        for (int i = 0; i < steps; i++) {
+            current = current.getNext();
+        }
+        return current;
+    }
+
+    /**
+     * Merges two sorted, null terminated chains. Ties are taken from the left chain
+     * so the overall sort is stable.
+     *
+     * @param left The head of the first sorted chain.
+     * @param right The head of the second sorted chain.
+     * @return The head of the merged chain.
+     */
+    private static DNode merge(DNode left, DNode right) {
+        DNode dummy = new DNode(0);
+        DNode last = dummy;
+        while (left != null && right != null) {
+            if (left.getData() <= right.getData()) {
+                last.setNext(left);
+                left = left.getNext();
+            } else {
+                last.setNext(right);
+                right = right.getNext();
+            }
+            last = last.getNext();
+        }
+        last.setNext(left != null ? left : right);
+        return dummy.getNext();
+    }
+
+    /**
+     * Fork-join task that sorts one segment of a node chain. The segment is split at
+     * its midpoint before either half is touched, the left half is forked and the
+     * right half is sorted in the current thread.
+     */
+    @SuppressWarnings("serial")
+    private static class MergeSortTask extends RecursiveTask<DNode> {
+        private final DNode first;
+        private final int count;
+        private final int threshold;
+
+        MergeSortTask(DNode first, int count, int threshold) {
+            this.first = first;
+            this.count = count;
+            this.threshold = threshold;
+        }
+
+        @Override
+        protected DNode compute() {
+            if (count <= threshold) {
+                return mergeSort(first, count);
+            }
+            int half = count / 2;
+            DNode second = nodeAt(first, half);
+            MergeSortTask left = new MergeSortTask(first, half, threshold);
+            MergeSortTask right = new MergeSortTask(second, count - half, threshold);
+            left.fork();
+            DNode sortedRight = right.compute();
+            return merge(left.join(), sortedRight);
+        }
+    }
+
+    /**
+     * Inserts a value at the head of the list. The node is created by the list, taken
+     * from the attached node pool if there is one.
+     *
+     * @param val The value to be inserted.
+     */
+    public void insertHead(int val) {
+        InsertHead(newNode(val));
+    }
+
+    /**
+     * Inserts a value at the tail of the list. The node is created by the list, taken
+     * from the attached node pool if there is one.
+     *
+     * @param val The value to be inserted.
+     */
+    public void insertTail(int val) {
+        InsertTail(newNode(val));
+    }
+
+    /**
+     * Checks if a value is in the list, without creating a node to search for.
+     *
+     * @param val The value to look up.
+     * @return True if a node holds the value.
+     */
+    public boolean contains(int val) {
+        return find(val) != null;
+    }
+
+    /**
+     * Removes the first node holding the value. If a node pool is attached, the node is
+     * given back to it.
+     *
+     * @param val The value to be removed.
+     * @return True if a node was removed.
+     */
+    public boolean remove(int val) {
+        DNode node = find(val);
+        if (node == null) {
+            return false;
+        }
+        int before = size;
+        Delete(node);
+        if (size == before) {
+            return false;
+        }
+        recycle(node);
+        return true;
+    }
+
+    /**
+     * Returns the first node holding the value. Exactly size nodes are checked, so this
+     * also works for the circular lists.
+     *
+     * @param val The value to look up.
+     * @return The first node with the value, or null if there is none.
+     */
+    protected DNode find(int val) {
+        if (filterExcludes(val)) {
+            return null;
+        }
+        DNode current = head;
+        for (int i = 0; i < size && current != null; i++) {
+            if (current.getData() == val) {
+                return current;
+            }
+            current = current.getNext();
+        }
+        return null;
+    }
+
+    /**
+     * Passes the value of every node to the action, from head to tail. Exactly size
+     * nodes are visited, so this also works for the circular lists.
+     *
+     * @param action The action to run for each value.
+     */
+    public void forEach(IntConsumer action) {
+        DNode current = head;
+        for (int i = 0; i < size; i++) {
+            action.accept(current.getData());
+            current = current.getNext();
+        }
+    }
+
+    /**
+     * Appends the values to the tail of the list, in array order. The nodes are linked
+     * into a chain first and the chain is joined to the list once.
+     * Time Complexity: O(k), k being the number of values.
+     *
+     * @param values The values to be appended.
+     */
+    public void addAll(int[] values) {
+        if (values.length == 0) {
+            return;
+        }
+        DNode first = newNode(values[0]);
+        DNode last = first;
+        for (int i = 1; i < values.length; i++) {
+            DNode node = newNode(values[i]);
+            linkNext(last, node);
+            last = node;
+        }
+        appendChain(first, last, values.length);
+    }
+
+    /**
+     * Moves all nodes of another list to the tail of this list, leaving the other list
+     * empty. The nodes are relinked, not copied, so the lists may be of different types;
+     * the ends are joined the way this list needs, circular or not.
+     * Time Complexity: O(1) when both lists know their tail and this list has no filter.
+     *
+     * @param other The list whose nodes are moved.
+     * @throws IllegalArgumentException if other is this list.
+     */
+    public void splice(SLL other) {
+        if (other == this) {
+            throw new IllegalArgumentException("cannot splice a list into itself");
+        }
+        if (other.head == null) {
+            return;
+        }
+        DNode first = other.head;
+        DNode last = other.lastNode();
+        int count = other.size;
+        other.detachAll();
+        appendChain(first, last, count);
+    }
+
+    /**
+     * Empties the list without touching its nodes, which splice has handed over to
+     * another list. Subclasses that record their changes elsewhere, such as LoggedDLL,
+     * override this to record that the list was emptied.
+     */
+    protected void detachAll() {
+        head = null;
+        tail = null;
+        size = 0;
+        if (filter != null) {
+            filter.clear();
+        }
+    }
+
+    /**
+     * Removes every node whose value matches the predicate, in a single pass over the
+     * list. If a node pool is attached, the removed nodes are given back to it.
+     * Time Complexity: O(n).
+     *
+     * @param predicate The test for the values to be removed.
+     * @return The number of nodes removed.
+     */
+    public int removeIf(IntPredicate predicate) {
+        DNode current = head;
+        DNode first = null;
+        DNode last = null;
+        int kept = 0;
+        int count = size;
+        for (int i = 0; i < count && current != null; i++) {
+            DNode next = current.getNext();
+            if (predicate.test(current.getData())) {
+                filterRemove(current);
+                recycle(current);
+            }
+            else {
+                if (first == null) {
+                    first = current;
+                }
+                else {
+                    linkNext(last, current);
+                }
+                last = current;
+                kept++;
+            }
+            current = next;
+        }
+        head = first;
+        tail = last;
+        size = kept;
+        if (head != null) {
+            linkEnds();
+        }
+        return count - kept;
+    }
+
+    /**
+     * Removes every node whose value is in the set, in a single pass over the list.
+     * Time Complexity: O(n) expected.
+     *
+     * @param values The values to be removed.
+     * @return The number of nodes removed.
+     */
+    public int removeAll(IntHashSet values) {
+        return removeIf(values::contains);
+    }
+
+    /**
+     * Makes node follow prev. The doubly linked lists also set the previous reference.
+     *
+     * @param prev The node before.
+     * @param node The node after.
+     */
+    protected void linkNext(DNode prev, DNode node) {
+        prev.setNext(node);
+    }
+
+    /**
+     * Sets the references that leave the head and tail once the chain between them is
+     * linked: the tail's next is null here, and the circular lists point it at the head.
+     */
+    protected void linkEnds() {
+        tail.setNext(null);
+    }
+
+    /**
+     * Joins a linked chain of count nodes to the tail of the list.
+     */
+    private void appendChain(DNode first, DNode last, int count) {
+        if (head == null) {
+            head = first;
+        }
+        else {
+            linkNext(lastNode(), first);
+        }
+        tail = last;
+        size += count;
+        linkEnds();
+        if (filter != null) {
+            DNode current = first;
+            for (int i = 0; i < count; i++) {
+                filter.add(current.getData());
+                current = current.getNext();
+            }
+        }
+    }
+
+    /**
+     * Returns the last node, walking to it if the tail is not set.
+     */
+    private DNode lastNode() {
+        if (tail != null) {
+            return tail;
+        }
+        DNode current = head;
+        for (int i = 1; i < size && current.getNext() != null; i++) {
+            current = current.getNext();
+        }
+        return current;
+    }
+
     /**
      * Checks if the doubly linked list is sorted in ascending order.
      * @return True if the list is sorted, false otherwise.
@@ -265,6 +706,10 @@ public class SLL {
      * Clears all the nodes in the doubly linked list.
      */
     public void Clear() {
+        if (nodePool != null) {
+            releaseAll();
+            return;
+        }
         DNode current = head;
         while (current != null) {
             DNode next = current.getNext();
@@ -274,30 +719,292 @@ public class SLL {
         head = null;
         tail = null;
         size = 0;
+        if (filter != null) {
+            filter.clear();
+        }
+    }
+
+    /**
+     * Attaches a node pool to the list, or detaches it when pool is null. While a pool
+     * is attached, the methods that create nodes from values take them from the pool,
+     * and pop, dequeue and Clear give the removed nodes back to it. Nodes removed from
+     * the list must then not be used by the caller any more.
+     *
+     * @param pool The pool to use, for example DNodePool.threadLocal(), or null.
+     */
+    public void setNodePool(DNodePool pool) {
+        this.nodePool = pool;
+    }
+
+    /**
+     * Returns the node pool attached to the list.
+     *
+     * @return The attached pool, or null if the list allocates its nodes.
+     */
+    public DNodePool getNodePool() {
+        return nodePool;
+    }
+
+    /**
+     * Attaches operation metrics to the list, or detaches them when metrics is null.
+     * While metrics are attached, Search, SortedInsert and Delete, and the stack and
+     * queue operations, record their latency and the number of nodes they visited.
+     *
+     * @param metrics The metrics to record into, or null.
+     */
+    public void setMetrics(OperationMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    /**
+     * Returns the operation metrics attached to the list.
+     *
+     * @return The attached metrics, or null if the list records none.
+     */
+    public OperationMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Attaches a membership filter to the list, or detaches it when filter is null. The
+     * filter is cleared and filled with the values of the list, and from then on the
+     * list adds every value it stores to the filter and removes every value it drops.
+     * Search, contains and remove return at once, without walking the list, for the
+     * values the filter rules out. A filter must not be shared with other structures,
+     * and the values of nodes in the list must not be changed with setData.
+     *
+     * @param filter The filter to use, for example a CountingBloomFilter, or null.
+     */
+    public void setFilter(MembershipFilter filter) {
+        this.filter = filter;
+        if (filter != null) {
+            filter.clear();
+            forEach(filter::add);
+        }
+    }
+
+    /**
+     * Returns the membership filter attached to the list.
+     *
+     * @return The attached filter, or null if the list has none.
+     */
+    public MembershipFilter getFilter() {
+        return filter;
+    }
+
+    /**
+     * Adds the value of a node that was linked into the list to the attached filter,
+     * if any.
+     *
+     * @param node The inserted node.
+     */
+    protected void filterAdd(DNode node) {
+        if (filter != null) {
+            filter.add(node.getData());
+        }
+    }
+
+    /**
+     * Removes the value of a node that was unlinked from the list from the attached
+     * filter, if any.
+     *
+     * @param node The removed node.
+     */
+    protected void filterRemove(DNode node) {
+        if (filter != null) {
+            filter.remove(node.getData());
+        }
+    }
+
+    /**
+     * Checks if the attached filter rules out a value, so that a search for it can
+     * return without walking the list.
+     *
+     * @param val The value to look up.
+     * @return True if the value is certainly not in the list.
+     */
+    protected boolean filterExcludes(int val) {
+        return filter != null && !filter.mightContain(val);
+    }
+
+    /**
+     * Returns the start time of an operation, or 0 without reading the clock when no
+     * metrics are attached.
+     *
+     * @return The value to pass to recordOperation.
+     */
+    protected long operationStart() {
+        return metrics != null ? System.nanoTime() : 0L;
+    }
+
+    /**
+     * Records a completed operation in the attached metrics, if any.
+     *
+     * @param operation The operation.
+     * @param visited The number of nodes the operation visited.
+     * @param start The value returned by operationStart.
+     */
+    protected void recordOperation(Operation operation, int visited, long start) {
+        if (metrics != null) {
+            metrics.record(operation, visited, start);
+        }
+    }
+
+    /**
+     * Returns a node for the given value, taken from the attached pool if there is one.
+     *
+     * @param data The value for the node.
+     * @return A node with no links.
+     */
+    protected DNode newNode(int data) {
+        return nodePool != null ? nodePool.acquire(data) : new DNode(data);
+    }
+
+    /**
+     * Gives a node that was removed from the list back to the attached pool, if any.
+     *
+     * @param node The removed node.
+     */
+    protected void recycle(DNode node) {
+        if (nodePool != null) {
+            nodePool.release(node);
+        }
+    }
+
+    /**
+     * Empties the list and gives its nodes to the attached pool. Exactly size nodes are
+     * released, so the circular lists are handled too.
+     */
+    protected void releaseAll() {
+        DNode current = head;
+        for (int i = 0; i < size && current != null; i++) {
+            DNode next = current.getNext();
+            nodePool.release(current);
+            current = next;
+        }
+        head = null;
+        tail = null;
+        size = 0;
+        if (filter != null) {
+            filter.clear();
+        }
     }
     
+    /**
+     * Returns an estimate of the heap used by the list and its nodes. An attached node
+     * pool can be shared, so it is not counted.
+     * Time Complexity: O(1).
+     *
+     * @return The estimated number of bytes.
+     */
+    @Override
+    public long memoryFootprint() {
+        return MemoryLayout.shallowSizeOf(getClass()) + (long) size * MemoryLayout.shallowSizeOf(DNode.class);
+    }
+
+    /**
+     * Saves the values of the list to a binary snapshot file. See Snapshot for the format.
+     *
+     * @param path The file to write. An existing file is replaced.
+     * @throws IOException if the file could not be written.
+     */
+    public void save(Path path) throws IOException {
+        Snapshot.writeList(path, head, size);
+    }
+
     /**
      * Prints the information about the doubly linked list, including list length,
      * whether the list is sorted or not, and the list content.
      */
     public void Print() {
-        System.out.println("");
-        System.out.println("SLL TEST");
-        System.out.println("List length: " + size);
-    
-        if (isSorted()) {
-            System.out.println("List is sorted");
-        } else {
-            System.out.println("List is not sorted");
+        try {
+            appendTo(System.out);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
         }
-    
-        System.out.print("List content: ");
-        DNode current = head;
-        while (current != null) {
-            System.out.print(current.getData() + " ");
-            current = current.getNext();
+    }
+
+    /**
+     * Writes the same report as Print() to the given destination.
+     *
+     * @param out The destination, for example a Writer or StringBuilder.
+     * @throws IOException if the destination could not be written.
+     */
+    public void appendTo(Appendable out) throws IOException {
+        appendTo(out, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Writes only the list header and length to the given destination.
+     * This does not walk the list.
+     *
+     * @param out The destination, for example a Writer or StringBuilder.
+     * @throws IOException if the destination could not be written.
+     */
+    public void appendSummary(Appendable out) throws IOException {
+        appendTo(out, 0);
+    }
+
+    /**
+     * Writes the same report as Print() to the given byte stream as ASCII text.
+     *
+     * @param out The stream to write to.
+     * @param limit The maximum number of elements to write.
+     * @throws IOException if the stream could not be written.
+     */
+    public void writeTo(OutputStream out, int limit) throws IOException {
+        Writer writer = new OutputStreamWriter(out, StandardCharsets.US_ASCII);
+        appendTo(writer, limit);
+        writer.flush();
+    }
+
+    /**
+     * Writes the list report to the given destination through a ChunkedWriter, so the
+     * destination is called once per chunk rather than once per element. At most limit
+     * elements are written, followed by "..." if the list is longer. A limit of 0
+     * writes only the summary lines and skips the sorted check and the list walk.
+     *
+     * @param out The destination, for example a Writer or StringBuilder.
+     * @param limit The maximum number of elements to write.
+     * @throws IOException if the destination could not be written.
+     */
+    public void appendTo(Appendable out, int limit) throws IOException {
+        ChunkedWriter writer = new ChunkedWriter(out);
+        writer.newLine().append("SLL TEST").newLine();
+        writer.append("List length: " + size).newLine();
+
+        if (limit > 0) {
+            writer.append(isSorted() ? "List is sorted" : "List is not sorted").newLine();
+            writer.append("List content: ");
+            appendValues(writer, head, Integer.MAX_VALUE, limit, true);
+            writer.newLine();
+        }
+        writer.flush();
+    }
+
+    /**
+     * Writes up to limit values from a chain of at most count nodes, followed by "..."
+     * if values were left out. The walk also stops at a null link.
+     *
+     * @param writer The writer to append to.
+     * @param first The node to start from.
+     * @param count The number of nodes in the chain.
+     * @param limit The maximum number of values to write.
+     * @param forward True to follow next pointers, false to follow previous pointers.
+     * @throws IOException if the writer could not write a chunk.
+     */
+    protected static void appendValues(ChunkedWriter writer, DNode first, int count, int limit, boolean forward) throws IOException {
+        DNode current = first;
+        int written = 0;
+        while (current != null && written < count) {
+            if (written == limit) {
+                writer.append("...");
+                return;
+            }
+            writer.value(current.getData());
+            current = forward ? current.getNext() : current.getPrevious();
+            written++;
         }
-        System.out.println();
     }
 
     public static void main(String[] args) {
@@ -351,6 +1058,25 @@ public class SLL {
          sll3.InsertTail(new DNode(2));
          sll3.SortedInsert(new DNode(3));
          sll3.Print(); // prints: 2 3 4
+
+         // test parallelSort with a small threshold so tasks are forked
+         SLL sll4 = new SLL();
+         sll4.InsertTail(new DNode(5));
+         sll4.InsertTail(new DNode(1));
+         sll4.InsertTail(new DNode(4));
+         sll4.InsertTail(new DNode(2));
+         sll4.InsertTail(new DNode(3));
+         sll4.parallelSort(2);
+         sll4.Print(); // prints: 1 2 3 4 5 sorted
+
+         // test the batch methods
+         SLL sll5 = new SLL();
+         sll5.addAll(new int[] {1, 2, 3, 4});
+         CSLL other = new CSLL();
+         other.addAll(new int[] {5, 6});
+         sll5.splice(other);
+         sll5.removeIf(val -> val % 2 == 0);
+         sll5.Print(); // prints: 1 3 5 sorted
  
     }
 
@@ -1,6 +1,12 @@
 package main.java.mylib.datastructures.linear;
 
 import main.java.mylib.datastructures.nodes.DNode;
+import main.java.mylib.datastructures.metrics.Operation;
+import main.java.mylib.datastructures.io.ChunkedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.NoSuchElementException;
+import java.util.function.IntPredicate;
 
  /**
  * The StackLL class is a Java class that represents a stack data structure implemented 
@@ -37,14 +43,49 @@ public class StackLL extends SLL{
      * @param node The node to be pushed onto the stack.
      */
     public void push(DNode node){
+        long start = operationStart();
         super.InsertHead(node);
+        recordOperation(Operation.PUSH, 1, start);
     }
 
     /**
-     * Pops the top node from the stack.
+     * Pops the top node from the stack. If a node pool is attached, the node is given
+     * back to it.
      */
     public void pop(){
+        long start = operationStart();
+        DNode top = this.head;
         super.DeleteHead();
+        if (top != null){
+            recycle(top);
+        }
+        recordOperation(Operation.POP, 1, start);
+    }
+
+    /**
+     * Pushes a value onto the stack. The node is created by the stack, taken from the
+     * attached node pool if there is one.
+     *
+     * @param val The value to be pushed.
+     */
+    public void push(int val){
+        push(newNode(val));
+    }
+
+    /**
+     * Pops the top value from the stack. If a node pool is attached, its node is given
+     * back to it.
+     *
+     * @return The value that was on top of the stack.
+     * @throws NoSuchElementException if the stack is empty.
+     */
+    public int popInt(){
+        if (this.head == null){
+            throw new NoSuchElementException("stack is empty");
+        }
+        int val = this.head.getData();
+        pop();
+        return val;
     }
 
     /**
@@ -61,15 +102,18 @@ public class StackLL extends SLL{
      * @return The position of the node in the stack, or -1 if the node is not found.
      */
     public int search(DNode node) {
+        long start = operationStart();
         int position = 1;
         DNode current = this.head;
         while (current != null) {
             if (current == node) {
+                recordOperation(Operation.SEARCH, position, start);
                 return position;
             }
             current = current.getNext();
             position++;
         }
+        recordOperation(Operation.SEARCH, position - 1, start);
         return -1;
     }
     
@@ -94,6 +138,9 @@ public class StackLL extends SLL{
     @Override
     public void InsertTail(DNode node){}
 
+    @Override
+    public void insertTail(int val){}
+
     @Override
     public void Insert(DNode node, int position){}
 
@@ -109,26 +156,54 @@ public class StackLL extends SLL{
     @Override
     public void Delete(DNode node){}
 
+    @Override
+    public void addAll(int[] values){}
+
+    @Override
+    public void splice(SLL other){}
+
+    @Override
+    public int removeIf(IntPredicate predicate) {return 0;}
+
     @Override
     public void Sort(){}
 
+    @Override
+    public void parallelSort(int threshold){}
+
     /**
      * Prints the contents of the stack.
      */
     @Override
-    public void Print() {
-        System.out.println("");
-        System.out.println("STACKLL TEST");
-        System.out.println("List length: " + size);
-        System.out.println("Is list empty: " + empty());
+    public void Print(){
+        try {
+            appendTo(System.out);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
 
-        System.out.print("List content: ");
-        DNode current = head;
-        while (current != null) {
-            System.out.print(current.getData() + " ");
-            current = current.getNext();
+    /**
+     * Writes the StackLL report to the given destination through a ChunkedWriter.
+     * At most limit elements are written. A limit of 0 writes only the summary lines.
+     *
+     * @param out The destination, for example a Writer or StringBuilder.
+     * @param limit The maximum number of elements to write.
+     * @throws IOException if the destination could not be written.
+     */
+    @Override
+    public void appendTo(Appendable out, int limit) throws IOException {
+        ChunkedWriter writer = new ChunkedWriter(out);
+        writer.newLine().append("STACKLL TEST").newLine();
+        writer.append("List length: " + size).newLine();
+        writer.append("Is list empty: " + empty()).newLine();
+
+        if (limit > 0) {
+            writer.append("List content: ");
+            appendValues(writer, head, Integer.MAX_VALUE, limit, true);
+            writer.newLine();
         }
-        System.out.println();
+        writer.flush();
     }
 
     public static void main(String[] args) {
@@ -225,5 +300,12 @@ public class StackLL extends SLL{
         DNode stackNode4 = new DNode(4);
         StackLL stack4 = new StackLL(stackNode4);
         System.out.println("StackLL(DNode head) Test Passed: StackLL(DNode head) constructor - List content (head only): " + stack4.peek().getData() + "\n"); // Expected output: List content: 4
+
+        // Test push(int) and popInt() methods
+        StackLL stack5 = new StackLL();
+        stack5.push(5);
+        stack5.push(6);
+        int popped = stack5.popInt();
+        System.out.println("popInt() Test Passed: popInt() - Popped values: " + popped + " " + stack5.popInt() + "\n"); // Expected output: Popped values: 6 5
     }
 }
@@ -0,0 +1,329 @@
+package main.java.mylib.datastructures.linear;
+
+import main.java.mylib.datastructures.nodes.DNode;
+import main.java.mylib.datastructures.metrics.Instrumented;
+import main.java.mylib.datastructures.metrics.MemoryLayout;
+import java.util.function.IntConsumer;
+
+/**
+ * TimingWheel class schedules timers, identified by an int id, to fire once their
+ * deadline has passed. Unlike a timer queue kept in a sorted list, where every insertion
+ * costs O(n), scheduling and cancelling a timer are O(1) and advancing the clock costs
+ * O(1) per timer fired or moved plus a small amount per tick passed.
+ *
+ * Time is divided into ticks of tickDuration units, and the wheel is a hierarchy of
+ * levels with wheelSize slots each: level 0 has one slot per tick, level 1 one slot per
+ * wheelSize ticks, and so on, each level covering wheelSize times the span of the one
+ * below. A timer goes into the lowest level whose span reaches its deadline. Every time
+ * the clock enters the span of a slot on a higher level, the timers in that slot are
+ * moved down the hierarchy, and the timers in the level 0 slot of the current tick fire.
+ * Stretches of ticks with no timers on the lower levels are skipped.
+ *
+ * Every slot is a CDLL and every timer is a node of it, so a timer is added with
+ * InsertTail and cancelled by unlinking its own node. schedule returns that node as the
+ * handle for cancel; its data is the timer id.
+ *
+ * A timer never fires before its deadline: it fires on the first call to advance with a
+ * time at or after its deadline rounded up to a whole tick.
+ *
+ * @author Eeman Abid
+ *         <a href="mailto:eeman.abid@ucalgary.ca">eeman.abid@ucalgary.ca</a>
+ * @author Hareem Khan
+ *         <a href="mailto:hareem.khan@ucalgary.ca">hareem.khan@ucalgary.ca</a>
+ */
+
+public class TimingWheel implements Instrumented {
+    private static final int DUE = -1;
+
+    /**
+     * Timer node, remembering the tick it expires in and the slot that holds it.
+     */
+    private static final class Timer extends DNode {
+        final long expiration;
+        CDLL bucket;
+        int level;
+
+        Timer(int id, long expiration){
+            super(id);
+            this.expiration = expiration;
+        }
+    }
+
+    private final long tickDuration;
+    private final int wheelSize;
+    private final int bits;
+    private final CDLL[][] levels;
+    private final int[] counts;
+    private final CDLL due;
+    private long currentTick;
+    private int size;
+
+    /**
+     * Constructor for TimingWheel class.
+     *
+     * @param tickDuration The length of one tick, in the same unit as the deadlines.
+     * @param wheelSize The number of slots per level, a power of two of at least 2.
+     * @param startTime The current time.
+     * @throws IllegalArgumentException if tickDuration is less than 1 or wheelSize is not
+     *         a power of two of at least 2.
+     */
+    public TimingWheel(long tickDuration, int wheelSize, long startTime){
+        if (tickDuration < 1){
+            throw new IllegalArgumentException("tickDuration must be at least 1");
+        }
+        if (wheelSize < 2 || Integer.bitCount(wheelSize) != 1){
+            throw new IllegalArgumentException("wheelSize must be a power of two of at least 2");
+        }
+        this.tickDuration = tickDuration;
+        this.wheelSize = wheelSize;
+        this.bits = Integer.numberOfTrailingZeros(wheelSize);
+        // Enough levels for any two ticks to share a level-sized span
+        this.levels = new CDLL[(Long.SIZE + bits - 1) / bits][];
+        this.counts = new int[levels.length];
+        this.due = new CDLL();
+        this.currentTick = Math.floorDiv(startTime, tickDuration);
+    }
+
+    /**
+     * Schedules a timer to fire once the time reaches the deadline. A deadline at or
+     * before getTime() fires on the next call to advance; any other deadline fires on
+     * the first call to advance with a time at or after the deadline rounded up to a
+     * whole tick.
+     * Time Complexity: O(1).
+     *
+     * @param id The id passed to the expiry action when the timer fires.
+     * @param deadline The earliest time at which the timer fires.
+     * @return The timer node, for use with cancel.
+     */
+    public DNode schedule(int id, long deadline){
+        Timer timer = new Timer(id, -Math.floorDiv(-deadline, tickDuration));
+        place(timer);
+        size++;
+        return timer;
+    }
+
+    /**
+     * Cancels a timer that has not fired yet by unlinking its node from its slot.
+     * Time Complexity: O(1).
+     *
+     * @param timer A node returned by schedule on this wheel.
+     * @return True if the timer was pending and is now cancelled, false if it had
+     *         already fired or been cancelled.
+     * @throws IllegalArgumentException if the node was not returned by schedule.
+     */
+    public boolean cancel(DNode timer){
+        if (!(timer instanceof Timer)){
+            throw new IllegalArgumentException("node is not a timer");
+        }
+        Timer t = (Timer) timer;
+        if (t.bucket == null){
+            return false;
+        }
+        remove(t);
+        size--;
+        return true;
+    }
+
+    /**
+     * Moves the clock forward to now and passes the id of every timer whose deadline has
+     * been reached to the action. The action may schedule and cancel timers.
+     *
+     * @param now The current time. Times earlier than the wheel's time are ignored.
+     * @param expired The action to run for each timer that fires.
+     * @return The number of timers that fired.
+     */
+    public int advance(long now, IntConsumer expired){
+        long target = Math.floorDiv(now, tickDuration);
+        int fired = fire(due, expired);
+        while (currentTick < target){
+            // Nothing can fire or move down before the span of the lowest occupied level ends
+            int lowest = 0;
+            while (lowest < levels.length && counts[lowest] == 0){
+                lowest++;
+            }
+            if (lowest == levels.length){
+                currentTick = target;
+                break;
+            }
+            long next = currentTick + 1;
+            if (lowest > 0){
+                int shift = bits * lowest;
+                long boundary = ((currentTick >> shift) + 1) << shift;
+                if (boundary > next){
+                    next = boundary;
+                }
+            }
+            if (next > target){
+                currentTick = target;
+                break;
+            }
+            currentTick = next;
+
+            for (int level = levels.length - 1; level > 0; level--){
+                int shift = bits * level;
+                if (levels[level] != null && counts[level] > 0
+                        && (currentTick & ((1L << shift) - 1)) == 0){
+                    cascade(levels[level][slot(currentTick, level)]);
+                }
+            }
+            if (levels[0] != null){
+                fired += fire(levels[0][slot(currentTick, 0)], expired);
+            }
+            fired += fire(due, expired);
+        }
+        return fired;
+    }
+
+    /**
+     * Returns the number of pending timers.
+     *
+     * @return The number of timers scheduled and not yet fired or cancelled.
+     */
+    public int size(){
+        return size;
+    }
+
+    /**
+     * Returns the time of the start of the current tick.
+     *
+     * @return The wheel's current time.
+     */
+    public long getTime(){
+        return currentTick * tickDuration;
+    }
+
+    /**
+     * Returns the length of one tick.
+     *
+     * @return The tick duration.
+     */
+    public long getTickDuration(){
+        return tickDuration;
+    }
+
+    /**
+     * Returns the number of slots per level.
+     *
+     * @return The wheel size.
+     */
+    public int getWheelSize(){
+        return wheelSize;
+    }
+
+    /**
+     * Puts a timer into the due list if it has expired, and otherwise into the lowest
+     * level on which its expiration and the current tick differ.
+     */
+    private void place(Timer timer){
+        if (timer.expiration <= currentTick){
+            add(timer, due, DUE);
+            return;
+        }
+        int highBit = 63 - Long.numberOfLeadingZeros(timer.expiration ^ currentTick);
+        int level = highBit / bits;
+        if (levels[level] == null){
+            CDLL[] slots = new CDLL[wheelSize];
+            for (int i = 0; i < wheelSize; i++){
+                slots[i] = new CDLL();
+            }
+            levels[level] = slots;
+        }
+        add(timer, levels[level][slot(timer.expiration, level)], level);
+    }
+
+    private int slot(long tick, int level){
+        return (int) ((tick >> (bits * level)) & (wheelSize - 1));
+    }
+
+    private void add(Timer timer, CDLL bucket, int level){
+        bucket.InsertTail(timer);
+        timer.bucket = bucket;
+        timer.level = level;
+        if (level != DUE){
+            counts[level]++;
+        }
+    }
+
+    private void remove(Timer timer){
+        timer.bucket.unlink(timer);
+        timer.bucket = null;
+        if (timer.level != DUE){
+            counts[timer.level]--;
+        }
+    }
+
+    /**
+     * Moves every timer of a higher-level slot down relative to the current tick.
+     */
+    private void cascade(CDLL bucket){
+        while (bucket.head != null){
+            Timer timer = (Timer) bucket.head;
+            remove(timer);
+            place(timer);
+        }
+    }
+
+    /**
+     * Removes every timer of a slot and runs the action for it. Each timer is unlinked
+     * before the action runs, so the action can safely change the wheel.
+     */
+    private int fire(CDLL bucket, IntConsumer expired){
+        int fired = 0;
+        while (bucket.head != null){
+            Timer timer = (Timer) bucket.head;
+            remove(timer);
+            size--;
+            fired++;
+            expired.accept(timer.getData());
+        }
+        return fired;
+    }
+
+    /**
+     * Returns an estimate of the heap used by the wheel, its bucket lists, the arrays
+     * holding them and the pending timers.
+     * Time Complexity: O(levels).
+     *
+     * @return The estimated number of bytes.
+     */
+    @Override
+    public long memoryFootprint(){
+        long bucket = MemoryLayout.shallowSizeOf(CDLL.class);
+        long bytes = MemoryLayout.shallowSizeOf(getClass()) + MemoryLayout.sizeOf(levels)
+                + MemoryLayout.sizeOf(counts) + bucket;
+        for (CDLL[] level : levels){
+            if (level != null){
+                bytes += MemoryLayout.sizeOf(level);
+                for (CDLL list : level){
+                    if (list != null){
+                        bytes += bucket;
+                    }
+                }
+            }
+        }
+        return bytes + (long) size * MemoryLayout.shallowSizeOf(Timer.class);
+    }
+
+    public static void main(String[] args) {
+        System.out.println("\nTimingWheel Tests");
+
+        // Ticks of 10 time units, 8 slots per level, starting at time 0
+        TimingWheel wheel = new TimingWheel(10, 8, 0);
+        wheel.schedule(1, 25);
+        wheel.schedule(2, 70);
+        DNode third = wheel.schedule(3, 300);
+        wheel.schedule(4, 5000);
+        System.out.println("Pending timers: " + wheel.size()); //should output: 4
+
+        System.out.print("Fired by time 100: ");
+        wheel.advance(100, id -> System.out.print(id + " "));
+        System.out.println(); //should output: 1 2
+
+        // Cancel a timer before it fires
+        System.out.println("Cancelled timer 3: " + wheel.cancel(third)); //should output: true
+        System.out.print("Fired by time 10000: ");
+        wheel.advance(10000, id -> System.out.print(id + " "));
+        System.out.println(); //should output: 4
+        System.out.println("Pending timers: " + wheel.size() + "\n"); //should output: 0
+    }
+}
@@ -0,0 +1,137 @@
+package main.java.mylib.datastructures.metrics;
+
+import java.util.Arrays;
+
+/**
+ * Histogram records non-negative long values, such as latencies in nanoseconds, in a
+ * fixed set of buckets, in the manner of HdrHistogram. Values below 16 get a bucket
+ * each. Every range from 2^k to 2^(k+1) above that is split into 16 equal buckets, so
+ * a percentile is reported within 1/16 of the recorded value while the whole long
+ * range fits in 960 counts.
+ *
+ * Recording is O(1) and allocation-free. The histogram is not thread-safe; readers on
+ * other threads, such as JMX, may see slightly stale counts.
+ *
+ * @author Eeman Abid
+ *         <a href="mailto:eeman.abid@ucalgary.ca">eeman.abid@ucalgary.ca</a>
+ * @author Hareem Khan
+ *         <a href="mailto:hareem.khan@ucalgary.ca">hareem.khan@ucalgary.ca</a>
+ */
+
+public class Histogram {
+    private static final int SUB_BITS = 4;
+    private static final int SUB_COUNT = 1 << SUB_BITS;
+    private static final int BUCKETS = SUB_COUNT + (63 - SUB_BITS) * SUB_COUNT;
+
+    private final long[] counts = new long[BUCKETS];
+    private long count;
+    private long sum;
+    private long max;
+
+    /**
+     * Records a value. Negative values are recorded as 0.
+     *
+     * @param value The value to record.
+     */
+    public void record(long value){
+        if (value < 0){
+            value = 0;
+        }
+        counts[bucketOf(value)]++;
+        count++;
+        sum += value;
+        if (value > max){
+            max = value;
+        }
+    }
+
+    /**
+     * Returns the number of recorded values.
+     *
+     * @return The number of values.
+     */
+    public long getCount(){
+        return count;
+    }
+
+    /**
+     * Returns the largest recorded value.
+     *
+     * @return The largest value, or 0 if none was recorded.
+     */
+    public long getMax(){
+        return max;
+    }
+
+    /**
+     * Returns the mean of the recorded values.
+     *
+     * @return The mean, or 0 if none was recorded.
+     */
+    public double getMean(){
+        return count == 0 ? 0 : (double) sum / count;
+    }
+
+    /**
+     * Returns a value that the given percentage of the recorded values do not exceed.
+     * The result is the top of the bucket holding that value, and never more than the
+     * largest recorded value.
+     *
+     * @param percentile The percentile, from 0 to 100.
+     * @return The value at the percentile, or 0 if none was recorded.
+     * @throws IllegalArgumentException if percentile is not between 0 and 100.
+     */
+    public long getValueAtPercentile(double percentile){
+        if (!(percentile >= 0 && percentile <= 100)){
+            throw new IllegalArgumentException("percentile must be between 0 and 100");
+        }
+        if (count == 0){
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100 * count));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++){
+            seen += counts[i];
+            if (seen >= rank){
+                return Math.min(highestValueIn(i), max);
+            }
+        }
+        return max;
+    }
+
+    /**
+     * Removes all recorded values.
+     */
+    public void reset(){
+        Arrays.fill(counts, 0);
+        count = 0;
+        sum = 0;
+        max = 0;
+    }
+
+    private static int bucketOf(long value){
+        if (value < SUB_COUNT){
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int shift = exponent - SUB_BITS;
+        int sub = (int) (value >>> shift) - SUB_COUNT;
+        return SUB_COUNT + shift * SUB_COUNT + sub;
+    }
+
+    private static long highestValueIn(int bucket){
+        if (bucket < SUB_COUNT){
+            return bucket;
+        }
+        int shift = (bucket - SUB_COUNT) / SUB_COUNT;
+        long sub = (bucket - SUB_COUNT) % SUB_COUNT;
+        long low = (SUB_COUNT + sub) << shift;
+        return low + (1L << shift) - 1;
+    }
+
+    @Override
+    public String toString(){
+        return "Histogram[count=" + count + ", mean=" + getMean() + ", p50=" + getValueAtPercentile(50)
+                + ", p99=" + getValueAtPercentile(99) + ", max=" + max + "]";
+    }
+}
@@ -0,0 +1,25 @@
+package main.java.mylib.datastructures.metrics;
+
+/**
+ * Instrumented is implemented by the data structures of the library that can report
+ * how much heap they use. The estimate comes from MemoryLayout, so it follows the
+ * object header, reference size and alignment of the running JVM.
+ *
+ * @author Eeman Abid
+ *         <a href="mailto:eeman.abid@ucalgary.ca">eeman.abid@ucalgary.ca</a>
+ * @author Hareem Khan
+ *         <a href="mailto:hareem.khan@ucalgary.ca">hareem.khan@ucalgary.ca</a>
+ */
+
+public interface Instrumented {
+
+    /**
+     * Returns an estimate of the heap used by the structure: the structure object, its
+     * nodes and the arrays it owns. Objects that can be shared with other structures,
+     * such as node pools, logs and the values of PersistentAVL versions, are described
+     * by each implementation.
+     *
+     * @return The estimated number of bytes.
+     */
+    long memoryFootprint();
+}
@@ -0,0 +1,177 @@
+package main.java.mylib.datastructures.metrics;
+
+import com.sun.management.HotSpotDiagnosticMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+
+/**
+ * MemoryLayout estimates the size of objects and arrays on the heap of the running
+ * JVM. On a 64-bit HotSpot JVM with compressed oops, the default below 32 GB of heap,
+ * a reference takes 4 bytes, an object header 12 and an array header 16; without them
+ * a reference takes 8 bytes, an object header 16 and an array header 24. Every object
+ * is padded to the object alignment, 8 bytes by default.
+ *
+ * The settings are read from the HotSpot diagnostic bean when it is available, and
+ * otherwise guessed from the data model and the maximum heap size. The size of a class
+ * is the header plus its instance fields and those of its superclasses, rounded up to
+ * the alignment; the gaps the JVM may leave between superclass and subclass fields are
+ * not counted, so the result can be a few bytes low. Class sizes are cached.
+ *
+ * @author Eeman Abid
+ *         <a href="mailto:eeman.abid@ucalgary.ca">eeman.abid@ucalgary.ca</a>
+ * @author Hareem Khan
+ *         <a href="mailto:hareem.khan@ucalgary.ca">hareem.khan@ucalgary.ca</a>
+ */
+
+public final class MemoryLayout {
+    /**
+     * The size of a reference in bytes.
+     */
+    public static final int REFERENCE_SIZE;
+
+    /**
+     * The size of an object header in bytes.
+     */
+    public static final int OBJECT_HEADER_SIZE;
+
+    /**
+     * The size of an array header, including the length, in bytes.
+     */
+    public static final int ARRAY_HEADER_SIZE;
+
+    /**
+     * The alignment every object size is rounded up to.
+     */
+    public static final int OBJECT_ALIGNMENT;
+
+    private static final ClassValue<Long> SHALLOW_SIZES = new ClassValue<Long>() {
+        @Override
+        protected Long computeValue(Class<?> type) {
+            long fields = 0;
+            for (Class<?> c = type; c != null; c = c.getSuperclass()) {
+                for (Field field : c.getDeclaredFields()) {
+                    if (!Modifier.isStatic(field.getModifiers())) {
+                        fields += fieldSize(field.getType());
+                    }
+                }
+            }
+            return align(OBJECT_HEADER_SIZE + fields);
+        }
+    };
+
+    static {
+        boolean is64Bit = !"32".equals(System.getProperty("sun.arch.data.model"));
+        long maxHeap = Runtime.getRuntime().maxMemory();
+        boolean compressedOops = is64Bit && maxHeap < 32L * 1024 * 1024 * 1024;
+        boolean compressedClassPointers = compressedOops;
+        int alignment = 8;
+        try {
+            HotSpotDiagnosticMXBean bean = ManagementFactory.getPlatformMXBean(HotSpotDiagnosticMXBean.class);
+            if (bean != null) {
+                compressedOops = Boolean.parseBoolean(bean.getVMOption("UseCompressedOops").getValue());
+                compressedClassPointers = Boolean.parseBoolean(bean.getVMOption("UseCompressedClassPointers").getValue());
+                alignment = Integer.parseInt(bean.getVMOption("ObjectAlignmentInBytes").getValue());
+            }
+        } catch (RuntimeException | LinkageError e) {
+            // Not a HotSpot JVM, or an option is missing: keep the guesses
+        }
+        if (!is64Bit) {
+            REFERENCE_SIZE = 4;
+            OBJECT_HEADER_SIZE = 8;
+            ARRAY_HEADER_SIZE = 12;
+        }
+        else {
+            REFERENCE_SIZE = compressedOops ? 4 : 8;
+            OBJECT_HEADER_SIZE = compressedClassPointers ? 12 : 16;
+            ARRAY_HEADER_SIZE = (int) alignUp(OBJECT_HEADER_SIZE + 4, REFERENCE_SIZE);
+        }
+        OBJECT_ALIGNMENT = alignment;
+    }
+
+    private MemoryLayout() {
+    }
+
+    /**
+     * Rounds a size up to the object alignment.
+     *
+     * @param size The size in bytes.
+     * @return The aligned size.
+     */
+    public static long align(long size) {
+        return alignUp(size, OBJECT_ALIGNMENT);
+    }
+
+    /**
+     * Returns the size of one object of the given class, without the objects its fields
+     * refer to.
+     *
+     * @param type The class of the object.
+     * @return The estimated size in bytes.
+     */
+    public static long shallowSizeOf(Class<?> type) {
+        return SHALLOW_SIZES.get(type);
+    }
+
+    /**
+     * Returns the size of an array of the given length and element type, without the
+     * objects it refers to.
+     *
+     * @param componentType The element type, for example int.class or Object.class.
+     * @param length The length of the array.
+     * @return The estimated size in bytes.
+     */
+    public static long arraySize(Class<?> componentType, int length) {
+        return align(ARRAY_HEADER_SIZE + (long) length * fieldSize(componentType));
+    }
+
+    /**
+     * Returns the size of an int array, or 0 for null.
+     *
+     * @param array The array.
+     * @return The estimated size in bytes.
+     */
+    public static long sizeOf(int[] array) {
+        return array == null ? 0 : arraySize(int.class, array.length);
+    }
+
+    /**
+     * Returns the size of a long array, or 0 for null.
+     *
+     * @param array The array.
+     * @return The estimated size in bytes.
+     */
+    public static long sizeOf(long[] array) {
+        return array == null ? 0 : arraySize(long.class, array.length);
+    }
+
+    /**
+     * Returns the size of a reference array, without its elements, or 0 for null.
+     *
+     * @param array The array.
+     * @return The estimated size in bytes.
+     */
+    public static long sizeOf(Object[] array) {
+        return array == null ? 0 : arraySize(Object.class, array.length);
+    }
+
+    private static int fieldSize(Class<?> type) {
+        if (!type.isPrimitive()) {
+            return REFERENCE_SIZE;
+        }
+        if (type == long.class || type == double.class) {
+            return 8;
+        }
+        if (type == int.class || type == float.class) {
+            return 4;
+        }
+        if (type == short.class || type == char.class) {
+            return 2;
+        }
+        return 1;
+    }
+
+    private static long alignUp(long size, int alignment) {
+        return (size + alignment - 1) / alignment * alignment;
+    }
+}
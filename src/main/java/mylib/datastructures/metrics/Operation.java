@@ -0,0 +1,21 @@
+package main.java.mylib.datastructures.metrics;
+
+/**
+ * Operation lists the operations that OperationMetrics counts and times.
+ *
+ * @author Eeman Abid
+ *         <a href="mailto:eeman.abid@ucalgary.ca">eeman.abid@ucalgary.ca</a>
+ * @author Hareem Khan
+ *         <a href="mailto:hareem.khan@ucalgary.ca">hareem.khan@ucalgary.ca</a>
+ */
+
+public enum Operation {
+    INSERT,
+    SORTED_INSERT,
+    SEARCH,
+    DELETE,
+    PUSH,
+    POP,
+    ENQUEUE,
+    DEQUEUE
+}
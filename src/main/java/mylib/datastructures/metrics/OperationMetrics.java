@@ -0,0 +1,237 @@
+package main.java.mylib.datastructures.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToLongFunction;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * OperationMetrics collects, for each Operation, the number of calls, the number of
+ * nodes each call visited and a histogram of the call latencies. A structure records
+ * into it once it is attached with setMetrics; a structure without metrics only pays
+ * a null check per operation. The mean and largest number of nodes visited show at
+ * once when a tree or sorted list has degenerated into a long chain.
+ *
+ * One OperationMetrics can be shared by several structures of the same thread to get
+ * combined figures. It is not thread-safe; readers on other threads, such as JMX, may
+ * see slightly stale values. register publishes the metrics as an MXBean under
+ * main.java.mylib.datastructures:type=&lt;type&gt;,name=&lt;name&gt;.
+ *
+ * @author Eeman Abid
+ *         <a href="mailto:eeman.abid@ucalgary.ca">eeman.abid@ucalgary.ca</a>
+ * @author Hareem Khan
+ *         <a href="mailto:hareem.khan@ucalgary.ca">hareem.khan@ucalgary.ca</a>
+ */
+
+public class OperationMetrics implements OperationMetricsMXBean {
+    private static final Operation[] OPERATIONS = Operation.values();
+
+    private final long[] counts = new long[OPERATIONS.length];
+    private final long[] visited = new long[OPERATIONS.length];
+    private final long[] maxVisited = new long[OPERATIONS.length];
+    private final Histogram[] latencies = new Histogram[OPERATIONS.length];
+    private ObjectName objectName;
+
+    /**
+     * Constructor for OperationMetrics class.
+     * Creates the latency histograms of all operations up front, so the getters only
+     * read and can be called from other threads, such as JMX, at any time.
+     */
+    public OperationMetrics(){
+        for (int i = 0; i < OPERATIONS.length; i++){
+            latencies[i] = new Histogram();
+        }
+    }
+
+    /**
+     * Records one completed call.
+     *
+     * @param operation The operation.
+     * @param nodesVisited The number of nodes the call visited.
+     * @param startNanos The System.nanoTime() value taken when the call started.
+     */
+    public void record(Operation operation, int nodesVisited, long startNanos){
+        long elapsed = System.nanoTime() - startNanos;
+        int i = operation.ordinal();
+        counts[i]++;
+        visited[i] += nodesVisited;
+        if (nodesVisited > maxVisited[i]){
+            maxVisited[i] = nodesVisited;
+        }
+        latencies[i].record(elapsed);
+    }
+
+    /**
+     * Returns the number of recorded calls of an operation.
+     *
+     * @param operation The operation.
+     * @return The number of calls.
+     */
+    public long getCount(Operation operation){
+        return counts[operation.ordinal()];
+    }
+
+    /**
+     * Returns the total number of nodes visited by the calls of an operation.
+     *
+     * @param operation The operation.
+     * @return The number of nodes visited.
+     */
+    public long getNodesVisited(Operation operation){
+        return visited[operation.ordinal()];
+    }
+
+    /**
+     * Returns the mean number of nodes visited per call of an operation.
+     *
+     * @param operation The operation.
+     * @return The mean, or 0 if the operation was not called.
+     */
+    public double getMeanNodesVisited(Operation operation){
+        long count = getCount(operation);
+        return count == 0 ? 0 : (double) getNodesVisited(operation) / count;
+    }
+
+    /**
+     * Returns the largest number of nodes visited by a single call of an operation.
+     *
+     * @param operation The operation.
+     * @return The largest number of nodes visited.
+     */
+    public long getMaxNodesVisited(Operation operation){
+        return maxVisited[operation.ordinal()];
+    }
+
+    /**
+     * Returns the latency histogram of an operation, in nanoseconds.
+     *
+     * @param operation The operation.
+     * @return The histogram, empty if the operation was not called.
+     */
+    public Histogram getLatency(Operation operation){
+        return latencies[operation.ordinal()];
+    }
+
+    @Override
+    public Map<String, Long> getCounts(){
+        return toLongMap(this::getCount);
+    }
+
+    @Override
+    public Map<String, Long> getNodesVisited(){
+        return toLongMap(this::getNodesVisited);
+    }
+
+    @Override
+    public Map<String, Double> getMeanNodesVisited(){
+        return toDoubleMap(this::getMeanNodesVisited);
+    }
+
+    @Override
+    public Map<String, Long> getMaxNodesVisited(){
+        return toLongMap(this::getMaxNodesVisited);
+    }
+
+    @Override
+    public Map<String, Long> getMedianLatencyNanos(){
+        return toLongMap(operation -> getLatency(operation).getValueAtPercentile(50));
+    }
+
+    @Override
+    public Map<String, Long> getP99LatencyNanos(){
+        return toLongMap(operation -> getLatency(operation).getValueAtPercentile(99));
+    }
+
+    @Override
+    public Map<String, Long> getMaxLatencyNanos(){
+        return toLongMap(operation -> getLatency(operation).getMax());
+    }
+
+    /**
+     * Clears all counts and histograms.
+     */
+    @Override
+    public void reset(){
+        for (int i = 0; i < OPERATIONS.length; i++){
+            counts[i] = 0;
+            visited[i] = 0;
+            maxVisited[i] = 0;
+            latencies[i].reset();
+        }
+    }
+
+    /**
+     * Registers the metrics with the platform MBean server, replacing any earlier
+     * registration of the same metrics.
+     *
+     * @param type The kind of structure, for example "DLL".
+     * @param name A name telling the structure apart from others of its type.
+     * @return The name the MXBean was registered under.
+     * @throws JMException if the name is invalid or already taken by another bean.
+     */
+    public ObjectName register(String type, String name) throws JMException {
+        unregister();
+        ObjectName objectName = new ObjectName("main.java.mylib.datastructures:type="
+                + ObjectName.quote(type) + ",name=" + ObjectName.quote(name));
+        ManagementFactory.getPlatformMBeanServer().registerMBean(this, objectName);
+        this.objectName = objectName;
+        return objectName;
+    }
+
+    /**
+     * Removes the registration made by register, if any.
+     *
+     * @throws JMException if the bean could not be unregistered.
+     */
+    public void unregister() throws JMException {
+        if (objectName == null){
+            return;
+        }
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        if (server.isRegistered(objectName)){
+            server.unregisterMBean(objectName);
+        }
+        objectName = null;
+    }
+
+    private Map<String, Long> toLongMap(ToLongFunction<Operation> value){
+        Map<String, Long> map = new LinkedHashMap<>();
+        for (Operation operation : OPERATIONS){
+            if (getCount(operation) > 0){
+                map.put(operation.name(), value.applyAsLong(operation));
+            }
+        }
+        return map;
+    }
+
+    private Map<String, Double> toDoubleMap(ToDoubleFunction<Operation> value){
+        Map<String, Double> map = new LinkedHashMap<>();
+        for (Operation operation : OPERATIONS){
+            if (getCount(operation) > 0){
+                map.put(operation.name(), value.applyAsDouble(operation));
+            }
+        }
+        return map;
+    }
+
+    @Override
+    public String toString(){
+        StringBuilder text = new StringBuilder("OperationMetrics[");
+        String separator = "";
+        for (Operation operation : OPERATIONS){
+            long count = getCount(operation);
+            if (count > 0){
+                text.append(separator).append(operation).append(": count=").append(count)
+                        .append(", meanVisited=").append(getMeanNodesVisited(operation))
+                        .append(", maxVisited=").append(getMaxNodesVisited(operation))
+                        .append(", p99Nanos=").append(getLatency(operation).getValueAtPercentile(99));
+                separator = "; ";
+            }
+        }
+        return text.append("]").toString();
+    }
+}
@@ -0,0 +1,32 @@
+package main.java.mylib.datastructures.metrics;
+
+import java.util.Map;
+
+/**
+ * OperationMetricsMXBean is the JMX view of an OperationMetrics. Every attribute maps
+ * the name of each operation that has been recorded at least once to its value.
+ *
+ * @author Eeman Abid
+ *         <a href="mailto:eeman.abid@ucalgary.ca">eeman.abid@ucalgary.ca</a>
+ * @author Hareem Khan
+ *         <a href="mailto:hareem.khan@ucalgary.ca">hareem.khan@ucalgary.ca</a>
+ */
+
+public interface OperationMetricsMXBean {
+
+    Map<String, Long> getCounts();
+
+    Map<String, Long> getNodesVisited();
+
+    Map<String, Double> getMeanNodesVisited();
+
+    Map<String, Long> getMaxNodesVisited();
+
+    Map<String, Long> getMedianLatencyNanos();
+
+    Map<String, Long> getP99LatencyNanos();
+
+    Map<String, Long> getMaxLatencyNanos();
+
+    void reset();
+}
@@ -0,0 +1,179 @@
+package main.java.mylib.datastructures.nodes;
+
+import main.java.mylib.datastructures.metrics.Instrumented;
+import main.java.mylib.datastructures.metrics.MemoryLayout;
+
+/**
+ * DNodePool class keeps a bounded stack of unused DNode objects so that lists can reuse
+ * nodes instead of allocating a new one for every insertion and dropping it to the
+ * garbage collector on every removal. A list uses a pool once it is attached with
+ * SLL.setNodePool; its value-based insertions then take nodes from the pool and the
+ * removals that discard nodes give them back.
+ *
+ * A pool is not thread-safe. Attach one pool per structure, or share the pool returned
+ * by threadLocal() between structures used only by the current thread. Once a node is
+ * released it will be handed out again, so a caller must not keep using a node after
+ * removing it from a list that has a pool.
+ *
+ * The pool counts hits (a pooled node was reused), misses (a new node was allocated),
+ * releases and drops (a node was released while the pool was full).
+ *
+ * @author Eeman Abid
+ *         <a href="mailto:eeman.abid@ucalgary.ca">eeman.abid@ucalgary.ca</a>
+ * @author Hareem Khan
+ *         <a href="mailto:hareem.khan@ucalgary.ca">hareem.khan@ucalgary.ca</a>
+ */
+
+public class DNodePool implements Instrumented {
+    public static final int DEFAULT_CAPACITY = 1024;
+
+    private static final ThreadLocal<DNodePool> THREAD_POOL =
+            ThreadLocal.withInitial(() -> new DNodePool(DEFAULT_CAPACITY));
+
+    private final DNode[] free;
+    private int count;
+    private long hits;
+    private long misses;
+    private long released;
+    private long dropped;
+
+    /**
+     * Constructor for DNodePool class.
+     *
+     * @param capacity The largest number of unused nodes kept.
+     * @throws IllegalArgumentException if capacity is negative.
+     */
+    public DNodePool(int capacity){
+        if (capacity < 0){
+            throw new IllegalArgumentException("capacity must not be negative");
+        }
+        this.free = new DNode[capacity];
+    }
+
+    /**
+     * Returns the pool of the current thread, created with DEFAULT_CAPACITY on first use.
+     *
+     * @return The current thread's pool.
+     */
+    public static DNodePool threadLocal(){
+        return THREAD_POOL.get();
+    }
+
+    /**
+     * Returns a node holding the given value and no links, reusing a pooled node if
+     * there is one.
+     *
+     * @param data The value for the node.
+     * @return A node ready to be inserted.
+     */
+    public DNode acquire(int data){
+        if (count == 0){
+            misses++;
+            return new DNode(data);
+        }
+        hits++;
+        DNode node = free[--count];
+        free[count] = null;
+        node.setData(data);
+        return node;
+    }
+
+    /**
+     * Gives a node back to the pool. Its links are cleared so it does not keep other
+     * nodes reachable. The node is dropped if the pool is full.
+     *
+     * @param node The node, no longer in any structure.
+     */
+    public void release(DNode node){
+        node.setNext(null);
+        node.setPrevious(null);
+        released++;
+        if (count == free.length){
+            dropped++;
+            return;
+        }
+        free[count++] = node;
+    }
+
+    /**
+     * Returns the number of unused nodes in the pool.
+     *
+     * @return The number of pooled nodes.
+     */
+    public int size(){
+        return count;
+    }
+
+    /**
+     * Returns the largest number of unused nodes the pool keeps.
+     *
+     * @return The capacity.
+     */
+    public int getCapacity(){
+        return free.length;
+    }
+
+    /**
+     * Returns the number of acquire calls that reused a pooled node.
+     *
+     * @return The number of hits.
+     */
+    public long getHits(){
+        return hits;
+    }
+
+    /**
+     * Returns the number of acquire calls that allocated a new node.
+     *
+     * @return The number of misses.
+     */
+    public long getMisses(){
+        return misses;
+    }
+
+    /**
+     * Returns the number of nodes given back with release.
+     *
+     * @return The number of released nodes.
+     */
+    public long getReleased(){
+        return released;
+    }
+
+    /**
+     * Returns the number of released nodes that were dropped because the pool was full.
+     *
+     * @return The number of dropped nodes.
+     */
+    public long getDropped(){
+        return dropped;
+    }
+
+    /**
+     * Resets the hit, miss, release and drop counts to 0.
+     */
+    public void resetStatistics(){
+        hits = 0;
+        misses = 0;
+        released = 0;
+        dropped = 0;
+    }
+
+    /**
+     * Returns an estimate of the heap used by the pool, its array and the pooled nodes.
+     * Time Complexity: O(1).
+     *
+     * @return The estimated number of bytes.
+     */
+    @Override
+    public long memoryFootprint(){
+        return MemoryLayout.shallowSizeOf(getClass()) + MemoryLayout.sizeOf(free)
+                + (long) count * MemoryLayout.shallowSizeOf(DNode.class);
+    }
+
+    @Override
+    public String toString(){
+        return "DNodePool[size=" + count + ", capacity=" + free.length + ", hits=" + hits
+                + ", misses=" + misses + ", released=" + released + ", dropped=" + dropped + "]";
+    }
+}
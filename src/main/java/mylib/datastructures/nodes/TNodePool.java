@@ -0,0 +1,175 @@
+package main.java.mylib.datastructures.nodes;
+
+import main.java.mylib.datastructures.metrics.Instrumented;
+import main.java.mylib.datastructures.metrics.MemoryLayout;
+
+/**
+ * TNodePool class keeps a bounded stack of unused TNode objects so that trees can reuse
+ * nodes instead of allocating one for every Insert(int) and dropping it on every
+ * deletion. A tree uses a pool once it is attached with BST.setNodePool.
+ *
+ * As with DNodePool, a pool is not thread-safe: attach one per structure or use the pool
+ * returned by threadLocal(), and do not keep using a node after deleting its value from
+ * a tree that has a pool. The pool counts hits, misses, releases and drops.
+ *
+ * @author Eeman Abid
+ *         <a href="mailto:eeman.abid@ucalgary.ca">eeman.abid@ucalgary.ca</a>
+ * @author Hareem Khan
+ *         <a href="mailto:hareem.khan@ucalgary.ca">hareem.khan@ucalgary.ca</a>
+ */
+
+public class TNodePool implements Instrumented {
+    public static final int DEFAULT_CAPACITY = 1024;
+
+    private static final ThreadLocal<TNodePool> THREAD_POOL =
+            ThreadLocal.withInitial(() -> new TNodePool(DEFAULT_CAPACITY));
+
+    private final TNode[] free;
+    private int count;
+    private long hits;
+    private long misses;
+    private long released;
+    private long dropped;
+
+    /**
+     * Constructor for TNodePool class.
+     *
+     * @param capacity The largest number of unused nodes kept.
+     * @throws IllegalArgumentException if capacity is negative.
+     */
+    public TNodePool(int capacity){
+        if (capacity < 0){
+            throw new IllegalArgumentException("capacity must not be negative");
+        }
+        this.free = new TNode[capacity];
+    }
+
+    /**
+     * Returns the pool of the current thread, created with DEFAULT_CAPACITY on first use.
+     *
+     * @return The current thread's pool.
+     */
+    public static TNodePool threadLocal(){
+        return THREAD_POOL.get();
+    }
+
+    /**
+     * Returns a node holding the given value, a balance of 0 and no links, reusing a
+     * pooled node if there is one.
+     *
+     * @param data The value for the node.
+     * @return A node ready to be inserted.
+     */
+    public TNode acquire(int data){
+        if (count == 0){
+            misses++;
+            return new TNode(data, 0, null, null, null);
+        }
+        hits++;
+        TNode node = free[--count];
+        free[count] = null;
+        node.setData(data);
+        return node;
+    }
+
+    /**
+     * Gives a node back to the pool. Its links and balance are cleared. The node is
+     * dropped if the pool is full.
+     *
+     * @param node The node, no longer in any structure.
+     */
+    public void release(TNode node){
+        node.setParent(null);
+        node.setLeft(null);
+        node.setRight(null);
+        node.setBalance(0);
+        released++;
+        if (count == free.length){
+            dropped++;
+            return;
+        }
+        free[count++] = node;
+    }
+
+    /**
+     * Returns the number of unused nodes in the pool.
+     *
+     * @return The number of pooled nodes.
+     */
+    public int size(){
+        return count;
+    }
+
+    /**
+     * Returns the largest number of unused nodes the pool keeps.
+     *
+     * @return The capacity.
+     */
+    public int getCapacity(){
+        return free.length;
+    }
+
+    /**
+     * Returns the number of acquire calls that reused a pooled node.
+     *
+     * @return The number of hits.
+     */
+    public long getHits(){
+        return hits;
+    }
+
+    /**
+     * Returns the number of acquire calls that allocated a new node.
+     *
+     * @return The number of misses.
+     */
+    public long getMisses(){
+        return misses;
+    }
+
+    /**
+     * Returns the number of nodes given back with release.
+     *
+     * @return The number of released nodes.
+     */
+    public long getReleased(){
+        return released;
+    }
+
+    /**
+     * Returns the number of released nodes that were dropped because the pool was full.
+     *
+     * @return The number of dropped nodes.
+     */
+    public long getDropped(){
+        return dropped;
+    }
+
+    /**
+     * Resets the hit, miss, release and drop counts to 0.
+     */
+    public void resetStatistics(){
+        hits = 0;
+        misses = 0;
+        released = 0;
+        dropped = 0;
+    }
+
+    /**
+     * Returns an estimate of the heap used by the pool, its array and the pooled nodes.
+     * Time Complexity: O(1).
+     *
+     * @return The estimated number of bytes.
+     */
+    @Override
+    public long memoryFootprint(){
+        return MemoryLayout.shallowSizeOf(getClass()) + MemoryLayout.sizeOf(free)
+                + (long) count * MemoryLayout.shallowSizeOf(TNode.class);
+    }
+
+    @Override
+    public String toString(){
+        return "TNodePool[size=" + count + ", capacity=" + free.length + ", hits=" + hits
+                + ", misses=" + misses + ", released=" + released + ", dropped=" + dropped + "]";
+    }
+}
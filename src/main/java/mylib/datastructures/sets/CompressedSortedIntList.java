@@ -0,0 +1,475 @@
+package main.java.mylib.datastructures.sets;
+
+import main.java.mylib.datastructures.linear.DLL;
+import main.java.mylib.datastructures.linear.SLL;
+import main.java.mylib.datastructures.metrics.Instrumented;
+import main.java.mylib.datastructures.metrics.MemoryLayout;
+import main.java.mylib.datastructures.trees.BST;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.function.IntConsumer;
+
+/**
+ * CompressedSortedIntList class represents a set of int values kept as a list in
+ * ascending order, stored compactly for long sorted sequences such as timestamps and
+ * ids. Where a DLL spends a 24-byte node on every value, this list stores the gap to
+ * the previous value in variable-byte form: 7 bits per byte, with the high bit set on
+ * every byte but the last, so gaps below 128 take one byte and any gap takes at most
+ * five.
+ *
+ * The values are split into blocks of BLOCK_SIZE. Each block keeps its first value and
+ * the offset of its gaps in two int arrays, which serve as skip pointers: contains and
+ * rank binary search the first values and decode a single block, and intersection
+ * jumps over whole blocks that cannot hold a match. Values can only be appended, each
+ * greater than the one before, so every value is stored once. The of factories take
+ * any sorted source and keep one copy of a value that repeats.
+ *
+ * @author Eeman Abid
+ *         <a href="mailto:eeman.abid@ucalgary.ca">eeman.abid@ucalgary.ca</a>
+ * @author Hareem Khan
+ *         <a href="mailto:hareem.khan@ucalgary.ca">hareem.khan@ucalgary.ca</a>
+ */
+
+public class CompressedSortedIntList implements Instrumented {
+    /**
+     * Number of values per block.
+     */
+    public static final int BLOCK_SIZE = 128;
+
+    private static final int INITIAL_BLOCKS = 4;
+
+    private byte[] data;
+    private int dataLength;
+    private int[] blockFirst;
+    private int[] blockOffset;
+    private int size;
+    private int last;
+
+    /**
+     * Default constructor for CompressedSortedIntList class.
+     * Creates an empty list.
+     */
+    public CompressedSortedIntList(){
+        data = new byte[INITIAL_BLOCKS * BLOCK_SIZE];
+        blockFirst = new int[INITIAL_BLOCKS];
+        blockOffset = new int[INITIAL_BLOCKS];
+    }
+
+    /**
+     * Creates a list of the given values. A value that repeats is stored once.
+     *
+     * @param values The values, in ascending order.
+     * @return A new list.
+     * @throws IllegalArgumentException if the values are not in ascending order.
+     */
+    public static CompressedSortedIntList of(int... values){
+        CompressedSortedIntList list = new CompressedSortedIntList();
+        for (int val : values){
+            list.appendDistinct(val);
+        }
+        list.trimToSize();
+        return list;
+    }
+
+    /**
+     * Creates a list of the values of a sorted linked list. Works for every list in
+     * the library. A value that repeats is stored once.
+     *
+     * @param list The list to take the values from, in ascending order.
+     * @return A new list.
+     * @throws IllegalArgumentException if the values are not in ascending order.
+     */
+    public static CompressedSortedIntList of(SLL list){
+        CompressedSortedIntList compressed = new CompressedSortedIntList();
+        list.forEach(compressed::appendDistinct);
+        compressed.trimToSize();
+        return compressed;
+    }
+
+    /**
+     * Creates a list of the values of a binary search tree, in order. Works for BST and
+     * all its subclasses. A value the tree holds more than once is stored once.
+     *
+     * @param tree The tree to take the values from.
+     * @return A new list.
+     */
+    public static CompressedSortedIntList of(BST tree){
+        CompressedSortedIntList compressed = new CompressedSortedIntList();
+        tree.forEachInOrder(compressed::appendDistinct);
+        compressed.trimToSize();
+        return compressed;
+    }
+
+    /**
+     * Appends a value to the end of the list.
+     * Time Complexity: O(1) amortized.
+     *
+     * @param val The value to append.
+     * @throws IllegalArgumentException if val is not greater than the last value.
+     */
+    public void append(int val){
+        if (size > 0 && val <= last){
+            throw new IllegalArgumentException("values must be appended in strictly ascending order");
+        }
+        if (size % BLOCK_SIZE == 0){
+            int block = size / BLOCK_SIZE;
+            if (block == blockFirst.length){
+                blockFirst = Arrays.copyOf(blockFirst, block * 2);
+                blockOffset = Arrays.copyOf(blockOffset, block * 2);
+            }
+            blockFirst[block] = val;
+            blockOffset[block] = dataLength;
+        }
+        else {
+            if (dataLength + 5 > data.length){
+                data = Arrays.copyOf(data, Math.max(data.length * 2, dataLength + 5));
+            }
+            // The gap fits in 32 bits when read as unsigned
+            int gap = val - last;
+            while ((gap & ~0x7F) != 0){
+                data[dataLength++] = (byte) ((gap & 0x7F) | 0x80);
+                gap >>>= 7;
+            }
+            data[dataLength++] = (byte) gap;
+        }
+        last = val;
+        size++;
+    }
+
+    /**
+     * Appends a value unless it equals the last one, for the factories.
+     */
+    private void appendDistinct(int val){
+        if (size == 0 || val != last){
+            append(val);
+        }
+    }
+
+    /**
+     * Checks if a value is in the list.
+     * Time Complexity: O(log(n / BLOCK_SIZE) + BLOCK_SIZE).
+     *
+     * @param val The value to look up.
+     * @return True if the value is in the list.
+     */
+    public boolean contains(int val){
+        int block = lastBlockAtMost(val, 0);
+        if (block < 0){
+            return false;
+        }
+        Cursor cursor = new Cursor(block);
+        while (cursor.value < val && cursor.next()){
+            // Decode until the value is reached or passed
+        }
+        return cursor.value == val;
+    }
+
+    /**
+     * Returns the number of values less than val, which is the position val has or
+     * would have in the list.
+     * Time Complexity: O(log(n / BLOCK_SIZE) + BLOCK_SIZE).
+     *
+     * @param val The value to compare with.
+     * @return The number of values less than val.
+     */
+    public int rank(int val){
+        int block = lastBlockBelow(val, 0);
+        if (block < 0){
+            return 0;
+        }
+        Cursor cursor = new Cursor(block);
+        int rank = block * BLOCK_SIZE;
+        while (cursor.value < val){
+            rank++;
+            if (!cursor.next()){
+                break;
+            }
+        }
+        return rank;
+    }
+
+    /**
+     * Returns the value at the given position.
+     * Time Complexity: O(BLOCK_SIZE).
+     *
+     * @param index The position, from 0.
+     * @return The value at that position.
+     * @throws IndexOutOfBoundsException if index is not less than size() or is negative.
+     */
+    public int get(int index){
+        if (index < 0 || index >= size){
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        Cursor cursor = new Cursor(index / BLOCK_SIZE);
+        for (int i = index % BLOCK_SIZE; i > 0; i--){
+            cursor.next();
+        }
+        return cursor.value;
+    }
+
+    /**
+     * Returns a new list of the values found in both lists. The lists are walked
+     * together, and whole blocks are skipped when their successor block still starts
+     * below the value the other list is at.
+     * Time Complexity: O(n + m) in the worst case, much less when the lists rarely meet.
+     *
+     * @param other The list to intersect with.
+     * @return A new list with the common values.
+     */
+    public CompressedSortedIntList intersect(CompressedSortedIntList other){
+        CompressedSortedIntList result = new CompressedSortedIntList();
+        if (size == 0 || other.size == 0){
+            return result;
+        }
+        Cursor a = new Cursor(0);
+        Cursor b = other.new Cursor(0);
+        while (true){
+            if (a.value < b.value){
+                if (!a.advanceTo(b.value)){
+                    break;
+                }
+            }
+            else if (a.value > b.value){
+                if (!b.advanceTo(a.value)){
+                    break;
+                }
+            }
+            else {
+                result.append(a.value);
+                if (!a.next() || !b.next()){
+                    break;
+                }
+            }
+        }
+        result.trimToSize();
+        return result;
+    }
+
+    /**
+     * Passes every value to the action in ascending order.
+     * Time Complexity: O(n).
+     *
+     * @param action The action to run for each value.
+     */
+    public void forEach(IntConsumer action){
+        if (size == 0){
+            return;
+        }
+        Cursor cursor = new Cursor(0);
+        do {
+            action.accept(cursor.value);
+        } while (cursor.next());
+    }
+
+    /**
+     * Returns an iterator over the values in ascending order.
+     *
+     * @return An iterator over the values.
+     */
+    public PrimitiveIterator.OfInt iterator(){
+        return new PrimitiveIterator.OfInt() {
+            private Cursor cursor;
+            private boolean hasNext = size > 0;
+
+            @Override
+            public boolean hasNext(){
+                return hasNext;
+            }
+
+            @Override
+            public int nextInt(){
+                if (!hasNext){
+                    throw new NoSuchElementException();
+                }
+                if (cursor == null){
+                    cursor = new Cursor(0);
+                }
+                int val = cursor.value;
+                hasNext = cursor.next();
+                return val;
+            }
+        };
+    }
+
+    /**
+     * Returns the values in an array, in ascending order.
+     *
+     * @return A new array of size() values.
+     */
+    public int[] toArray(){
+        int[] values = new int[size];
+        int[] i = new int[1];
+        forEach(val -> values[i[0]++] = val);
+        return values;
+    }
+
+    /**
+     * Returns the number of values in the list.
+     *
+     * @return The number of values.
+     */
+    public int size(){
+        return size;
+    }
+
+    /**
+     * Checks if the list is empty.
+     *
+     * @return True if the list holds no values.
+     */
+    public boolean isEmpty(){
+        return size == 0;
+    }
+
+    /**
+     * Shrinks the arrays of the list to the space its values use.
+     */
+    public void trimToSize(){
+        int blocks = Math.max((size + BLOCK_SIZE - 1) / BLOCK_SIZE, 1);
+        data = Arrays.copyOf(data, dataLength);
+        blockFirst = Arrays.copyOf(blockFirst, blocks);
+        blockOffset = Arrays.copyOf(blockOffset, blocks);
+    }
+
+    /**
+     * Returns an estimate of the heap used by the list and its arrays.
+     * Time Complexity: O(1).
+     *
+     * @return The estimated number of bytes.
+     */
+    @Override
+    public long memoryFootprint(){
+        return MemoryLayout.shallowSizeOf(getClass()) + MemoryLayout.arraySize(byte.class, data.length)
+                + MemoryLayout.sizeOf(blockFirst) + MemoryLayout.sizeOf(blockOffset);
+    }
+
+    @Override
+    public String toString(){
+        return "CompressedSortedIntList[size=" + size + ", blocks=" + (size + BLOCK_SIZE - 1) / BLOCK_SIZE
+                + ", bytes=" + dataLength + "]";
+    }
+
+    /**
+     * Returns the last block from the given one whose first value is at most val, or -1
+     * if there is none.
+     */
+    private int lastBlockAtMost(int val, int from){
+        int low = from;
+        int high = (size + BLOCK_SIZE - 1) / BLOCK_SIZE - 1;
+        int found = -1;
+        while (low <= high){
+            int mid = (low + high) >>> 1;
+            if (blockFirst[mid] <= val){
+                found = mid;
+                low = mid + 1;
+            }
+            else {
+                high = mid - 1;
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Returns the last block from the given one whose first value is less than val, or
+     * -1 if there is none. Every value before that block is less than val as well.
+     */
+    private int lastBlockBelow(int val, int from){
+        if (val == Integer.MIN_VALUE){
+            return -1;
+        }
+        return lastBlockAtMost(val - 1, from);
+    }
+
+    /**
+     * Position in the list that decodes the gaps of one block at a time.
+     */
+    private final class Cursor {
+        private int block;
+        private int indexInBlock;
+        private int offset;
+        private int value;
+
+        Cursor(int block){
+            moveTo(block);
+        }
+
+        private void moveTo(int block){
+            this.block = block;
+            this.indexInBlock = 0;
+            this.offset = blockOffset[block];
+            this.value = blockFirst[block];
+        }
+
+        /**
+         * Moves to the next value and returns false if there is none.
+         */
+        boolean next(){
+            int index = block * BLOCK_SIZE + indexInBlock + 1;
+            if (index >= size){
+                return false;
+            }
+            if (indexInBlock == BLOCK_SIZE - 1){
+                moveTo(block + 1);
+                return true;
+            }
+            int gap = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = data[offset++];
+                gap |= (b & 0x7F) << shift;
+                shift += 7;
+            } while (b < 0);
+            value += gap;
+            indexInBlock++;
+            return true;
+        }
+
+        /**
+         * Moves to the first value not less than target, skipping whole blocks when it
+         * can, and returns false if there is none.
+         */
+        boolean advanceTo(int target){
+            if (value >= target){
+                return true;
+            }
+            int skip = lastBlockBelow(target, block + 1);
+            if (skip > block){
+                moveTo(skip);
+            }
+            while (value < target){
+                if (!next()){
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    public static void main(String[] args) {
+        System.out.println("\nCompressedSortedIntList Tests");
+
+        // Timestamps a few milliseconds apart, as a sorted DLL would hold them
+        DLL timestamps = new DLL();
+        int time = 1_700_000;
+        for (int i = 0; i < 10000; i++) {
+            time += 1 + i % 7;
+            timestamps.insertTail(time);
+        }
+        CompressedSortedIntList list = CompressedSortedIntList.of(timestamps);
+        System.out.println(list); //should output: CompressedSortedIntList[size=10000, blocks=79, bytes=9921]
+        System.out.println("At least 10 times smaller: "
+                + (list.memoryFootprint() * 10 <= timestamps.memoryFootprint())); //should output: true
+
+        System.out.println("Contains 1700001: " + list.contains(1_700_001)); //should output: true
+        System.out.println("Contains 1700002: " + list.contains(1_700_002)); //should output: false
+        System.out.println("Rank of 1700003: " + list.rank(1_700_003)); //should output: 1
+
+        CompressedSortedIntList probes = CompressedSortedIntList.of(1_700_000, 1_700_001, 1_700_004, 1_700_010);
+        System.out.print("Intersection: ");
+        list.intersect(probes).forEach(val -> System.out.print(val + " "));
+        System.out.println("\n"); //should output: 1700001 1700010
+    }
+}
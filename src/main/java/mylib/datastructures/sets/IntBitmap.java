@@ -0,0 +1,901 @@
+package main.java.mylib.datastructures.sets;
+
+import main.java.mylib.datastructures.metrics.Instrumented;
+import main.java.mylib.datastructures.metrics.MemoryLayout;
+import main.java.mylib.datastructures.trees.BST;
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * IntBitmap class represents a set of int values as a compressed bitmap, in the style
+ * of Roaring bitmaps. The values are grouped by their high 16 bits into chunks of 65536,
+ * and each chunk that holds values gets its own container, chosen by how its values
+ * are spread:
+ *
+ * an array container keeps up to 4096 low halves as a sorted char array, two bytes per
+ * value; a bitmap container keeps 1024 longs, one bit per possible value, and is used
+ * once a chunk holds more than 4096 values; a run container keeps runs of consecutive
+ * values as start and length pairs and is chosen by runOptimize when it is smaller.
+ *
+ * A dense range of keys thus takes at most one bit per possible value and a sparse one
+ * two bytes per value, against a TNode and its object header per value in a BST. The
+ * set operations and, or, andNot and xor combine two bitmaps chunk by chunk; two bitmap
+ * containers are combined with a plain loop over their 1024 words, which the JIT
+ * compiles to vector instructions.
+ *
+ * Chunks are ordered so that iteration and rank follow the signed order of int, like
+ * the trees of the library.
+ *
+ * @author Eeman Abid
+ *         <a href="mailto:eeman.abid@ucalgary.ca">eeman.abid@ucalgary.ca</a>
+ * @author Hareem Khan
+ *         <a href="mailto:hareem.khan@ucalgary.ca">hareem.khan@ucalgary.ca</a>
+ */
+
+public class IntBitmap implements Instrumented {
+    private static final int ARRAY_MAX = 4096;
+    private static final int WORDS = 1024;
+
+    private static final int AND = 0;
+    private static final int OR = 1;
+    private static final int AND_NOT = 2;
+    private static final int XOR = 3;
+
+    private char[] keys;
+    private Container[] containers;
+    private int count;
+
+    /**
+     * Default constructor for IntBitmap class.
+     * Creates an empty set.
+     */
+    public IntBitmap(){
+        keys = new char[4];
+        containers = new Container[4];
+    }
+
+    /**
+     * Creates a set of the given values.
+     *
+     * @param values The values to add.
+     * @return A new set.
+     */
+    public static IntBitmap of(int... values){
+        IntBitmap bitmap = new IntBitmap();
+        for (int val : values){
+            bitmap.add(val);
+        }
+        return bitmap;
+    }
+
+    /**
+     * Creates a set of the values of a binary search tree. Works for BST and all its
+     * subclasses. The values arrive in order, so each chunk is filled in one go.
+     *
+     * @param tree The tree to take the values from.
+     * @return A new set.
+     */
+    public static IntBitmap of(BST tree){
+        IntBitmap bitmap = new IntBitmap();
+        tree.forEachInOrder(bitmap::add);
+        return bitmap;
+    }
+
+    /**
+     * Adds a value to the set.
+     * Time Complexity: O(log c + 4096) for an array container, O(log c) otherwise, c
+     * being the number of containers.
+     *
+     * @param val The value to add.
+     * @return True if the value was not in the set before.
+     */
+    public boolean add(int val){
+        char key = highBits(val);
+        int index = find(key);
+        if (index < 0){
+            index = -index - 1;
+            insertContainer(index, key, new ArrayContainer());
+        }
+        Container container = containers[index];
+        int before = container.cardinality();
+        containers[index] = container.add(lowBits(val));
+        return containers[index].cardinality() != before;
+    }
+
+    /**
+     * Removes a value from the set.
+     * Time Complexity: O(log c + 4096), c being the number of containers.
+     *
+     * @param val The value to remove.
+     * @return True if the value was in the set.
+     */
+    public boolean remove(int val){
+        int index = find(highBits(val));
+        if (index < 0){
+            return false;
+        }
+        Container container = containers[index];
+        int before = container.cardinality();
+        Container updated = container.remove(lowBits(val));
+        if (updated.cardinality() == before){
+            return false;
+        }
+        if (updated.cardinality() == 0){
+            removeContainer(index);
+        }
+        else {
+            containers[index] = updated;
+        }
+        return true;
+    }
+
+    /**
+     * Checks if a value is in the set.
+     * Time Complexity: O(log c + log 4096), c being the number of containers.
+     *
+     * @param val The value to look up.
+     * @return True if the value is in the set.
+     */
+    public boolean contains(int val){
+        int index = find(highBits(val));
+        return index >= 0 && containers[index].contains(lowBits(val));
+    }
+
+    /**
+     * Returns the number of values in the set.
+     * Time Complexity: O(c), c being the number of containers.
+     *
+     * @return The number of values.
+     */
+    public long cardinality(){
+        long total = 0;
+        for (int i = 0; i < count; i++){
+            total += containers[i].cardinality();
+        }
+        return total;
+    }
+
+    /**
+     * Returns the number of values less than val.
+     * Time Complexity: O(c + 1024), c being the number of containers.
+     *
+     * @param val The value to compare with.
+     * @return The number of values less than val.
+     */
+    public long rank(int val){
+        char key = highBits(val);
+        long rank = 0;
+        for (int i = 0; i < count && keys[i] <= key; i++){
+            if (keys[i] < key){
+                rank += containers[i].cardinality();
+            }
+            else {
+                rank += containers[i].rank(lowBits(val));
+            }
+        }
+        return rank;
+    }
+
+    /**
+     * Checks if the set is empty.
+     *
+     * @return True if the set holds no values.
+     */
+    public boolean isEmpty(){
+        return count == 0;
+    }
+
+    /**
+     * Passes every value to the action in ascending order.
+     * Time Complexity: O(n + c).
+     *
+     * @param action The action to run for each value.
+     */
+    public void forEach(IntConsumer action){
+        for (int i = 0; i < count; i++){
+            containers[i].forEach(((keys[i] ^ 0x8000) << 16), action);
+        }
+    }
+
+    /**
+     * Returns the values in ascending order.
+     *
+     * @return A new array holding every value.
+     * @throws IllegalStateException if the set holds more values than an array can.
+     */
+    public int[] toArray(){
+        long cardinality = cardinality();
+        if (cardinality > Integer.MAX_VALUE - 8){
+            throw new IllegalStateException("too many values for an array: " + cardinality);
+        }
+        int[] values = new int[(int) cardinality];
+        int[] i = new int[1];
+        forEach(val -> values[i[0]++] = val);
+        return values;
+    }
+
+    /**
+     * Converts every container to a run container where that takes less memory, which
+     * pays off for chunks made of long ranges of consecutive values. Later changes to
+     * a chunk turn its run container back into an array or bitmap container.
+     * Time Complexity: O(n + c).
+     */
+    public void runOptimize(){
+        for (int i = 0; i < count; i++){
+            containers[i] = containers[i].runOptimize();
+        }
+    }
+
+    /**
+     * Returns a new set of the values in both sets.
+     *
+     * @param other The other set.
+     * @return The intersection.
+     */
+    public IntBitmap and(IntBitmap other){
+        return combine(other, AND);
+    }
+
+    /**
+     * Returns a new set of the values in either set.
+     *
+     * @param other The other set.
+     * @return The union.
+     */
+    public IntBitmap or(IntBitmap other){
+        return combine(other, OR);
+    }
+
+    /**
+     * Returns a new set of the values in this set but not in the other.
+     *
+     * @param other The other set.
+     * @return The difference.
+     */
+    public IntBitmap andNot(IntBitmap other){
+        return combine(other, AND_NOT);
+    }
+
+    /**
+     * Returns a new set of the values in exactly one of the two sets.
+     *
+     * @param other The other set.
+     * @return The symmetric difference.
+     */
+    public IntBitmap xor(IntBitmap other){
+        return combine(other, XOR);
+    }
+
+    /**
+     * Returns an estimate of the heap used by the set, its key and container arrays
+     * and its containers.
+     * Time Complexity: O(c), c being the number of containers.
+     *
+     * @return The estimated number of bytes.
+     */
+    @Override
+    public long memoryFootprint(){
+        long bytes = MemoryLayout.shallowSizeOf(getClass()) + MemoryLayout.arraySize(char.class, keys.length)
+                + MemoryLayout.sizeOf(containers);
+        for (int i = 0; i < count; i++){
+            bytes += containers[i].footprint();
+        }
+        return bytes;
+    }
+
+    @Override
+    public String toString(){
+        int arrays = 0;
+        int bitmaps = 0;
+        int runs = 0;
+        for (int i = 0; i < count; i++){
+            if (containers[i] instanceof ArrayContainer){
+                arrays++;
+            }
+            else if (containers[i] instanceof BitmapContainer){
+                bitmaps++;
+            }
+            else {
+                runs++;
+            }
+        }
+        return "IntBitmap[cardinality=" + cardinality() + ", arrays=" + arrays + ", bitmaps=" + bitmaps
+                + ", runs=" + runs + "]";
+    }
+
+    /**
+     * Walks the keys of both sets in order and combines the containers of each chunk.
+     */
+    private IntBitmap combine(IntBitmap other, int op){
+        IntBitmap result = new IntBitmap();
+        int i = 0;
+        int j = 0;
+        while (i < count || j < other.count){
+            Container container;
+            char key;
+            if (j == other.count || (i < count && keys[i] < other.keys[j])){
+                key = keys[i];
+                container = op == AND ? null : containers[i].copy();
+                i++;
+            }
+            else if (i == count || other.keys[j] < keys[i]){
+                key = other.keys[j];
+                container = op == OR || op == XOR ? other.containers[j].copy() : null;
+                j++;
+            }
+            else {
+                key = keys[i];
+                container = combine(containers[i], other.containers[j], op);
+                i++;
+                j++;
+            }
+            if (container != null && container.cardinality() > 0){
+                result.insertContainer(result.count, key, container);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Combines two containers of the same chunk into a new one. Sorted arrays are
+     * merged, an array is filtered against the other container where the result can
+     * only shrink, and everything else is combined word by word.
+     */
+    private static Container combine(Container a, Container b, int op){
+        a = a.withoutRuns();
+        b = b.withoutRuns();
+        if (a instanceof ArrayContainer && (op == AND || op == AND_NOT)){
+            return ((ArrayContainer) a).filter(b, op == AND);
+        }
+        if (b instanceof ArrayContainer && op == AND){
+            return ((ArrayContainer) b).filter(a, true);
+        }
+        if (a instanceof ArrayContainer && b instanceof ArrayContainer){
+            return ArrayContainer.merge((ArrayContainer) a, (ArrayContainer) b, op == XOR);
+        }
+        long[] x = a.toWords();
+        long[] y = b.toWords();
+        long[] words = new long[WORDS];
+        int cardinality = 0;
+        switch (op){
+            case AND:
+                for (int w = 0; w < WORDS; w++){
+                    words[w] = x[w] & y[w];
+                }
+                break;
+            case OR:
+                for (int w = 0; w < WORDS; w++){
+                    words[w] = x[w] | y[w];
+                }
+                break;
+            case AND_NOT:
+                for (int w = 0; w < WORDS; w++){
+                    words[w] = x[w] & ~y[w];
+                }
+                break;
+            default:
+                for (int w = 0; w < WORDS; w++){
+                    words[w] = x[w] ^ y[w];
+                }
+                break;
+        }
+        for (int w = 0; w < WORDS; w++){
+            cardinality += Long.bitCount(words[w]);
+        }
+        return new BitmapContainer(words, cardinality).shrink();
+    }
+
+    /**
+     * Returns the chunk key of a value, with the sign bit flipped so that the unsigned
+     * order of the keys is the signed order of the values.
+     */
+    private static char highBits(int val){
+        return (char) ((val >>> 16) ^ 0x8000);
+    }
+
+    private static char lowBits(int val){
+        return (char) val;
+    }
+
+    private int find(char key){
+        int low = 0;
+        int high = count - 1;
+        while (low <= high){
+            int mid = (low + high) >>> 1;
+            if (keys[mid] < key){
+                low = mid + 1;
+            }
+            else if (keys[mid] > key){
+                high = mid - 1;
+            }
+            else {
+                return mid;
+            }
+        }
+        return -(low + 1);
+    }
+
+    private void insertContainer(int index, char key, Container container){
+        if (count == keys.length){
+            keys = Arrays.copyOf(keys, count * 2);
+            containers = Arrays.copyOf(containers, count * 2);
+        }
+        System.arraycopy(keys, index, keys, index + 1, count - index);
+        System.arraycopy(containers, index, containers, index + 1, count - index);
+        keys[index] = key;
+        containers[index] = container;
+        count++;
+    }
+
+    private void removeContainer(int index){
+        System.arraycopy(keys, index + 1, keys, index, count - index - 1);
+        System.arraycopy(containers, index + 1, containers, index, count - index - 1);
+        count--;
+        containers[count] = null;
+    }
+
+    /**
+     * Holds the low 16 bits of the values of one chunk. Changing methods return the
+     * container to use from then on, which may be a new one of another kind.
+     */
+    private abstract static class Container {
+        abstract int cardinality();
+
+        abstract boolean contains(char low);
+
+        abstract Container add(char low);
+
+        abstract Container remove(char low);
+
+        /**
+         * Returns the number of values less than low.
+         */
+        abstract int rank(char low);
+
+        abstract void forEach(int high, IntConsumer action);
+
+        abstract long[] toWords();
+
+        abstract Container copy();
+
+        abstract long footprint();
+
+        /**
+         * Returns the number of runs of consecutive values.
+         */
+        abstract int runCount();
+
+        Container withoutRuns(){
+            return this;
+        }
+
+        Container runOptimize(){
+            int runs = runCount();
+            // A run takes 4 bytes, an array value 2 and a bitmap 8192 bytes in all
+            if (4L * runs < Math.min(2L * cardinality(), 8192)){
+                return RunContainer.of(this, runs);
+            }
+            return this;
+        }
+    }
+
+    private static final class ArrayContainer extends Container {
+        private char[] values;
+        private int cardinality;
+
+        ArrayContainer(){
+            values = new char[4];
+        }
+
+        ArrayContainer(char[] values, int cardinality){
+            this.values = values;
+            this.cardinality = cardinality;
+        }
+
+        @Override
+        int cardinality(){
+            return cardinality;
+        }
+
+        @Override
+        boolean contains(char low){
+            return Arrays.binarySearch(values, 0, cardinality, low) >= 0;
+        }
+
+        @Override
+        Container add(char low){
+            // Values arriving in order are appended without a search
+            int index = cardinality > 0 && values[cardinality - 1] < low
+                    ? -cardinality - 1 : Arrays.binarySearch(values, 0, cardinality, low);
+            if (index >= 0){
+                return this;
+            }
+            if (cardinality == ARRAY_MAX){
+                return toBitmap().add(low);
+            }
+            index = -index - 1;
+            if (cardinality == values.length){
+                values = Arrays.copyOf(values, Math.min(cardinality * 2, ARRAY_MAX));
+            }
+            System.arraycopy(values, index, values, index + 1, cardinality - index);
+            values[index] = low;
+            cardinality++;
+            return this;
+        }
+
+        @Override
+        Container remove(char low){
+            int index = Arrays.binarySearch(values, 0, cardinality, low);
+            if (index >= 0){
+                System.arraycopy(values, index + 1, values, index, cardinality - index - 1);
+                cardinality--;
+            }
+            return this;
+        }
+
+        @Override
+        int rank(char low){
+            int index = Arrays.binarySearch(values, 0, cardinality, low);
+            return index >= 0 ? index : -index - 1;
+        }
+
+        @Override
+        void forEach(int high, IntConsumer action){
+            for (int i = 0; i < cardinality; i++){
+                action.accept(high | values[i]);
+            }
+        }
+
+        @Override
+        long[] toWords(){
+            long[] words = new long[WORDS];
+            for (int i = 0; i < cardinality; i++){
+                words[values[i] >>> 6] |= 1L << values[i];
+            }
+            return words;
+        }
+
+        BitmapContainer toBitmap(){
+            return new BitmapContainer(toWords(), cardinality);
+        }
+
+        /**
+         * Keeps the values that are, or with keep false are not, in the other container.
+         */
+        ArrayContainer filter(Container other, boolean keep){
+            char[] kept = new char[Math.max(cardinality, 1)];
+            int n = 0;
+            for (int i = 0; i < cardinality; i++){
+                if (other.contains(values[i]) == keep){
+                    kept[n++] = values[i];
+                }
+            }
+            return new ArrayContainer(kept, n);
+        }
+
+        /**
+         * Merges two sorted arrays into their union, or with xor true their symmetric
+         * difference. Turns into a bitmap container when the result is too large.
+         */
+        static Container merge(ArrayContainer a, ArrayContainer b, boolean xor){
+            char[] merged = new char[a.cardinality + b.cardinality];
+            int n = 0;
+            int i = 0;
+            int j = 0;
+            while (i < a.cardinality && j < b.cardinality){
+                char x = a.values[i];
+                char y = b.values[j];
+                if (x < y){
+                    merged[n++] = x;
+                    i++;
+                }
+                else if (x > y){
+                    merged[n++] = y;
+                    j++;
+                }
+                else {
+                    if (!xor){
+                        merged[n++] = x;
+                    }
+                    i++;
+                    j++;
+                }
+            }
+            while (i < a.cardinality){
+                merged[n++] = a.values[i++];
+            }
+            while (j < b.cardinality){
+                merged[n++] = b.values[j++];
+            }
+            ArrayContainer result = new ArrayContainer(merged, n);
+            return n > ARRAY_MAX ? result.toBitmap() : result;
+        }
+
+        @Override
+        Container copy(){
+            return new ArrayContainer(Arrays.copyOf(values, Math.max(cardinality, 1)), cardinality);
+        }
+
+        @Override
+        long footprint(){
+            return MemoryLayout.shallowSizeOf(ArrayContainer.class) + MemoryLayout.arraySize(char.class, values.length);
+        }
+
+        @Override
+        int runCount(){
+            int runs = 0;
+            for (int i = 0; i < cardinality; i++){
+                if (i == 0 || values[i] != values[i - 1] + 1){
+                    runs++;
+                }
+            }
+            return runs;
+        }
+    }
+
+    private static final class BitmapContainer extends Container {
+        private final long[] words;
+        private int cardinality;
+
+        BitmapContainer(long[] words, int cardinality){
+            this.words = words;
+            this.cardinality = cardinality;
+        }
+
+        @Override
+        int cardinality(){
+            return cardinality;
+        }
+
+        @Override
+        boolean contains(char low){
+            return (words[low >>> 6] & (1L << low)) != 0;
+        }
+
+        @Override
+        Container add(char low){
+            long before = words[low >>> 6];
+            words[low >>> 6] = before | (1L << low);
+            if (words[low >>> 6] != before){
+                cardinality++;
+            }
+            return this;
+        }
+
+        @Override
+        Container remove(char low){
+            long before = words[low >>> 6];
+            words[low >>> 6] = before & ~(1L << low);
+            if (words[low >>> 6] != before){
+                cardinality--;
+            }
+            return shrink();
+        }
+
+        @Override
+        int rank(char low){
+            int rank = 0;
+            int word = low >>> 6;
+            for (int w = 0; w < word; w++){
+                rank += Long.bitCount(words[w]);
+            }
+            return rank + Long.bitCount(words[word] & ((1L << low) - 1));
+        }
+
+        @Override
+        void forEach(int high, IntConsumer action){
+            for (int w = 0; w < WORDS; w++){
+                long word = words[w];
+                while (word != 0){
+                    action.accept(high | (w << 6) | Long.numberOfTrailingZeros(word));
+                    word &= word - 1;
+                }
+            }
+        }
+
+        @Override
+        long[] toWords(){
+            return words;
+        }
+
+        /**
+         * Returns an array container with the same values once there are few enough.
+         */
+        Container shrink(){
+            if (cardinality > ARRAY_MAX){
+                return this;
+            }
+            char[] values = new char[Math.max(cardinality, 1)];
+            int[] n = new int[1];
+            forEach(0, low -> values[n[0]++] = (char) low);
+            return new ArrayContainer(values, cardinality);
+        }
+
+        @Override
+        Container copy(){
+            return new BitmapContainer(words.clone(), cardinality);
+        }
+
+        @Override
+        long footprint(){
+            return MemoryLayout.shallowSizeOf(BitmapContainer.class) + MemoryLayout.sizeOf(words);
+        }
+
+        @Override
+        int runCount(){
+            int runs = 0;
+            long carry = 0;
+            for (int w = 0; w < WORDS; w++){
+                long word = words[w];
+                // A run starts at every set bit whose lower neighbour is clear
+                runs += Long.bitCount(word & ~((word << 1) | carry));
+                carry = word >>> 63;
+            }
+            return runs;
+        }
+    }
+
+    private static final class RunContainer extends Container {
+        // starts[i] and starts[i] + lengths[i] are the first and last value of run i
+        private final char[] starts;
+        private final char[] lengths;
+        private final int cardinality;
+
+        private RunContainer(char[] starts, char[] lengths, int cardinality){
+            this.starts = starts;
+            this.lengths = lengths;
+            this.cardinality = cardinality;
+        }
+
+        static RunContainer of(Container container, int runs){
+            char[] starts = new char[runs];
+            char[] lengths = new char[runs];
+            int[] run = {-1};
+            int[] previous = {-2};
+            container.forEach(0, low -> {
+                if (low != previous[0] + 1){
+                    run[0]++;
+                    starts[run[0]] = (char) low;
+                }
+                else {
+                    lengths[run[0]]++;
+                }
+                previous[0] = low;
+            });
+            return new RunContainer(starts, lengths, container.cardinality());
+        }
+
+        @Override
+        int cardinality(){
+            return cardinality;
+        }
+
+        @Override
+        boolean contains(char low){
+            int run = lastRunStartingAtMost(low);
+            return run >= 0 && low - starts[run] <= lengths[run];
+        }
+
+        @Override
+        Container add(char low){
+            return withoutRuns().add(low);
+        }
+
+        @Override
+        Container remove(char low){
+            return withoutRuns().remove(low);
+        }
+
+        @Override
+        int rank(char low){
+            int rank = 0;
+            for (int i = 0; i < starts.length && starts[i] < low; i++){
+                rank += Math.min(lengths[i] + 1, low - starts[i]);
+            }
+            return rank;
+        }
+
+        @Override
+        void forEach(int high, IntConsumer action){
+            for (int i = 0; i < starts.length; i++){
+                int end = starts[i] + lengths[i];
+                for (int low = starts[i]; low <= end; low++){
+                    action.accept(high | low);
+                }
+            }
+        }
+
+        @Override
+        long[] toWords(){
+            long[] words = new long[WORDS];
+            for (int i = 0; i < starts.length; i++){
+                int end = starts[i] + lengths[i];
+                for (int low = starts[i]; low <= end; low++){
+                    words[low >>> 6] |= 1L << low;
+                }
+            }
+            return words;
+        }
+
+        /**
+         * Returns the values as an array or bitmap container.
+         */
+        @Override
+        Container withoutRuns(){
+            return new BitmapContainer(toWords(), cardinality).shrink();
+        }
+
+        @Override
+        Container runOptimize(){
+            return this;
+        }
+
+        @Override
+        Container copy(){
+            // The run arrays are never changed, so they can be shared
+            return this;
+        }
+
+        @Override
+        long footprint(){
+            return MemoryLayout.shallowSizeOf(RunContainer.class) + 2 * MemoryLayout.arraySize(char.class, starts.length);
+        }
+
+        @Override
+        int runCount(){
+            return starts.length;
+        }
+
+        private int lastRunStartingAtMost(char low){
+            int lowIndex = 0;
+            int highIndex = starts.length - 1;
+            int found = -1;
+            while (lowIndex <= highIndex){
+                int mid = (lowIndex + highIndex) >>> 1;
+                if (starts[mid] <= low){
+                    found = mid;
+                    lowIndex = mid + 1;
+                }
+                else {
+                    highIndex = mid - 1;
+                }
+            }
+            return found;
+        }
+    }
+
+    public static void main(String[] args) {
+        System.out.println("\nIntBitmap Tests");
+
+        // A dense range of keys, as a BST would hold them
+        BST tree = new BST();
+        for (int i = 0; i < 100; i++) {
+            tree.Insert(i * 37 % 100);
+        }
+        IntBitmap keys = IntBitmap.of(tree);
+        System.out.println("Cardinality: " + keys.cardinality()); //should output: 100
+        System.out.println("Rank of 50: " + keys.rank(50)); //should output: 50
+
+        IntBitmap evens = new IntBitmap();
+        IntBitmap large = new IntBitmap();
+        for (int i = 0; i < 200_000; i += 2) {
+            evens.add(i);
+        }
+        for (int i = 95; i < 150_000; i++) {
+            large.add(i);
+        }
+        large.add(-5);
+        large.runOptimize();
+        System.out.println(evens); //should output: IntBitmap[cardinality=100000, arrays=1, bitmaps=3, runs=0]
+        System.out.println(large); //should output: IntBitmap[cardinality=149906, arrays=1, bitmaps=0, runs=3]
+
+        System.out.println("And: " + evens.and(large).cardinality()); //should output: 74952
+        System.out.println("Or: " + evens.or(large).cardinality()); //should output: 174954
+        System.out.println("AndNot: " + evens.andNot(large).cardinality()); //should output: 25048
+        System.out.println("Xor: " + evens.xor(large).cardinality()); //should output: 100002
+
+        keys.remove(42);
+        System.out.println("Contains 42: " + keys.contains(42)); //should output: false
+        System.out.println("Contains -5: " + large.contains(-5) + "\n"); //should output: true
+    }
+}
@@ -1,11 +1,21 @@
 package main.java.mylib.datastructures.trees;
 
 import main.java.mylib.datastructures.nodes.TNode;
+import main.java.mylib.datastructures.io.Snapshot;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
 
 /**
  * AVL class represents an AVL tree, which is a type of binary search tree that is
  * self-balancing to maintain a balanced tree structure for efficient operations.
- * It extends the BST (Binary Search Tree) class.
+ * It extends the BST (Binary Search Tree) class. The height of each node is kept in the
+ * balance field of TNode, and after every insertion and deletion the nodes on the path
+ * back to the root get their height updated and are rotated where the heights of
+ * their subtrees differ by more than one.
  * 
  * @author Eeman Abid
  *         <a href="mailto:eeman.abid@ucalgary.ca">eeman.abid@ucalgary.ca</a>
@@ -14,7 +24,8 @@ import main.java.mylib.datastructures.nodes.TNode;
  */
 
 public class AVL extends BST{
-    
+    private TNode deletedParent;
+
     /**
      * Default constructor for AVL class.
      * Creates an empty AVL tree by calling the constructor of the parent BST class.
@@ -32,19 +43,41 @@ public class AVL extends BST{
      */
     public AVL(int val){
         super(val);
+        this.root.setBalance(1);
     }
 
     /**
      * Constructor for AVL class that takes a TNode object.
-     * Creates an AVL tree with the given TNode object as the root node,
-     * by calling the constructor of the parent BST class with the given TNode object.
-     * Also performs AVL balancing on the root node.
+     * Creates an AVL tree with the given TNode object as the root node, balanced as
+     * setRoot does.
      *
      * @param obj The TNode object to be set as the root node of the AVL tree.
      */
     public AVL(TNode obj){
-        super(obj);
-        this.root = balance(obj);
+        super();
+        setRoot(obj);
+    }
+
+    /**
+     * Sets the root node and computes the height of every node below it. A subtree
+     * that is not AVL-balanced, such as one built by a plain BST, is rebuilt into a
+     * perfectly balanced one.
+     * Time Complexity: O(n).
+     *
+     * @param root The root node to be set.
+     */
+    @Override
+    public void setRoot(TNode root){
+        super.setRoot(root);
+        if (this.root == null){
+            return;
+        }
+        this.root.setParent(null);
+        updateHeights();
+        if (findUnbalanced() != null){
+            this.root = rebuild(this.root, size());
+            updateHeights();
+        }
     }
 
     /**
@@ -60,7 +93,7 @@ public class AVL extends BST{
      * Private method to balance a given node in the AVL tree.
      * This method performs AVL rotations on the given node if it is unbalanced,
      * to restore the balance of the tree.
-     * This method is called recursively on the ancestors of the given node during insertion and deletion.
+     * This method is called on each ancestor of the changed node during insertion and deletion.
      *
      * @param node The node to be balanced.
      * @return The balanced node after AVL rotations.
@@ -111,7 +144,8 @@ public class AVL extends BST{
 
     /**
      * Private method to get the height of a given node.
-     * The height of a node is the number of edges in the longest path from the node to a leaf node.
+     * The height of a node is the number of nodes in the longest path from the node to a leaf node,
+     * as stored in its balance field.
      *
      * @param node The node to get the height from.
      * @return The height of the given node.
@@ -120,7 +154,7 @@ public class AVL extends BST{
         if (node == null){
             return 0;
         }
-        return Math.max(getHeight(node.getLeft()), getHeight(node.getRight())) + 1;
+        return node.getBalance();
     }
 
     /**
@@ -131,13 +165,22 @@ public class AVL extends BST{
      *  child of the right child becomes the new right child of the
      *  input node, and the input node becomes the left child of the
      *  new root. The method returns the new root of the rotated subtree.
+     *  Parent references are updated and updateNode is called on the input node
+     *  and then on the new root.
      * @param node
      * @return
      */
-    private TNode rotateLeft(TNode node){
+    protected TNode rotateLeft(TNode node){
         TNode right = node.getRight();
         node.setRight(right.getLeft());
+        if (right.getLeft() != null){
+            right.getLeft().setParent(node);
+        }
         right.setLeft(node);
+        right.setParent(node.getParent());
+        node.setParent(right);
+        updateNode(node);
+        updateNode(right);
         return right;
     }
 
@@ -147,48 +190,124 @@ public class AVL extends BST{
      *  tree. The left child of the input node becomes the new root of the rotated subtree,
      *  the right child of the left child becomes the new left child of the input node, and
      *  the input node becomes the right child of the new root. The method returns the new
-     *  root of the rotated subtree.
+     *  root of the rotated subtree. Parent references are updated and updateNode is
+     *  called on the input node and then on the new root.
      * @param node
      * @return
      */
-    private TNode rotateRight(TNode node){
+    protected TNode rotateRight(TNode node){
         TNode left = node.getLeft();
         node.setLeft(left.getRight());
+        if (left.getRight() != null){
+            left.getRight().setParent(node);
+        }
         left.setRight(node);
+        left.setParent(node.getParent());
+        node.setParent(left);
+        updateNode(node);
+        updateNode(left);
         return left;
     }
 
     /**
-     * This method overrides the Insert method from the parent class BST to insert a new node
-     *  with the given val into the AVL tree. After inserting the node, it calls the balance
-     *  method with the root of the tree to ensure that the tree remains balanced.
+     * Hook called on every node whose children changed, children first: by the
+     * rotations and on the path back up after an insertion or deletion. It stores the
+     * height of the node in its balance field. Subclasses that keep extra per-node data
+     * derived from the subtree, such as IntervalTree, override it to recompute that
+     * data as well.
+     *
+     * @param node The node whose children changed.
+     */
+    protected void updateNode(TNode node){
+        node.setBalance(Math.max(getHeight(node.getLeft()), getHeight(node.getRight())) + 1);
+    }
+
+    /**
+     * This method overrides the insertNode method from the parent class BST, which
+     *  Insert(TNode) calls to link in a new node. After inserting the node as a leaf of
+     *  height 1, it rebalances the path from its parent up to the root.
      */
     @Override
-    public void Insert(int val) {
-        super.Insert(val);
-        this.root = balance(this.root);
+    protected int insertNode(TNode node) {
+        node.setParent(null);
+        node.setLeft(null);
+        node.setRight(null);
+        node.setBalance(1);
+        int visited = super.insertNode(node);
+        rebalanceUp(node.getParent());
+        return visited;
     }
-    
+
     /**
-     * This method overrides the Insert method from the parent class BST to insert a new node
-     *  with the given node into the AVL tree. After inserting the node, it calls the balance
-     *  method with the root of the tree to ensure that the tree remains balanced.
+     * This method overrides the deleteValue method from the parent class BST, which
+     *  Delete calls to remove a node with the given val. After deleting the node, it
+     *  rebalances the path from the parent of the unlinked node up to the root.
      */
     @Override
-    public void Insert(TNode node) {
-        super.Insert(node);
-        this.root = balance(this.root);
+    protected int deleteValue(int val){
+        deletedParent = null;
+        int visited = super.deleteValue(val);
+        rebalanceUp(deletedParent);
+        deletedParent = null;
+        return visited;
     }
 
     /**
-     * This method overrides the Delete method from the parent class BST to delete a node with
-     * the given val from the AVL tree. After deleting the node, it calls the balance method
-     *  with the root of the tree to ensure that the tree remains balanced.
+     * Remembers where the unlinked node hung, before BST gives it back to the pool.
      */
     @Override
-    public void Delete(int val){
-        super.Delete(val);
-        this.root = balance(this.root);
+    protected void nodeDeleted(int val, TNode removed){
+        if (removed != null){
+            deletedParent = removed.getParent();
+        }
+        super.nodeDeleted(val, removed);
+    }
+
+    /**
+     * Updates the height of every node from the given one up to the root and rotates
+     * the ones that became unbalanced, relinking each rotated subtree into its parent.
+     * Time Complexity: O(log n).
+     *
+     * @param node The lowest node whose subtree changed, or null.
+     */
+    private void rebalanceUp(TNode node){
+        while (node != null){
+            TNode parent = node.getParent();
+            updateNode(node);
+            TNode top = balance(node);
+            if (parent == null){
+                root = top;
+            }
+            else if (parent.getLeft() == node){
+                parent.setLeft(top);
+            }
+            else {
+                parent.setRight(top);
+            }
+            node = parent;
+        }
+    }
+
+    /**
+     * Calls updateNode on every node, children before their parent.
+     */
+    private void updateHeights(){
+        List<TNode> order = new ArrayList<>();
+        Deque<TNode> stack = new ArrayDeque<>();
+        stack.push(root);
+        while (!stack.isEmpty()){
+            TNode node = stack.pop();
+            order.add(node);
+            if (node.getLeft() != null){
+                stack.push(node.getLeft());
+            }
+            if (node.getRight() != null){
+                stack.push(node.getRight());
+            }
+        }
+        for (int i = order.size() - 1; i >= 0; i--){
+            updateNode(order.get(i));
+        }
     }
 
     @Override
@@ -196,6 +315,40 @@ public class AVL extends BST{
         return super.Search(val);
     }
 
+    /**
+     * Checks the structure of the tree like BST.verifyInvariants and also that the
+     * heights of the two subtrees of every node differ by at most one and that every
+     * stored height is right.
+     * Time Complexity: O(n).
+     *
+     * @throws IllegalStateException describing the first violation found.
+     */
+    @Override
+    public void verifyInvariants(){
+        super.verifyInvariants();
+        TNode unbalanced = findUnbalanced();
+        if (unbalanced != null){
+            throw new IllegalStateException("AVL balance violated at node " + unbalanced.getData());
+        }
+        Deque<TNode> stack = new ArrayDeque<>();
+        if (root != null){
+            stack.push(root);
+        }
+        while (!stack.isEmpty()){
+            TNode node = stack.pop();
+            int expected = Math.max(getHeight(node.getLeft()), getHeight(node.getRight())) + 1;
+            if (node.getBalance() != expected){
+                throw new IllegalStateException("Node " + node.getData() + " stores height " + node.getBalance() + " instead of " + expected);
+            }
+            if (node.getLeft() != null){
+                stack.push(node.getLeft());
+            }
+            if (node.getRight() != null){
+                stack.push(node.getRight());
+            }
+        }
+    }
+
     @Override
     public void printInOrder(){
         super.printInOrder();
@@ -206,6 +359,22 @@ public class AVL extends BST{
         super.printBF();
     }
 
+    /**
+     * Loads an AVL tree from a snapshot file written by save(). Snapshots do not store
+     * the node heights, so they are computed as the nodes are linked in. A shape saved
+     * by an AVL tree is kept as it was; any other shape, such as one saved by a plain
+     * BST, is rebuilt into a balanced one.
+     *
+     * @param path The snapshot file to read.
+     * @return A new AVL tree with the saved nodes.
+     * @throws IOException if the file could not be read or is not a tree snapshot.
+     */
+    public static AVL load(Path path) throws IOException {
+        AVL tree = new AVL();
+        tree.setRoot(Snapshot.readTree(path));
+        return tree;
+    }
+
     public static void main(String[] args) {
         System.out.println("\nAVL Tests");
 
@@ -264,9 +433,8 @@ public class AVL extends BST{
         System.out.println("\n");
         System.out.println("Breadth-First Traversal:");
         tree2.printBF(); /*should output: 7
-                                          5 8
-                                          2 10
-                                          1 */
+                                          2 8
+                                          1 5 10 */
         
         System.out.println();
         
@@ -280,8 +448,8 @@ public class AVL extends BST{
         System.out.println("\n");
         System.out.println("Breadth-First Traversal:");
         tree2.printBF(); /*should output: 7
-                                          5 8
-                                          2 */
+                                          2 8
+                                          5 */
         System.out.println();
         
         // Test getRoot method
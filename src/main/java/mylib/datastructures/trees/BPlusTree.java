@@ -0,0 +1,704 @@
+package main.java.mylib.datastructures.trees;
+
+import main.java.mylib.datastructures.io.ChunkedWriter;
+import main.java.mylib.datastructures.metrics.Instrumented;
+import main.java.mylib.datastructures.metrics.MemoryLayout;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.function.IntConsumer;
+
+/**
+ * BPlusTree is an ordered set of int keys stored in a B+ tree. Every node holds up to
+ * capacity keys in a plain int[] page, so a lookup touches one node per level and
+ * scans each node with a binary search over contiguous memory. With a capacity of 128
+ * a tree of 100 million keys is about 4 levels deep, against about 27 for a balanced
+ * binary tree. All keys live in the leaves, which are linked left to right for range
+ * scans. Inner nodes only hold separator keys: the separator to the left of a child is
+ * less than or equal to every key in that child.
+ *
+ * Every node except the root holds at least capacity / 2 keys. Unlike BST, the tree
+ * does not store duplicate keys.
+ *
+ * The tree can be written to and read from a page file in which every node takes one
+ * fixed-size page. Loading maps the file with FileChannel.map.
+ *
+ * @author Eeman Abid
+ *         <a href="mailto:eeman.abid@ucalgary.ca">eeman.abid@ucalgary.ca</a>
+ * @author Hareem Khan
+ *         <a href="mailto:hareem.khan@ucalgary.ca">hareem.khan@ucalgary.ca</a>
+ */
+
+public class BPlusTree implements Instrumented {
+    /**
+     * Node capacity used by the default constructor.
+     */
+    public static final int DEFAULT_CAPACITY = 128;
+
+    private static final int MAGIC = 0x4D4C4250;
+    private static final int FILE_HEADER_SIZE = 20;
+
+    /**
+     * A tree node. Arrays have room for one key and one child more than the capacity so
+     * a node can overflow before it is split.
+     */
+    private static final class Node {
+        final boolean leaf;
+        final int[] keys;
+        final Node[] children;
+        int count;
+        Node next;
+
+        Node(boolean leaf, int capacity) {
+            this.leaf = leaf;
+            this.keys = new int[capacity + 1];
+            this.children = leaf ? null : new Node[capacity + 2];
+        }
+    }
+
+    private final int capacity;
+    private final int minKeys;
+    private Node root;
+    private int size;
+
+    // Separator produced by the last split during an insertion
+    private int splitKey;
+
+    /**
+     * Constructs an empty tree with the default node capacity.
+     */
+    public BPlusTree() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructs an empty tree with the given node capacity.
+     *
+     * @param capacity The maximum number of keys per node.
+     * @throws IllegalArgumentException if capacity is less than 3.
+     */
+    public BPlusTree(int capacity) {
+        if (capacity < 3) {
+            throw new IllegalArgumentException("capacity must be at least 3");
+        }
+        this.capacity = capacity;
+        this.minKeys = capacity / 2;
+        this.root = new Node(true, capacity);
+        this.size = 0;
+    }
+
+    /**
+     * Builds a tree from keys in ascending order in O(n), without any splits.
+     * Duplicate keys are stored once.
+     *
+     * @param sortedKeys The keys in ascending order.
+     * @param capacity The maximum number of keys per node.
+     * @return The new tree.
+     * @throws IllegalArgumentException if the keys are not in ascending order or
+     *                                  capacity is less than 3.
+     */
+    public static BPlusTree bulkLoad(int[] sortedKeys, int capacity) {
+        BPlusTree tree = new BPlusTree(capacity);
+        int distinct = 0;
+        int[] keys = new int[sortedKeys.length];
+        for (int i = 0; i < sortedKeys.length; i++) {
+            if (i > 0 && sortedKeys[i] < sortedKeys[i - 1]) {
+                throw new IllegalArgumentException("keys are not in ascending order");
+            }
+            if (i == 0 || sortedKeys[i] != sortedKeys[i - 1]) {
+                keys[distinct++] = sortedKeys[i];
+            }
+        }
+        if (distinct == 0) {
+            return tree;
+        }
+
+        // Spread the keys evenly over the smallest number of full leaves
+        int leafCount = (distinct + capacity - 1) / capacity;
+        List<Node> level = new ArrayList<>(leafCount);
+        List<Integer> lowKeys = new ArrayList<>(leafCount);
+        Node previous = null;
+        int start = 0;
+        for (int i = 0; i < leafCount; i++) {
+            int end = (int) ((long) distinct * (i + 1) / leafCount);
+            Node leaf = new Node(true, capacity);
+            System.arraycopy(keys, start, leaf.keys, 0, end - start);
+            leaf.count = end - start;
+            if (previous != null) {
+                previous.next = leaf;
+            }
+            previous = leaf;
+            level.add(leaf);
+            lowKeys.add(keys[start]);
+            start = end;
+        }
+
+        // Build each inner level over the one below it in the same way
+        while (level.size() > 1) {
+            int nodeCount = (level.size() + capacity) / (capacity + 1);
+            List<Node> parents = new ArrayList<>(nodeCount);
+            List<Integer> parentLowKeys = new ArrayList<>(nodeCount);
+            start = 0;
+            for (int i = 0; i < nodeCount; i++) {
+                int end = (int) ((long) level.size() * (i + 1) / nodeCount);
+                Node node = new Node(false, capacity);
+                for (int c = start; c < end; c++) {
+                    node.children[c - start] = level.get(c);
+                    if (c > start) {
+                        node.keys[c - start - 1] = lowKeys.get(c);
+                    }
+                }
+                node.count = end - start - 1;
+                parents.add(node);
+                parentLowKeys.add(lowKeys.get(start));
+                start = end;
+            }
+            level = parents;
+            lowKeys = parentLowKeys;
+        }
+        tree.root = level.get(0);
+        tree.size = distinct;
+        return tree;
+    }
+
+    /**
+     * Returns the maximum number of keys per node.
+     *
+     * @return The node capacity.
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Returns the number of keys in the tree.
+     *
+     * @return The number of keys.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the number of levels in the tree, 1 for a tree that is a single leaf.
+     *
+     * @return The height of the tree.
+     */
+    public int height() {
+        int height = 1;
+        for (Node node = root; !node.leaf; node = node.children[0]) {
+            height++;
+        }
+        return height;
+    }
+
+    /**
+     * Checks whether the key is in the tree.
+     * Time Complexity: O(log n).
+     *
+     * @param key The key to be searched.
+     * @return True if the key is present, false otherwise.
+     */
+    public boolean Search(int key) {
+        Node leaf = findLeaf(key);
+        return Arrays.binarySearch(leaf.keys, 0, leaf.count, key) >= 0;
+    }
+
+    /**
+     * Inserts a key into the tree. Nodes that overflow are split in half and the split
+     * is carried upwards, growing a new root when the old root splits.
+     *
+     * @param key The key to be inserted.
+     * @return True if the key was added, false if it was already present.
+     */
+    public boolean Insert(int key) {
+        int before = size;
+        Node right = insert(root, key);
+        if (right != null) {
+            Node newRoot = new Node(false, capacity);
+            newRoot.keys[0] = splitKey;
+            newRoot.children[0] = root;
+            newRoot.children[1] = right;
+            newRoot.count = 1;
+            root = newRoot;
+        }
+        return size != before;
+    }
+
+    /**
+     * Deletes a key from the tree. Nodes that underflow borrow a key from a sibling or
+     * are merged with it, and the root is dropped when it has a single child left.
+     *
+     * @param key The key to be deleted.
+     * @return True if the key was removed, false if it was not present.
+     */
+    public boolean Delete(int key) {
+        boolean removed = delete(root, key);
+        if (!root.leaf && root.count == 0) {
+            root = root.children[0];
+        }
+        return removed;
+    }
+
+    /**
+     * Passes every key in [low, high] to the action in ascending order, walking the
+     * linked leaves after one descent.
+     * Time Complexity: O(log n + k), where k is the number of keys in the range.
+     *
+     * @param low The smallest key to report.
+     * @param high The largest key to report.
+     * @param action The action to run for each key.
+     */
+    public void rangeScan(int low, int high, IntConsumer action) {
+        if (low > high) {
+            return;
+        }
+        Node leaf = findLeaf(low);
+        int i = lowerBound(leaf.keys, leaf.count, low);
+        while (leaf != null) {
+            for (; i < leaf.count; i++) {
+                if (leaf.keys[i] > high) {
+                    return;
+                }
+                action.accept(leaf.keys[i]);
+            }
+            leaf = leaf.next;
+            i = 0;
+        }
+    }
+
+    /**
+     * Prints the keys of the tree in ascending order.
+     */
+    public void printInOrder() {
+        try {
+            appendInOrder(System.out, Integer.MAX_VALUE);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Writes up to limit keys in ascending order to the given destination, followed by
+     * "..." if keys were left out.
+     *
+     * @param out The destination, for example a Writer or StringBuilder.
+     * @param limit The maximum number of keys to write.
+     * @throws IOException if the destination could not be written.
+     */
+    public void appendInOrder(Appendable out, int limit) throws IOException {
+        ChunkedWriter writer = new ChunkedWriter(out);
+        Node leaf = root;
+        while (!leaf.leaf) {
+            leaf = leaf.children[0];
+        }
+        int written = 0;
+        for (; leaf != null; leaf = leaf.next) {
+            for (int i = 0; i < leaf.count; i++) {
+                if (written == limit) {
+                    writer.append("...");
+                    writer.flush();
+                    return;
+                }
+                writer.value(leaf.keys[i]);
+                written++;
+            }
+        }
+        writer.flush();
+    }
+
+    /**
+     * Prints the nodes of the tree level by level. Each node is shown as its keys in
+     * square brackets.
+     */
+    public void printBF() {
+        List<Node> level = new ArrayList<>();
+        level.add(root);
+        while (!level.isEmpty()) {
+            StringBuilder line = new StringBuilder();
+            List<Node> below = new ArrayList<>();
+            for (Node node : level) {
+                line.append('[');
+                for (int i = 0; i < node.count; i++) {
+                    line.append(i == 0 ? "" : " ").append(node.keys[i]);
+                }
+                line.append("] ");
+                if (!node.leaf) {
+                    below.addAll(Arrays.asList(node.children).subList(0, node.count + 1));
+                }
+            }
+            System.out.println(line);
+            level = below;
+        }
+    }
+
+    /**
+     * Writes the tree to a page file. Pages are numbered in breadth-first order with
+     * the root first. Each page holds a leaf flag, the key count, capacity key slots and
+     * either capacity + 1 child page numbers or the page number of the next leaf.
+     *
+     * @param path The file to write. An existing file is replaced.
+     * @throws IOException if the file could not be written.
+     */
+    public void save(Path path) throws IOException {
+        List<Node> pages = new ArrayList<>();
+        pages.add(root);
+        for (int i = 0; i < pages.size(); i++) {
+            Node node = pages.get(i);
+            if (!node.leaf) {
+                pages.addAll(Arrays.asList(node.children).subList(0, node.count + 1));
+            }
+        }
+        IdentityHashMap<Node, Integer> ids = new IdentityHashMap<>();
+        for (int i = 0; i < pages.size(); i++) {
+            ids.put(pages.get(i), i);
+        }
+
+        int pageSize = pageSize(capacity);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.allocate(Math.max(FILE_HEADER_SIZE, pageSize) * 64);
+            buffer.putInt(MAGIC).putInt(capacity).putInt(size).putInt(pages.size()).putInt(0);
+            for (Node node : pages) {
+                if (buffer.remaining() < pageSize) {
+                    drain(channel, buffer);
+                }
+                int start = buffer.position();
+                buffer.put((byte) (node.leaf ? 1 : 0)).putInt(node.count);
+                for (int i = 0; i < capacity; i++) {
+                    buffer.putInt(i < node.count ? node.keys[i] : 0);
+                }
+                if (node.leaf) {
+                    buffer.putInt(node.next == null ? -1 : ids.get(node.next));
+                } else {
+                    for (int i = 0; i <= capacity; i++) {
+                        buffer.putInt(i <= node.count ? ids.get(node.children[i]) : -1);
+                    }
+                }
+                buffer.position(start + pageSize);
+            }
+            drain(channel, buffer);
+        }
+    }
+
+    /**
+     * Loads a tree from a page file written by save(). The file is memory mapped and
+     * every page is decoded in place.
+     *
+     * @param path The page file to read.
+     * @return The loaded tree.
+     * @throws IOException if the file could not be read or is not a B+ tree page file.
+     */
+    public static BPlusTree load(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.remaining() < FILE_HEADER_SIZE || buffer.getInt() != MAGIC) {
+                throw new IOException("Not a B+ tree page file: " + path);
+            }
+            int capacity = buffer.getInt();
+            int size = buffer.getInt();
+            int pageCount = buffer.getInt();
+            int rootPage = buffer.getInt();
+            int pageSize = pageSize(capacity);
+            if (capacity < 3 || buffer.remaining() < (long) pageCount * pageSize) {
+                throw new IOException("Truncated B+ tree page file: " + path);
+            }
+
+            Node[] nodes = new Node[pageCount];
+            for (int p = 0; p < pageCount; p++) {
+                nodes[p] = new Node(buffer.get(FILE_HEADER_SIZE + p * pageSize) == 1, capacity);
+            }
+            for (int p = 0; p < pageCount; p++) {
+                Node node = nodes[p];
+                buffer.position(FILE_HEADER_SIZE + p * pageSize + 1);
+                node.count = buffer.getInt();
+                for (int i = 0; i < capacity; i++) {
+                    node.keys[i] = buffer.getInt();
+                }
+                if (node.leaf) {
+                    int next = buffer.getInt();
+                    node.next = next < 0 ? null : nodes[next];
+                } else {
+                    for (int i = 0; i <= node.count; i++) {
+                        node.children[i] = nodes[buffer.getInt()];
+                    }
+                }
+            }
+
+            BPlusTree tree = new BPlusTree(capacity);
+            tree.root = nodes[rootPage];
+            tree.size = size;
+            return tree;
+        }
+    }
+
+    /**
+     * Descends from the root to the leaf that would hold the key.
+     */
+    private Node findLeaf(int key) {
+        Node node = root;
+        while (!node.leaf) {
+            node = node.children[upperBound(node.keys, node.count, key)];
+        }
+        return node;
+    }
+
+    /**
+     * Inserts the key below node. If node had to be split, the new right sibling is
+     * returned and its separator is left in splitKey; otherwise null is returned.
+     */
+    private Node insert(Node node, int key) {
+        if (node.leaf) {
+            int pos = lowerBound(node.keys, node.count, key);
+            if (pos < node.count && node.keys[pos] == key) {
+                return null;
+            }
+            System.arraycopy(node.keys, pos, node.keys, pos + 1, node.count - pos);
+            node.keys[pos] = key;
+            node.count++;
+            size++;
+            if (node.count <= capacity) {
+                return null;
+            }
+
+            Node right = new Node(true, capacity);
+            int mid = node.count / 2;
+            right.count = node.count - mid;
+            System.arraycopy(node.keys, mid, right.keys, 0, right.count);
+            node.count = mid;
+            right.next = node.next;
+            node.next = right;
+            splitKey = right.keys[0];
+            return right;
+        }
+
+        int index = upperBound(node.keys, node.count, key);
+        Node childRight = insert(node.children[index], key);
+        if (childRight == null) {
+            return null;
+        }
+        System.arraycopy(node.keys, index, node.keys, index + 1, node.count - index);
+        System.arraycopy(node.children, index + 1, node.children, index + 2, node.count - index);
+        node.keys[index] = splitKey;
+        node.children[index + 1] = childRight;
+        node.count++;
+        if (node.count <= capacity) {
+            return null;
+        }
+
+        // The middle key moves up; the keys on either side stay in the two halves
+        Node right = new Node(false, capacity);
+        int mid = node.count / 2;
+        splitKey = node.keys[mid];
+        right.count = node.count - mid - 1;
+        System.arraycopy(node.keys, mid + 1, right.keys, 0, right.count);
+        System.arraycopy(node.children, mid + 1, right.children, 0, right.count + 1);
+        Arrays.fill(node.children, mid + 1, node.count + 1, null);
+        node.count = mid;
+        return right;
+    }
+
+    /**
+     * Deletes the key below node and repairs any child that dropped below the minimum.
+     */
+    private boolean delete(Node node, int key) {
+        if (node.leaf) {
+            int pos = Arrays.binarySearch(node.keys, 0, node.count, key);
+            if (pos < 0) {
+                return false;
+            }
+            System.arraycopy(node.keys, pos + 1, node.keys, pos, node.count - pos - 1);
+            node.count--;
+            size--;
+            return true;
+        }
+
+        int index = upperBound(node.keys, node.count, key);
+        Node child = node.children[index];
+        if (!delete(child, key)) {
+            return false;
+        }
+        if (child.count < minKeys) {
+            rebalance(node, index);
+        }
+        return true;
+    }
+
+    /**
+     * Refills the child at index by borrowing from a sibling with spare keys, or merges
+     * it with a sibling when neither has any to spare.
+     */
+    private void rebalance(Node parent, int index) {
+        Node child = parent.children[index];
+        Node left = index > 0 ? parent.children[index - 1] : null;
+        Node right = index < parent.count ? parent.children[index + 1] : null;
+
+        if (left != null && left.count > minKeys) {
+            System.arraycopy(child.keys, 0, child.keys, 1, child.count);
+            if (child.leaf) {
+                child.keys[0] = left.keys[left.count - 1];
+                parent.keys[index - 1] = child.keys[0];
+            } else {
+                System.arraycopy(child.children, 0, child.children, 1, child.count + 1);
+                child.keys[0] = parent.keys[index - 1];
+                child.children[0] = left.children[left.count];
+                left.children[left.count] = null;
+                parent.keys[index - 1] = left.keys[left.count - 1];
+            }
+            child.count++;
+            left.count--;
+        } else if (right != null && right.count > minKeys) {
+            if (child.leaf) {
+                child.keys[child.count] = right.keys[0];
+                System.arraycopy(right.keys, 1, right.keys, 0, right.count - 1);
+                parent.keys[index] = right.keys[0];
+            } else {
+                child.keys[child.count] = parent.keys[index];
+                child.children[child.count + 1] = right.children[0];
+                parent.keys[index] = right.keys[0];
+                System.arraycopy(right.keys, 1, right.keys, 0, right.count - 1);
+                System.arraycopy(right.children, 1, right.children, 0, right.count);
+                right.children[right.count] = null;
+            }
+            child.count++;
+            right.count--;
+        } else if (left != null) {
+            merge(parent, index - 1);
+        } else {
+            merge(parent, index);
+        }
+    }
+
+    /**
+     * Merges the child at index + 1 into the child at index and removes their separator
+     * from the parent.
+     */
+    private void merge(Node parent, int index) {
+        Node left = parent.children[index];
+        Node right = parent.children[index + 1];
+        if (left.leaf) {
+            System.arraycopy(right.keys, 0, left.keys, left.count, right.count);
+            left.count += right.count;
+            left.next = right.next;
+        } else {
+            left.keys[left.count] = parent.keys[index];
+            System.arraycopy(right.keys, 0, left.keys, left.count + 1, right.count);
+            System.arraycopy(right.children, 0, left.children, left.count + 1, right.count + 1);
+            left.count += right.count + 1;
+        }
+        System.arraycopy(parent.keys, index + 1, parent.keys, index, parent.count - index - 1);
+        System.arraycopy(parent.children, index + 2, parent.children, index + 1, parent.count - index - 1);
+        parent.children[parent.count] = null;
+        parent.count--;
+    }
+
+    /**
+     * Returns the number of keys strictly less than key.
+     */
+    private static int lowerBound(int[] keys, int count, int key) {
+        int low = 0;
+        int high = count;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (keys[mid] < key) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Returns the number of keys less than or equal to key.
+     */
+    private static int upperBound(int[] keys, int count, int key) {
+        int low = 0;
+        int high = count;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (keys[mid] <= key) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static int pageSize(int capacity) {
+        return 1 + 4 + 4 * capacity + 4 * (capacity + 1);
+    }
+
+    private static void drain(FileChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    /**
+     * Returns an estimate of the heap used by the tree, its nodes and their key and child
+     * arrays.
+     * Time Complexity: O(n / capacity).
+     *
+     * @return The estimated number of bytes.
+     */
+    @Override
+    public long memoryFootprint() {
+        long bytes = MemoryLayout.shallowSizeOf(getClass());
+        List<Node> nodes = new ArrayList<>();
+        if (root != null) {
+            nodes.add(root);
+        }
+        for (int i = 0; i < nodes.size(); i++) {
+            Node node = nodes.get(i);
+            bytes += MemoryLayout.shallowSizeOf(Node.class) + MemoryLayout.sizeOf(node.keys) + MemoryLayout.sizeOf(node.children);
+            if (!node.leaf) {
+                nodes.addAll(Arrays.asList(node.children).subList(0, node.count + 1));
+            }
+        }
+        return bytes;
+    }
+
+    public static void main(String[] args) {
+        System.out.println("\nBPlusTree Tests");
+
+        BPlusTree tree = new BPlusTree(3);
+        for (int i = 1; i <= 10; i++) {
+            tree.Insert(i * 10);
+        }
+
+        System.out.println("B+ tree after insertion:");
+        tree.printInOrder(); //should output: 10 20 30 40 50 60 70 80 90 100
+        System.out.println("\n");
+        System.out.println("Nodes by level:");
+        tree.printBF();
+        System.out.println();
+
+        System.out.print("Range 25..75: ");
+        tree.rangeScan(25, 75, key -> System.out.print(key + " ")); //should output: 30 40 50 60 70
+        System.out.println("\n");
+
+        tree.Delete(30);
+        tree.Delete(40);
+        System.out.println("B+ tree after deletion:");
+        tree.printInOrder(); //should output: 10 20 50 60 70 80 90 100
+        System.out.println("\n");
+        System.out.println("Search 50: " + tree.Search(50)); //should output: true
+        System.out.println("Search 40: " + tree.Search(40)); //should output: false
+
+        BPlusTree bulk = BPlusTree.bulkLoad(new int[]{1, 2, 3, 4, 5, 6, 7, 8, 9}, 4);
+        System.out.println("\nBulk loaded tree, height " + bulk.height() + ":"); //should output: height 2
+        bulk.printBF();
+    }
+}
@@ -1,7 +1,20 @@
 package main.java.mylib.datastructures.trees;
 
 import main.java.mylib.datastructures.nodes.TNode;
+import main.java.mylib.datastructures.nodes.TNodePool;
+import main.java.mylib.datastructures.hash.BloomFilter;
+import main.java.mylib.datastructures.hash.MembershipFilter;
+import main.java.mylib.datastructures.io.ChunkedWriter;
+import main.java.mylib.datastructures.io.Snapshot;
+import main.java.mylib.datastructures.metrics.Instrumented;
+import main.java.mylib.datastructures.metrics.MemoryLayout;
+import main.java.mylib.datastructures.metrics.Operation;
+import main.java.mylib.datastructures.metrics.OperationMetrics;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
 import java.util.*;
+import java.util.function.IntConsumer;
 
 /**
  *  BST is an implementation of a Binary Search Tree (BST) data structure. A binary search tree
@@ -16,8 +29,34 @@ import java.util.*;
  *         <a href="mailto:hareem.khan@ucalgary.ca">hareem.khan@ucalgary.ca</a>
  */
 
-public class BST {
+public class BST implements Instrumented {
+
+    /**
+     * Receives the alerts of a tree whose insertions have become too deep.
+     */
+    public interface DegenerationListener {
+        /**
+         * Called after an insertion that placed its node deeper than the allowed depth.
+         *
+         * @param tree The tree.
+         * @param depth The depth of the inserted node, the root being at depth 1.
+         * @param size The number of nodes in the tree.
+         */
+        void degenerated(BST tree, int depth, int size);
+    }
+
     protected TNode root;
+    protected TNodePool nodePool;
+    protected OperationMetrics metrics;
+    protected MembershipFilter filter;
+    private int deleteVisits;
+    private boolean deleteFound;
+    private TNode deletedNode;
+    private int lastInsertDepth;
+    private int maxInsertDepth;
+    private DegenerationListener degenerationListener;
+    private double degenerationFactor;
+    private int size;
 
     /**
      * Constructs an empty binary search tree.
@@ -32,6 +71,7 @@ public class BST {
      */
     public BST(int val){
         this.root = new TNode(val, 0, null, null, null);
+        this.size = 1;
     }
 
     /**
@@ -40,6 +80,7 @@ public class BST {
      */
     public BST(TNode obj){
         this.root = obj;
+        this.size = countNodes(obj);
     }
 
     /**
@@ -51,34 +92,196 @@ public class BST {
     }
 
     /**
-     * Sets the root node of the binary search tree.
+     * Sets the root node of the binary search tree. The nodes below it are counted.
      * @param root The root node to be set.
      */
     public void setRoot(TNode root){
         this.root = root;
+        this.size = countNodes(root);
+        if (filter != null){
+            setFilter(filter);
+        }
     }
 
     /**
      * Inserts a new node with the given value into the binary search tree.
+     * The node is taken from the attached node pool if there is one.
      * @param val The value to be inserted into the binary search tree.
      */
     public void Insert(int val){
-        TNode newNode = new TNode(val, 0, null, null, null);
+        TNode newNode = nodePool != null ? nodePool.acquire(val) : new TNode(val, 0, null, null, null);
         Insert(newNode);
     }
 
+    /**
+     * Attaches a node pool to the tree, or detaches it when pool is null. While a pool is
+     * attached, Insert(int) takes its nodes from the pool and Delete gives the unlinked
+     * nodes back to it, so nodes of deleted values must not be used by the caller.
+     *
+     * @param pool The pool to use, for example TNodePool.threadLocal(), or null.
+     */
+    public void setNodePool(TNodePool pool){
+        this.nodePool = pool;
+    }
+
+    /**
+     * Returns the node pool attached to the tree.
+     *
+     * @return The attached pool, or null if the tree allocates its nodes.
+     */
+    public TNodePool getNodePool(){
+        return nodePool;
+    }
+
+    /**
+     * Attaches operation metrics to the tree, or detaches them when metrics is null.
+     * While metrics are attached, Insert, Search and Delete record their latency and
+     * the number of nodes they visited. Subclasses change the tree through insertNode
+     * and deleteValue, so their balancing work is recorded too; subclasses that
+     * replace Search do not record it.
+     *
+     * @param metrics The metrics to record into, or null.
+     */
+    public void setMetrics(OperationMetrics metrics){
+        this.metrics = metrics;
+    }
+
+    /**
+     * Returns the operation metrics attached to the tree.
+     *
+     * @return The attached metrics, or null if the tree records none.
+     */
+    public OperationMetrics getMetrics(){
+        return metrics;
+    }
+
+    /**
+     * Attaches a membership filter to the tree, or detaches it when filter is null. The
+     * filter is cleared and filled with the values of the tree, and from then on every
+     * inserted value is added to it and every deleted value removed from it. Search
+     * returns null at once, without walking the tree, for the values the filter rules
+     * out. A filter must not be shared with other structures.
+     *
+     * @param filter The filter to use, for example a CountingBloomFilter, or null.
+     */
+    public void setFilter(MembershipFilter filter){
+        this.filter = filter;
+        if (filter != null){
+            filter.clear();
+            forEachInOrder(filter::add);
+        }
+    }
+
+    /**
+     * Returns the membership filter attached to the tree.
+     *
+     * @return The attached filter, or null if the tree has none.
+     */
+    public MembershipFilter getFilter(){
+        return filter;
+    }
+
+    /**
+     * Adds a value that was inserted into the tree to the attached filter, if any.
+     * Subclasses that insert without insertNode call this.
+     *
+     * @param val The inserted value.
+     */
+    protected void filterAdd(int val){
+        if (filter != null){
+            filter.add(val);
+        }
+    }
+
+    /**
+     * Removes a value that was deleted from the tree from the attached filter, if any.
+     * Subclasses that delete without deleteValue call this.
+     *
+     * @param val The deleted value.
+     */
+    protected void filterRemove(int val){
+        if (filter != null){
+            filter.remove(val);
+        }
+    }
+
+    /**
+     * Accounts for a node that an insertion linked into the tree: its value is added to
+     * the filter, the size grows by one and the insertion depth statistics are updated.
+     * insertNode of BST calls this, and subclasses that link nodes with their own
+     * algorithm call it once per inserted node.
+     *
+     * @param val The inserted value.
+     * @param depth The depth at which the node was placed, the root being at depth 1.
+     */
+    protected void nodeInserted(int val, int depth){
+        filterAdd(val);
+        if (size >= 0){
+            size++;
+        }
+        recordInsertDepth(depth);
+    }
+
+    /**
+     * Accounts for a value that a deletion removed from the tree: it is removed from the
+     * filter, the size drops by one and the unlinked node is given back to the attached
+     * pool, if any. deleteValue of BST calls this, and subclasses that unlink nodes with
+     * their own algorithm call it once per deleted value.
+     *
+     * @param val The deleted value.
+     * @param removed The node that was unlinked from the tree, or null if it must not
+     *                go back to the pool.
+     */
+    protected void nodeDeleted(int val, TNode removed){
+        filterRemove(val);
+        if (size > 0){
+            size--;
+        }
+        if (nodePool != null && removed != null){
+            nodePool.release(removed);
+        }
+    }
+
+    /**
+     * Marks the number of nodes as unknown. Subclasses call this after relinking whole
+     * subtrees at once, as Treap split and join do, and the next size() counts the
+     * nodes again.
+     */
+    protected void invalidateSize(){
+        size = -1;
+    }
+
     /**
      * Inserts a new node into the binary search tree.
      * @param node The node to be inserted into the binary search tree.
      */
     public void Insert(TNode node){
+        long start = metrics != null ? System.nanoTime() : 0L;
+        int visited = insertNode(node);
+        if (metrics != null){
+            metrics.record(Operation.INSERT, visited, start);
+        }
+    }
+
+    /**
+     * Links a new node into the tree below the leaf where its value belongs. Subclasses
+     * that restore a balance after the insertion override this, so the work is part of
+     * the recorded Insert.
+     * @param node The node to be inserted.
+     * @return The number of nodes visited on the way down.
+     */
+    protected int insertNode(TNode node){
+        int visited = 0;
         if (root == null){
             root = node;
+            nodeInserted(node.getData(), 1);
+            return visited;
         }
         else {
             TNode current = root;
             TNode parent;
             while (true){
+                visited++;
                 parent = current;
                 if (node.getData() < current.getData()){
                     current = current.getLeft();
@@ -98,6 +301,8 @@ public class BST {
                 }
             }
         }
+        nodeInserted(node.getData(), visited + 1);
+        return visited;
     }
 
     /**
@@ -105,7 +310,28 @@ public class BST {
      * @param val The value to be deleted from the binary search tree.
      */
     public void Delete(int val){
+        long start = metrics != null ? System.nanoTime() : 0L;
+        int visited = deleteValue(val);
+        if (metrics != null){
+            metrics.record(Operation.DELETE, visited, start);
+        }
+    }
+
+    /**
+     * Removes a node with the given value. Subclasses that restore a balance after the
+     * deletion override this, so the work is part of the recorded Delete.
+     * @param val The value to be deleted.
+     * @return The number of nodes visited, including the search for the successor.
+     */
+    protected int deleteValue(int val){
+        deleteVisits = 0;
+        deleteFound = false;
         root = deleteNode(root, val);
+        if (deleteFound){
+            nodeDeleted(val, deletedNode);
+            deletedNode = null;
+        }
+        return deleteVisits;
     }
 
     /**
@@ -115,6 +341,7 @@ public class BST {
      * @return The root node of the updated subtree after deletion.
      */
     private TNode deleteNode(TNode node, int val){
+        deleteVisits++;
         if (node == null){
             System.out.println("Value not found in tree");
             return null;
@@ -125,6 +352,8 @@ public class BST {
         else if (val > node.getData()) {
             node.setRight(deleteNode(node.getRight(), val));
         } else {
+            deleteFound = true;
+            TNode removed = node;
             if (node.getLeft() == null && node.getRight() == null) {
                 node = null;
             } else if (node.getLeft() == null) {
@@ -132,10 +361,17 @@ public class BST {
             } else if (node.getRight() == null) {
                 node = node.getLeft();
             } else {
+                removed = null;
                 TNode minRight = findMinNode(node.getRight());
                 node.setData(minRight.getData());
                 node.setRight(deleteNode(node.getRight(), minRight.getData()));
             }
+            if (removed != null) {
+                if (node != null) {
+                    node.setParent(removed.getParent());
+                }
+                deletedNode = removed;
+            }
         }
         return node;
     }
@@ -158,17 +394,44 @@ public class BST {
      * @return The node with the given value, or null if not found.
      */
     public TNode Search(int val){
-        TNode current = root;
+        long start = metrics != null ? System.nanoTime() : 0L;
+        int visited = 0;
+        TNode current = filter != null && !filter.mightContain(val) ? null : root;
         while (current != null) {
+            visited++;
             if (current.getData() == val) {
-                return current;
+                break;
             } else if (val < current.getData()) {
                 current = current.getLeft();
             } else {
                 current = current.getRight();
             }
         }
-        return null;
+        if (metrics != null){
+            metrics.record(Operation.SEARCH, visited, start);
+        }
+        return current;
+    }
+
+    /**
+     * Passes every value to the action in ascending order. The traversal uses an
+     * explicit stack, so degenerate trees do not use any call stack.
+     * Time Complexity: O(n).
+     *
+     * @param action The action to run for each value.
+     */
+    public void forEachInOrder(IntConsumer action){
+        Deque<TNode> stack = new ArrayDeque<>();
+        TNode current = root;
+        while (current != null || !stack.isEmpty()) {
+            while (current != null) {
+                stack.push(current);
+                current = current.getLeft();
+            }
+            current = stack.pop();
+            action.accept(current.getData());
+            current = current.getRight();
+        }
     }
 
     /**
@@ -181,22 +444,44 @@ public class BST {
      * @return void
      */
     public void printInOrder(){
-        printInOrder(root);
+        try {
+            appendInOrder(System.out, Integer.MAX_VALUE);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
     }
 
     /**
-     * Helper method that performs in-order traversal of the binary search tree.
-     * Recursively visits the nodes in ascending order of their values.
-     * 
-     * @param node The current node being visited during the traversal.
-     * @return void
+     * Writes up to limit elements of the tree in in-order traversal to the given
+     * destination, followed by "..." if elements were left out. The output is buffered
+     * through a ChunkedWriter and the traversal uses an explicit stack, so it stops as
+     * soon as the limit is reached.
+     * Time Complexity: O(h + k), where k is the number of elements written.
+     *
+     * @param out The destination, for example a Writer or StringBuilder.
+     * @param limit The maximum number of elements to write.
+     * @throws IOException if the destination could not be written.
      */
-    private void printInOrder(TNode node){
-        if (node != null) {
-            printInOrder(node.getLeft());
-            System.out.print(node.getData() + " ");
-            printInOrder(node.getRight());
+    public void appendInOrder(Appendable out, int limit) throws IOException {
+        ChunkedWriter writer = new ChunkedWriter(out);
+        Deque<TNode> stack = new ArrayDeque<>();
+        TNode current = root;
+        int written = 0;
+        while (current != null || !stack.isEmpty()) {
+            while (current != null) {
+                stack.push(current);
+                current = current.getLeft();
+            }
+            current = stack.pop();
+            if (written == limit) {
+                writer.append("...");
+                break;
+            }
+            writer.value(current.getData());
+            written++;
+            current = current.getRight();
         }
+        writer.flush();
     }
 
     /**
@@ -209,16 +494,41 @@ public class BST {
      * @return void
      */
     public void printBF() {
+        try {
+            appendBF(System.out, Integer.MAX_VALUE);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Writes up to limit elements of the tree in breadth-first order to the given
+     * destination, one level per line, followed by "..." if elements were left out.
+     * The output is buffered through a ChunkedWriter.
+     *
+     * @param out The destination, for example a Writer or StringBuilder.
+     * @param limit The maximum number of elements to write.
+     * @throws IOException if the destination could not be written.
+     */
+    public void appendBF(Appendable out, int limit) throws IOException {
         if (root == null) {
             return;
         }
-        Queue<TNode> queue = new LinkedList<>();
+        ChunkedWriter writer = new ChunkedWriter(out);
+        Queue<TNode> queue = new ArrayDeque<>();
         queue.add(root);
+        int written = 0;
         while (!queue.isEmpty()) {
             int levelSize = queue.size();
             for (int i = 0; i < levelSize; i++) {
+                if (written == limit) {
+                    writer.append("...").newLine();
+                    writer.flush();
+                    return;
+                }
                 TNode node = queue.poll();
-                System.out.print(node.getData() + " ");
+                writer.value(node.getData());
+                written++;
                 if (node.getLeft() != null) {
                     queue.add(node.getLeft());
                 }
@@ -226,8 +536,346 @@ public class BST {
                     queue.add(node.getRight());
                 }
             }
-            System.out.println();
+            writer.newLine();
+        }
+        writer.flush();
+    }
+
+    /**
+     * Saves the tree to a binary snapshot file, keeping its exact shape.
+     * See Snapshot for the format.
+     *
+     * @param path The file to write. An existing file is replaced.
+     * @throws IOException if the file could not be written.
+     */
+    public void save(Path path) throws IOException {
+        Snapshot.writeTree(path, root);
+    }
+
+    /**
+     * Loads a binary search tree from a snapshot file written by save().
+     * The file is memory mapped and the nodes are rebuilt with their saved shape.
+     *
+     * @param path The snapshot file to read.
+     * @return A new tree with the saved nodes.
+     * @throws IOException if the file could not be read or is not a tree snapshot.
+     */
+    public static BST load(Path path) throws IOException {
+        return new BST(Snapshot.readTree(path));
+    }
+
+    /**
+     * Returns the number of nodes in the tree. The count is kept up to date by every
+     * insertion and deletion, and only counted again after invalidateSize.
+     * Time Complexity: O(1).
+     *
+     * @return The number of nodes.
+     */
+    public int size(){
+        if (size < 0) {
+            size = countNodes(root);
         }
+        return size;
+    }
+
+    /**
+     * Returns the height of the tree, the number of nodes on its longest path from the
+     * root to a leaf. The levels are walked one at a time, so a degenerate tree does not
+     * use any call stack.
+     * Time Complexity: O(n).
+     *
+     * @return The height, or 0 for an empty tree.
+     */
+    public int height(){
+        int height = 0;
+        Deque<TNode> level = new ArrayDeque<>();
+        if (root != null) {
+            level.add(root);
+        }
+        while (!level.isEmpty()) {
+            height++;
+            for (int i = level.size(); i > 0; i--) {
+                TNode node = level.remove();
+                if (node.getLeft() != null) {
+                    level.add(node.getLeft());
+                }
+                if (node.getRight() != null) {
+                    level.add(node.getRight());
+                }
+            }
+        }
+        return height;
+    }
+
+    /**
+     * Checks if the heights of the two subtrees of every node differ by at most one.
+     * Time Complexity: O(n).
+     *
+     * @return True if the tree is height-balanced.
+     */
+    public boolean isBalanced(){
+        return findUnbalanced() == null;
+    }
+
+    /**
+     * Checks the structure of the tree and throws at the first problem found: a node
+     * reached twice, a child whose parent reference is not its parent, a root with a
+     * parent, a value on the wrong side of an ancestor, or a size that is not the
+     * number of nodes. Equal values may sit on either side, since rotations can move
+     * them. Subclasses add their own rules.
+     * Time Complexity: O(n).
+     *
+     * @throws IllegalStateException describing the first violation found.
+     */
+    public void verifyInvariants(){
+        if (root == null) {
+            checkSize(0);
+            return;
+        }
+        if (root.getParent() != null) {
+            throw new IllegalStateException("Root " + root.getData() + " has a parent");
+        }
+        Set<TNode> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+        Deque<TNode> nodes = new ArrayDeque<>();
+        Deque<long[]> bounds = new ArrayDeque<>();
+        nodes.push(root);
+        bounds.push(new long[] {Long.MIN_VALUE, Long.MAX_VALUE});
+        while (!nodes.isEmpty()) {
+            TNode node = nodes.pop();
+            long[] range = bounds.pop();
+            if (!seen.add(node)) {
+                throw new IllegalStateException("Node " + node.getData() + " is reached twice");
+            }
+            if (node.getData() < range[0] || node.getData() > range[1]) {
+                throw new IllegalStateException("Node " + node.getData() + " is outside the range "
+                        + range[0] + " to " + range[1] + " set by its ancestors");
+            }
+            TNode left = node.getLeft();
+            TNode right = node.getRight();
+            if (left != null) {
+                if (left.getParent() != node) {
+                    throw new IllegalStateException("Left child " + left.getData() + " of " + node.getData() + " has the wrong parent");
+                }
+                nodes.push(left);
+                bounds.push(new long[] {range[0], node.getData()});
+            }
+            if (right != null) {
+                if (right.getParent() != node) {
+                    throw new IllegalStateException("Right child " + right.getData() + " of " + node.getData() + " has the wrong parent");
+                }
+                nodes.push(right);
+                bounds.push(new long[] {node.getData(), range[1]});
+            }
+        }
+        checkSize(seen.size());
+    }
+
+    private void checkSize(int counted){
+        if (size >= 0 && size != counted) {
+            throw new IllegalStateException("Size is " + size + " but the tree holds " + counted + " nodes");
+        }
+    }
+
+    /**
+     * Returns the first node, in post-order, whose subtree heights differ by more than
+     * one. Heights are computed bottom-up without recursion.
+     *
+     * @return The unbalanced node, or null if the tree is height-balanced.
+     */
+    protected TNode findUnbalanced(){
+        if (root == null) {
+            return null;
+        }
+        List<TNode> order = new ArrayList<>();
+        Deque<TNode> stack = new ArrayDeque<>();
+        stack.push(root);
+        while (!stack.isEmpty()) {
+            TNode node = stack.pop();
+            order.add(node);
+            if (node.getLeft() != null) {
+                stack.push(node.getLeft());
+            }
+            if (node.getRight() != null) {
+                stack.push(node.getRight());
+            }
+        }
+        // Children come after their parent in order, so walk it backwards
+        Map<TNode, Integer> heights = new IdentityHashMap<>();
+        for (int i = order.size() - 1; i >= 0; i--) {
+            TNode node = order.get(i);
+            int left = node.getLeft() == null ? 0 : heights.get(node.getLeft());
+            int right = node.getRight() == null ? 0 : heights.get(node.getRight());
+            if (Math.abs(left - right) > 1) {
+                return node;
+            }
+            heights.put(node, Math.max(left, right) + 1);
+        }
+        return null;
+    }
+
+    /**
+     * Returns the depth at which the last insertion placed its node, the root being at
+     * depth 1. Kept by Insert of BST and of the subclasses that insert through it.
+     * Time Complexity: O(1).
+     *
+     * @return The depth of the last inserted node, or 0 if none was inserted.
+     */
+    public int getLastInsertDepth(){
+        return lastInsertDepth;
+    }
+
+    /**
+     * Returns the largest depth at which an insertion placed its node. Rotations and
+     * deletions may have made the tree shallower since.
+     * Time Complexity: O(1).
+     *
+     * @return The largest insertion depth, or 0 if none was inserted.
+     */
+    public int getMaxInsertDepth(){
+        return maxInsertDepth;
+    }
+
+    /**
+     * Attaches a listener that is called after every insertion placing its node deeper
+     * than factor * log2(n + 1), n being the number of nodes, or detaches it when
+     * listener is null. A tree of n nodes cannot be less deep than log2(n + 1), so a
+     * factor of 2 reports trees about twice as deep as needed. n is the size kept by
+     * nodeInserted and nodeDeleted.
+     *
+     * @param listener The listener, or null.
+     * @param factor The allowed multiple of the smallest possible depth.
+     * @throws IllegalArgumentException if factor is less than 1.
+     */
+    public void setDegenerationListener(DegenerationListener listener, double factor){
+        if (!(factor >= 1)) {
+            throw new IllegalArgumentException("factor must be at least 1");
+        }
+        this.degenerationListener = listener;
+        this.degenerationFactor = factor;
+    }
+
+    /**
+     * Updates the insertion depth statistics and alerts the degeneration listener.
+     */
+    private void recordInsertDepth(int depth){
+        lastInsertDepth = depth;
+        if (depth > maxInsertDepth) {
+            maxInsertDepth = depth;
+        }
+        if (degenerationListener != null) {
+            int n = size();
+            double allowed = degenerationFactor * (Math.log(n + 1) / Math.log(2));
+            if (depth > allowed) {
+                degenerationListener.degenerated(this, depth, n);
+            }
+        }
+    }
+
+    /**
+     * Counts the nodes of a subtree without recursion.
+     * Time Complexity: O(n).
+     *
+     * @param node The root of the subtree, or null.
+     * @return The number of nodes.
+     */
+    protected static int countNodes(TNode node){
+        int count = 0;
+        Deque<TNode> stack = new ArrayDeque<>();
+        if (node != null) {
+            stack.push(node);
+        }
+        while (!stack.isEmpty()) {
+            TNode current = stack.pop();
+            count++;
+            if (current.getLeft() != null) {
+                stack.push(current.getLeft());
+            }
+            if (current.getRight() != null) {
+                stack.push(current.getRight());
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Relinks the count nodes of a subtree into a perfectly balanced subtree and
+     * returns its root, whose parent is cleared.
+     * Time Complexity: O(n).
+     *
+     * @param subtree The root of the subtree, or null.
+     * @param count The number of nodes in the subtree.
+     * @return The root of the rebuilt subtree.
+     */
+    protected static TNode rebuild(TNode subtree, int count){
+        if (subtree == null) {
+            return null;
+        }
+        TNode[] nodes = new TNode[count];
+        int i = 0;
+        Deque<TNode> stack = new ArrayDeque<>();
+        TNode current = subtree;
+        while (current != null || !stack.isEmpty()) {
+            while (current != null) {
+                stack.push(current);
+                current = current.getLeft();
+            }
+            current = stack.pop();
+            nodes[i++] = current;
+            current = current.getRight();
+        }
+        TNode rebuilt = build(nodes, 0, count - 1);
+        rebuilt.setParent(null);
+        return rebuilt;
+    }
+
+    /**
+     * Makes the middle node of nodes[low..high] the root of the others. The recursion
+     * is only O(log n) deep.
+     */
+    private static TNode build(TNode[] nodes, int low, int high){
+        if (low > high) {
+            return null;
+        }
+        int mid = (low + high) >>> 1;
+        TNode node = nodes[mid];
+        TNode left = build(nodes, low, mid - 1);
+        TNode right = build(nodes, mid + 1, high);
+        node.setLeft(left);
+        node.setRight(right);
+        if (left != null) {
+            left.setParent(node);
+        }
+        if (right != null) {
+            right.setParent(node);
+        }
+        return node;
+    }
+
+    /**
+     * Returns an estimate of the heap used by the tree and its nodes, counting each node
+     * by its own class. An attached node pool can be shared, so it is not counted.
+     * Time Complexity: O(n).
+     *
+     * @return The estimated number of bytes.
+     */
+    @Override
+    public long memoryFootprint(){
+        long bytes = MemoryLayout.shallowSizeOf(getClass());
+        Deque<TNode> stack = new ArrayDeque<>();
+        if (root != null) {
+            stack.push(root);
+        }
+        while (!stack.isEmpty()) {
+            TNode node = stack.pop();
+            bytes += MemoryLayout.shallowSizeOf(node.getClass());
+            if (node.getLeft() != null) {
+                stack.push(node.getLeft());
+            }
+            if (node.getRight() != null) {
+                stack.push(node.getRight());
+            }
+        }
+        return bytes;
     }
 
     public static void main(String[] args) {
@@ -281,6 +929,28 @@ public class BST {
                                            1 6 8 */
         System.out.println();
 
+        // Record the nodes visited by searches in a tree built from sorted input
+        BST chain = new BST();
+        OperationMetrics metrics = new OperationMetrics();
+        chain.setMetrics(metrics);
+        for (int i = 1; i <= 10; i++) {
+            chain.Insert(i);
+        }
+        chain.Search(10);
+        System.out.println("Nodes visited by the search: " + metrics.getMaxNodesVisited(Operation.SEARCH)); // Expected output: 10
+
+        // Check the shape of the same tree
+        chain.verifyInvariants();
+        System.out.println("Height: " + chain.height() + ", size: " + chain.size() + ", balanced: " + chain.isBalanced()); // Expected output: Height: 10, size: 10, balanced: false
+        chain.setDegenerationListener((tree, depth, size) ->
+                System.out.println("Degenerated: depth " + depth + " with " + size + " nodes"), 2);
+        chain.Insert(11); // Expected output: Degenerated: depth 11 with 11 nodes
+
+        // With a filter attached, a search for an absent value does not walk the chain
+        chain.setFilter(new BloomFilter(100, 0.01));
+        System.out.println("Search 42: " + chain.Search(42)); // Expected output: Search 42: null
+        System.out.println();
+
     }
     
 }
\ No newline at end of file
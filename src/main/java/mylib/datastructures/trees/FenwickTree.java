@@ -0,0 +1,228 @@
+package main.java.mylib.datastructures.trees;
+
+import main.java.mylib.datastructures.metrics.Instrumented;
+import main.java.mylib.datastructures.metrics.MemoryLayout;
+
+/**
+ * FenwickTree class represents a Fenwick tree (binary indexed tree) over an array of long
+ * values indexed from 0. Each slot of the internal array holds the sum of a block of
+ * values whose length is the lowest set bit of its position, so any prefix sum is the sum
+ * of at most log2(n) + 1 blocks. Point updates, prefix sums and range sums take O(log n)
+ * and the tree is built from an array in O(n).
+ *
+ * Adding a value to a whole range is supported with two more block arrays that hold the
+ * pending range additions as a linear function of the position, so range updates are
+ * O(log n) as well. They are only allocated on the first range update.
+ *
+ * @author Eeman Abid
+ *         <a href="mailto:eeman.abid@ucalgary.ca">eeman.abid@ucalgary.ca</a>
+ * @author Hareem Khan
+ *         <a href="mailto:hareem.khan@ucalgary.ca">hareem.khan@ucalgary.ca</a>
+ */
+
+public class FenwickTree implements Instrumented {
+    private final int n;
+    private final long[] tree;
+    private long[] rangeSlope;
+    private long[] rangeOffset;
+
+    /**
+     * Constructor for FenwickTree class that creates a tree of n zero values.
+     *
+     * @param n The number of values.
+     * @throws IllegalArgumentException if n is negative.
+     */
+    public FenwickTree(int n){
+        if (n < 0){
+            throw new IllegalArgumentException("size must not be negative");
+        }
+        this.n = n;
+        this.tree = new long[n + 1];
+    }
+
+    /**
+     * Constructor for FenwickTree class that builds the tree from an array in O(n).
+     *
+     * @param values The initial values. The array is not kept.
+     */
+    public FenwickTree(long[] values){
+        this(values.length);
+        for (int i = 1; i <= n; i++){
+            tree[i] += values[i - 1];
+            int parent = i + (i & -i);
+            if (parent <= n){
+                tree[parent] += tree[i];
+            }
+        }
+    }
+
+    /**
+     * Constructor for FenwickTree class that builds the tree from an int array in O(n).
+     *
+     * @param values The initial values. The array is not kept.
+     */
+    public FenwickTree(int[] values){
+        this(values.length);
+        for (int i = 1; i <= n; i++){
+            tree[i] += values[i - 1];
+            int parent = i + (i & -i);
+            if (parent <= n){
+                tree[parent] += tree[i];
+            }
+        }
+    }
+
+    /**
+     * Returns the number of values.
+     *
+     * @return The number of values.
+     */
+    public int size(){
+        return n;
+    }
+
+    /**
+     * Adds delta to the value at index i.
+     * Time Complexity: O(log n).
+     *
+     * @param i The index of the value.
+     * @param delta The amount to add.
+     */
+    public void add(int i, long delta){
+        checkIndex(i);
+        add(tree, i + 1, delta);
+    }
+
+    /**
+     * Replaces the value at index i.
+     * Time Complexity: O(log n).
+     *
+     * @param i The index of the value.
+     * @param value The new value.
+     */
+    public void set(int i, long value){
+        add(i, value - get(i));
+    }
+
+    /**
+     * Returns the value at index i.
+     * Time Complexity: O(log n).
+     *
+     * @param i The index of the value.
+     * @return The value at index i.
+     */
+    public long get(int i){
+        return rangeSum(i, i);
+    }
+
+    /**
+     * Adds delta to every value with an index from lo to hi, both included.
+     * Time Complexity: O(log n).
+     *
+     * @param lo The first index of the range.
+     * @param hi The last index of the range.
+     * @param delta The amount to add to each value.
+     */
+    public void rangeAdd(int lo, int hi, long delta){
+        checkRange(lo, hi);
+        if (rangeSlope == null){
+            rangeSlope = new long[n + 1];
+            rangeOffset = new long[n + 1];
+        }
+        // The sum of the first p values grows by delta * (p - lo) inside the range and
+        // by delta * (hi + 1 - lo) after it, both of the form slope * p - offset
+        add(rangeSlope, lo + 1, delta);
+        add(rangeSlope, hi + 2, -delta);
+        add(rangeOffset, lo + 1, delta * lo);
+        add(rangeOffset, hi + 2, -delta * (hi + 1));
+    }
+
+    /**
+     * Returns the sum of the values with an index from 0 to i, both included.
+     * Time Complexity: O(log n).
+     *
+     * @param i The last index of the prefix, or -1 for the empty prefix.
+     * @return The sum of the prefix.
+     */
+    public long prefixSum(int i){
+        if (i < -1 || i >= n){
+            throw new IndexOutOfBoundsException("Index: " + i + ", Size: " + n);
+        }
+        int p = i + 1;
+        long sum = sum(tree, p);
+        if (rangeSlope != null){
+            sum += sum(rangeSlope, p) * p - sum(rangeOffset, p);
+        }
+        return sum;
+    }
+
+    /**
+     * Returns the sum of the values with an index from lo to hi, both included.
+     * Time Complexity: O(log n).
+     *
+     * @param lo The first index of the range.
+     * @param hi The last index of the range.
+     * @return The sum of the range.
+     */
+    public long rangeSum(int lo, int hi){
+        checkRange(lo, hi);
+        return prefixSum(hi) - prefixSum(lo - 1);
+    }
+
+    private void add(long[] blocks, int p, long delta){
+        for (; p <= n; p += p & -p){
+            blocks[p] += delta;
+        }
+    }
+
+    private static long sum(long[] blocks, int p){
+        long sum = 0;
+        for (; p > 0; p -= p & -p){
+            sum += blocks[p];
+        }
+        return sum;
+    }
+
+    private void checkIndex(int i){
+        if (i < 0 || i >= n){
+            throw new IndexOutOfBoundsException("Index: " + i + ", Size: " + n);
+        }
+    }
+
+    private void checkRange(int lo, int hi){
+        checkIndex(lo);
+        checkIndex(hi);
+        if (lo > hi){
+            throw new IllegalArgumentException("lo must not be greater than hi");
+        }
+    }
+
+    /**
+     * Returns an estimate of the heap used by the tree and its arrays.
+     * Time Complexity: O(1).
+     *
+     * @return The estimated number of bytes.
+     */
+    @Override
+    public long memoryFootprint(){
+        return MemoryLayout.shallowSizeOf(getClass()) + MemoryLayout.sizeOf(tree)
+                + MemoryLayout.sizeOf(rangeSlope) + MemoryLayout.sizeOf(rangeOffset);
+    }
+
+    public static void main(String[] args) {
+        System.out.println("\nFenwickTree Tests");
+
+        FenwickTree tree = new FenwickTree(new int[]{5, 3, 7, 9, 6, 4, 1, 2});
+
+        System.out.println("Sum of 0..7: " + tree.rangeSum(0, 7)); //should output: 37
+        System.out.println("Sum of 2..5: " + tree.rangeSum(2, 5)); //should output: 26
+
+        // Point and range updates
+        tree.add(3, 10);
+        tree.rangeAdd(1, 4, 2);
+        System.out.println("Sum of 2..5 after updates: " + tree.rangeSum(2, 5)); //should output: 42
+        System.out.println("Value at 1: " + tree.get(1)); //should output: 5
+        tree.set(1, 0);
+        System.out.println("Prefix sum of 0..1: " + tree.prefixSum(1) + "\n"); //should output: 5
+    }
+}
@@ -0,0 +1,406 @@
+package main.java.mylib.datastructures.trees;
+
+import main.java.mylib.datastructures.nodes.TNode;
+import main.java.mylib.datastructures.io.ChunkedWriter;
+import main.java.mylib.datastructures.io.Snapshot;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * IntervalTree class stores closed intervals [low, high] and finds the ones that overlap
+ * a query interval or contain a point. It is an AVL tree ordered by low endpoint (then by
+ * high endpoint), where every node also records the largest high endpoint found in its
+ * subtree. A query skips any subtree whose largest endpoint lies before the query, so
+ * reporting k intervals out of n takes O(log n + k) for typical queries and never more
+ * than O(min(n, k log n)).
+ *
+ * It extends the AVL class and rebalances with its rotations, which call updateNode so
+ * the stored maximum and height stay correct while the tree changes shape. The height of
+ * each node is kept in the balance field of TNode. The Insert, Delete and Search methods
+ * inherited from BST work on the point interval [val, val] and the low endpoint.
+ *
+ * @author Eeman Abid
+ *         <a href="mailto:eeman.abid@ucalgary.ca">eeman.abid@ucalgary.ca</a>
+ * @author Hareem Khan
+ *         <a href="mailto:hareem.khan@ucalgary.ca">hareem.khan@ucalgary.ca</a>
+ */
+
+public class IntervalTree extends AVL {
+
+    /**
+     * Receives the two endpoints of each interval found by a query.
+     */
+    public interface IntervalConsumer {
+        void accept(int low, int high);
+    }
+
+    /**
+     * Tree node holding an interval. The low endpoint is the node's data.
+     */
+    private static final class IntervalNode extends TNode {
+        int high;
+        int max;
+
+        IntervalNode(int low, int high){
+            super(low, 1, null, null, null);
+            this.high = high;
+            this.max = high;
+        }
+    }
+
+    private boolean deleted;
+
+    /**
+     * Default constructor for IntervalTree class.
+     * Creates an empty interval tree.
+     */
+    public IntervalTree(){
+        super();
+    }
+
+    /**
+     * Constructor for IntervalTree class that takes an initial interval.
+     *
+     * @param low The low endpoint of the first interval.
+     * @param high The high endpoint of the first interval.
+     */
+    public IntervalTree(int low, int high){
+        super();
+        insert(low, high);
+    }
+
+    /**
+     * Inserts the closed interval [low, high]. The same interval may be inserted more
+     * than once.
+     * Time Complexity: O(log n).
+     *
+     * @param low The low endpoint.
+     * @param high The high endpoint.
+     * @throws IllegalArgumentException if low is greater than high.
+     */
+    public void insert(int low, int high){
+        if (low > high){
+            throw new IllegalArgumentException("low must not be greater than high");
+        }
+        IntervalNode fresh = new IntervalNode(low, high);
+        root = insert(root, fresh);
+        root.setParent(null);
+        int depth = 0;
+        for (TNode node = fresh; node != null; node = node.getParent()){
+            depth++;
+        }
+        nodeInserted(low, depth);
+    }
+
+    /**
+     * Deletes one occurrence of the closed interval [low, high].
+     * Time Complexity: O(log n).
+     *
+     * @param low The low endpoint.
+     * @param high The high endpoint.
+     * @return True if the interval was found and deleted, false otherwise.
+     */
+    public boolean delete(int low, int high){
+        deleted = false;
+        root = delete(root, low, high);
+        if (root != null){
+            root.setParent(null);
+        }
+        if (!deleted){
+            return false;
+        }
+        nodeDeleted(low, null);
+        return true;
+    }
+
+    /**
+     * Passes every stored interval that overlaps [low, high] to the action, in order of
+     * their low endpoints.
+     * Time Complexity: O(log n + k) for typical queries, k being the number reported.
+     *
+     * @param low The low endpoint of the query.
+     * @param high The high endpoint of the query.
+     * @param action The action to run for each overlapping interval.
+     * @return The number of intervals reported.
+     */
+    public int overlapping(int low, int high, IntervalConsumer action){
+        int found = 0;
+        Deque<TNode> stack = new ArrayDeque<>();
+        TNode current = root;
+        while (current != null || !stack.isEmpty()){
+            // Go left while the left subtree can still reach low
+            while (current != null && max(current) >= low){
+                stack.push(current);
+                current = current.getLeft();
+            }
+            if (stack.isEmpty()){
+                break;
+            }
+            IntervalNode node = (IntervalNode) stack.pop();
+            if (node.getData() > high){
+                // This node and everything after it starts past the query
+                break;
+            }
+            if (node.high >= low){
+                action.accept(node.getData(), node.high);
+                found++;
+            }
+            current = node.getRight();
+        }
+        return found;
+    }
+
+    /**
+     * Passes every stored interval that contains the point to the action.
+     *
+     * @param point The point to look up.
+     * @param action The action to run for each interval containing the point.
+     * @return The number of intervals reported.
+     */
+    public int stab(int point, IntervalConsumer action){
+        return overlapping(point, point, action);
+    }
+
+    /**
+     * Inserts the point interval [val, val].
+     *
+     * @param val The point to be inserted.
+     */
+    @Override
+    public void Insert(int val){
+        insert(val, val);
+    }
+
+    /**
+     * Inserts the point interval [data, data] for the node's value. The node itself is
+     * not linked into the tree, since interval nodes carry the extra endpoint data.
+     *
+     * @param node The node whose value is inserted.
+     */
+    @Override
+    public void Insert(TNode node){
+        insert(node.getData(), node.getData());
+    }
+
+    /**
+     * Deletes the point interval [val, val]. Prints a message if it is not in the tree.
+     *
+     * @param val The point to be deleted.
+     */
+    @Override
+    public void Delete(int val){
+        if (!delete(val, val)){
+            System.out.println("Value not found in tree");
+        }
+    }
+
+    /**
+     * Writes up to limit intervals in order of their low endpoints, as [low, high].
+     *
+     * @param out The destination, for example a Writer or StringBuilder.
+     * @param limit The maximum number of intervals to write.
+     * @throws IOException if the destination could not be written.
+     */
+    @Override
+    public void appendInOrder(Appendable out, int limit) throws IOException {
+        ChunkedWriter writer = new ChunkedWriter(out);
+        Deque<TNode> stack = new ArrayDeque<>();
+        TNode current = root;
+        int written = 0;
+        while (current != null || !stack.isEmpty()) {
+            while (current != null) {
+                stack.push(current);
+                current = current.getLeft();
+            }
+            current = stack.pop();
+            if (written == limit) {
+                writer.append("...");
+                break;
+            }
+            writer.append("[" + current.getData() + ", " + ((IntervalNode) current).high + "] ");
+            written++;
+            current = current.getRight();
+        }
+        writer.flush();
+    }
+
+    /**
+     * Saves the tree to a binary snapshot file, keeping its exact shape. The high
+     * endpoint of each interval is stored as the second value of its node.
+     *
+     * @param path The file to write. An existing file is replaced.
+     * @throws IOException if the file could not be written.
+     */
+    @Override
+    public void save(Path path) throws IOException {
+        Snapshot.writeTree(path, root, node -> ((IntervalNode) node).high);
+    }
+
+    /**
+     * Loads an interval tree from a snapshot file written by save(). The heights and
+     * largest endpoints are computed as the nodes are linked in. A snapshot of another
+     * tree loads as point intervals [val, val].
+     *
+     * @param path The snapshot file to read.
+     * @return A new interval tree with the saved intervals.
+     * @throws IOException if the file could not be read or is not a tree snapshot.
+     */
+    public static IntervalTree load(Path path) throws IOException {
+        IntervalTree tree = new IntervalTree();
+        tree.setRoot(Snapshot.readTree(path, IntervalNode::new));
+        return tree;
+    }
+
+    /**
+     * Recomputes the height and the largest high endpoint of a node from its children.
+     *
+     * @param node The node whose children changed.
+     */
+    @Override
+    protected void updateNode(TNode node){
+        super.updateNode(node);
+        IntervalNode interval = (IntervalNode) node;
+        interval.max = Math.max(interval.high, Math.max(max(node.getLeft()), max(node.getRight())));
+    }
+
+    private TNode insert(TNode node, IntervalNode fresh){
+        if (node == null){
+            return fresh;
+        }
+        if (compare(fresh.getData(), fresh.high, node) < 0){
+            setLeft(node, insert(node.getLeft(), fresh));
+        }
+        else {
+            setRight(node, insert(node.getRight(), fresh));
+        }
+        return rebalance(node);
+    }
+
+    private TNode delete(TNode node, int low, int high){
+        if (node == null){
+            return null;
+        }
+        int cmp = compare(low, high, node);
+        if (cmp < 0){
+            setLeft(node, delete(node.getLeft(), low, high));
+        }
+        else if (cmp > 0){
+            setRight(node, delete(node.getRight(), low, high));
+        }
+        else {
+            if (node.getLeft() == null || node.getRight() == null){
+                deleted = true;
+                return node.getLeft() != null ? node.getLeft() : node.getRight();
+            }
+            // Move the in-order successor's interval here and delete it from the right
+            IntervalNode successor = (IntervalNode) node.getRight();
+            while (successor.getLeft() != null){
+                successor = (IntervalNode) successor.getLeft();
+            }
+            node.setData(successor.getData());
+            ((IntervalNode) node).high = successor.high;
+            setRight(node, delete(node.getRight(), successor.getData(), successor.high));
+        }
+        return rebalance(node);
+    }
+
+    /**
+     * Updates a node after one of its subtrees changed and applies a single or double
+     * rotation if the heights of its children differ by more than one.
+     *
+     * @return The new root of the subtree.
+     */
+    private TNode rebalance(TNode node){
+        updateNode(node);
+        int balance = height(node.getLeft()) - height(node.getRight());
+        if (balance > 1){
+            TNode left = node.getLeft();
+            if (height(left.getLeft()) < height(left.getRight())){
+                node.setLeft(rotateLeft(left));
+            }
+            return rotateRight(node);
+        }
+        if (balance < -1){
+            TNode right = node.getRight();
+            if (height(right.getRight()) < height(right.getLeft())){
+                node.setRight(rotateRight(right));
+            }
+            return rotateLeft(node);
+        }
+        return node;
+    }
+
+    /**
+     * Orders intervals by low endpoint, then by high endpoint.
+     */
+    private static int compare(int low, int high, TNode node){
+        if (low != node.getData()){
+            return low < node.getData() ? -1 : 1;
+        }
+        return Integer.compare(high, ((IntervalNode) node).high);
+    }
+
+    private static int height(TNode node){
+        return node == null ? 0 : node.getBalance();
+    }
+
+    private static int max(TNode node){
+        return node == null ? Integer.MIN_VALUE : ((IntervalNode) node).max;
+    }
+
+    private static void setLeft(TNode parent, TNode child){
+        parent.setLeft(child);
+        if (child != null){
+            child.setParent(parent);
+        }
+    }
+
+    private static void setRight(TNode parent, TNode child){
+        parent.setRight(child);
+        if (child != null){
+            child.setParent(parent);
+        }
+    }
+
+    public static void main(String[] args) {
+        System.out.println("\nIntervalTree Tests");
+
+        IntervalTree tree = new IntervalTree();
+
+        // Insert intervals
+        tree.insert(15, 20);
+        tree.insert(10, 30);
+        tree.insert(17, 19);
+        tree.insert(5, 20);
+        tree.insert(12, 15);
+        tree.insert(30, 40);
+
+        // Print tree
+        System.out.println("Interval tree after insertion:");
+        tree.printInOrder(); //should output: [5, 20] [10, 30] [12, 15] [15, 20] [17, 19] [30, 40]
+        System.out.println("\n");
+
+        // Overlap and stabbing queries
+        System.out.print("Overlapping [6, 7]: ");
+        tree.overlapping(6, 7, (low, high) -> System.out.print("[" + low + ", " + high + "] "));
+        System.out.println(); //should output: [5, 20]
+        System.out.print("Containing 18: ");
+        tree.stab(18, (low, high) -> System.out.print("[" + low + ", " + high + "] "));
+        System.out.println("\n"); //should output: [5, 20] [10, 30] [15, 20] [17, 19]
+
+        // Delete intervals
+        tree.delete(10, 30);
+        tree.delete(17, 19);
+
+        // Print tree
+        System.out.println("Interval tree after deletion:");
+        tree.printInOrder(); //should output: [5, 20] [12, 15] [15, 20] [30, 40]
+        System.out.println("\n");
+        System.out.print("Containing 30: ");
+        tree.stab(30, (low, high) -> System.out.print("[" + low + ", " + high + "] "));
+        System.out.println(); //should output: [30, 40]
+        System.out.println("Size: " + tree.size() + "\n"); //should output: 4
+    }
+}
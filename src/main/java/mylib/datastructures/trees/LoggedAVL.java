@@ -0,0 +1,163 @@
+package main.java.mylib.datastructures.trees;
+
+import main.java.mylib.datastructures.nodes.TNode;
+import main.java.mylib.datastructures.io.MutationLog;
+import main.java.mylib.datastructures.io.Snapshot;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+
+/**
+ * LoggedAVL is an AVL tree whose insertions and deletions are recorded in a
+ * MutationLog, so the tree can be rebuilt after a crash. Records reach the disk in
+ * groups of groupSize with one FileChannel.force each, and the log is compacted into a
+ * snapshot of the tree once it holds compactThreshold records.
+ *
+ * @author Eeman Abid
+ *         <a href="mailto:eeman.abid@ucalgary.ca">eeman.abid@ucalgary.ca</a>
+ * @author Hareem Khan
+ *         <a href="mailto:hareem.khan@ucalgary.ca">hareem.khan@ucalgary.ca</a>
+ */
+
+public class LoggedAVL extends AVL implements Closeable {
+    private static final byte INSERT = 1;
+    private static final byte DELETE = 2;
+
+    private final MutationLog log;
+    private final long compactThreshold;
+    private boolean replaying;
+    private int depth;
+
+    private LoggedAVL(MutationLog log, long compactThreshold) {
+        super();
+        this.log = log;
+        this.compactThreshold = compactThreshold;
+    }
+
+    /**
+     * Opens a logged AVL tree, restoring it from the latest snapshot and the records
+     * logged after it.
+     *
+     * @param base The base path of the log and snapshot files.
+     * @param groupSize The number of records forced to disk together.
+     * @param compactThreshold The log length that triggers compaction, or 0 to
+     *                         compact only when compact() is called.
+     * @return The restored tree.
+     * @throws IOException if the log or snapshot could not be read.
+     */
+    public static LoggedAVL open(Path base, int groupSize, long compactThreshold) throws IOException {
+        MutationLog log = MutationLog.open(base, groupSize);
+        LoggedAVL tree = new LoggedAVL(log, compactThreshold);
+        tree.replaying = true;
+        try {
+            Path snapshot = log.snapshotPath();
+            if (snapshot != null) {
+                tree.setRoot(Snapshot.readTree(snapshot));
+            }
+            log.replay(tree::apply);
+        } catch (IOException e) {
+            log.close();
+            throw e;
+        } finally {
+            tree.replaying = false;
+        }
+        return tree;
+    }
+
+    @Override
+    public void Insert(int val) {
+        depth++;
+        try {
+            super.Insert(val);
+        } finally {
+            depth--;
+        }
+        record(INSERT, val);
+    }
+
+    @Override
+    public void Insert(TNode node) {
+        depth++;
+        try {
+            super.Insert(node);
+        } finally {
+            depth--;
+        }
+        record(INSERT, node.getData());
+    }
+
+    /**
+     * Deletes the value from the tree. Nothing is logged if the value is not present.
+     *
+     * @param val The value to be deleted.
+     */
+    @Override
+    public void Delete(int val) {
+        boolean present = Search(val) != null;
+        super.Delete(val);
+        if (present) {
+            record(DELETE, val);
+        }
+    }
+
+    /**
+     * Forces all logged mutations to disk.
+     *
+     * @throws IOException if the log could not be written.
+     */
+    public void commit() throws IOException {
+        log.commit();
+    }
+
+    /**
+     * Writes a snapshot of the tree and starts a new, empty log.
+     *
+     * @throws IOException if the snapshot or log could not be written.
+     */
+    public void compact() throws IOException {
+        log.compact(this::save);
+    }
+
+    /**
+     * Commits pending mutations and closes the log. The tree stays usable in memory
+     * but further mutations can no longer be logged.
+     *
+     * @throws IOException if the log could not be written.
+     */
+    @Override
+    public void close() throws IOException {
+        log.close();
+    }
+
+    /**
+     * Appends a record for a completed top-level mutation and compacts the log once it
+     * reaches the threshold.
+     */
+    private void record(byte op, int val) {
+        if (depth > 0 || replaying) {
+            return;
+        }
+        try {
+            log.append(op, val, 0);
+            if (compactThreshold > 0 && log.size() >= compactThreshold) {
+                compact();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Applies one logged mutation during replay.
+     */
+    private void apply(byte op, int val, int unused) {
+        if (op == INSERT) {
+            Insert(val);
+        } else if (op == DELETE) {
+            Delete(val);
+        } else {
+            throw new IllegalStateException("Unknown log record: " + op);
+        }
+    }
+}
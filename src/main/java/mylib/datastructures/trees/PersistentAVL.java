@@ -0,0 +1,365 @@
+package main.java.mylib.datastructures.trees;
+
+import main.java.mylib.datastructures.io.ChunkedWriter;
+import main.java.mylib.datastructures.metrics.Instrumented;
+import main.java.mylib.datastructures.metrics.MemoryLayout;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Queue;
+import java.util.function.IntConsumer;
+
+/**
+ * PersistentAVL is an immutable AVL tree. Insert and Delete leave the tree they are
+ * called on unchanged and return a new version that shares every untouched node with
+ * the old one, copying only the O(log n) nodes on the path to the change. Holding on
+ * to a version is therefore an O(1) point-in-time snapshot: readers can traverse it
+ * without locks while a writer keeps producing newer versions.
+ *
+ * The nodes cannot be TNode objects, because TNode is mutable and keeps a parent
+ * reference that a node shared by several versions could not have. Each node instead
+ * stores its value, its children and the height of its subtree. As in BST, equal
+ * values are placed in the right subtree.
+ *
+ * @author Eeman Abid
+ *         <a href="mailto:eeman.abid@ucalgary.ca">eeman.abid@ucalgary.ca</a>
+ * @author Hareem Khan
+ *         <a href="mailto:hareem.khan@ucalgary.ca">hareem.khan@ucalgary.ca</a>
+ */
+
+public final class PersistentAVL implements Instrumented {
+
+    /**
+     * Immutable tree node.
+     */
+    private static final class Node {
+        final int data;
+        final Node left;
+        final Node right;
+        final int height;
+
+        Node(int data, Node left, Node right) {
+            this.data = data;
+            this.left = left;
+            this.right = right;
+            this.height = Math.max(height(left), height(right)) + 1;
+        }
+    }
+
+    private static final PersistentAVL EMPTY = new PersistentAVL(null, 0);
+
+    private final Node root;
+    private final int size;
+
+    private PersistentAVL(Node root, int size) {
+        this.root = root;
+        this.size = size;
+    }
+
+    /**
+     * Returns the empty tree.
+     *
+     * @return The empty tree.
+     */
+    public static PersistentAVL empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Returns a new version of the tree with the value added.
+     * Time Complexity: O(log n) time and new nodes.
+     *
+     * @param val The value to be inserted.
+     * @return The new version of the tree.
+     */
+    public PersistentAVL Insert(int val) {
+        return new PersistentAVL(insert(root, val), size + 1);
+    }
+
+    /**
+     * Returns a new version of the tree with one occurrence of the value removed.
+     * If the value is not present, this tree is returned.
+     * Time Complexity: O(log n) time and new nodes.
+     *
+     * @param val The value to be deleted.
+     * @return The new version of the tree.
+     */
+    public PersistentAVL Delete(int val) {
+        if (!Search(val)) {
+            return this;
+        }
+        return new PersistentAVL(delete(root, val), size - 1);
+    }
+
+    /**
+     * Checks whether the value is in this version of the tree.
+     *
+     * @param val The value to be searched.
+     * @return True if the value is present, false otherwise.
+     */
+    public boolean Search(int val) {
+        Node current = root;
+        while (current != null) {
+            if (val == current.data) {
+                return true;
+            }
+            current = val < current.data ? current.left : current.right;
+        }
+        return false;
+    }
+
+    /**
+     * Returns the number of values in this version of the tree.
+     *
+     * @return The number of values.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the height of this version of the tree, 0 for the empty tree.
+     *
+     * @return The height of the tree.
+     */
+    public int height() {
+        return height(root);
+    }
+
+    /**
+     * Checks if this version of the tree is empty.
+     *
+     * @return True if the tree holds no values.
+     */
+    public boolean isEmpty() {
+        return root == null;
+    }
+
+    /**
+     * Passes every value to the action in ascending order.
+     *
+     * @param action The action to run for each value.
+     */
+    public void forEachInOrder(IntConsumer action) {
+        Deque<Node> stack = new ArrayDeque<>();
+        Node current = root;
+        while (current != null || !stack.isEmpty()) {
+            while (current != null) {
+                stack.push(current);
+                current = current.left;
+            }
+            current = stack.pop();
+            action.accept(current.data);
+            current = current.right;
+        }
+    }
+
+    /**
+     * Prints the elements of the tree in in-order traversal.
+     */
+    public void printInOrder() {
+        try {
+            appendInOrder(System.out, Integer.MAX_VALUE);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Writes up to limit elements of the tree in in-order traversal to the given
+     * destination, followed by "..." if elements were left out.
+     *
+     * @param out The destination, for example a Writer or StringBuilder.
+     * @param limit The maximum number of elements to write.
+     * @throws IOException if the destination could not be written.
+     */
+    public void appendInOrder(Appendable out, int limit) throws IOException {
+        ChunkedWriter writer = new ChunkedWriter(out);
+        Deque<Node> stack = new ArrayDeque<>();
+        Node current = root;
+        int written = 0;
+        while (current != null || !stack.isEmpty()) {
+            while (current != null) {
+                stack.push(current);
+                current = current.left;
+            }
+            current = stack.pop();
+            if (written == limit) {
+                writer.append("...");
+                break;
+            }
+            writer.value(current.data);
+            written++;
+            current = current.right;
+        }
+        writer.flush();
+    }
+
+    /**
+     * Prints the elements of the tree in breadth-first order, one level per line.
+     */
+    public void printBF() {
+        try {
+            appendBF(System.out, Integer.MAX_VALUE);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Writes up to limit elements of the tree in breadth-first order to the given
+     * destination, one level per line, followed by "..." if elements were left out.
+     *
+     * @param out The destination, for example a Writer or StringBuilder.
+     * @param limit The maximum number of elements to write.
+     * @throws IOException if the destination could not be written.
+     */
+    public void appendBF(Appendable out, int limit) throws IOException {
+        if (root == null) {
+            return;
+        }
+        ChunkedWriter writer = new ChunkedWriter(out);
+        Queue<Node> queue = new ArrayDeque<>();
+        queue.add(root);
+        int written = 0;
+        while (!queue.isEmpty()) {
+            int levelSize = queue.size();
+            for (int i = 0; i < levelSize; i++) {
+                if (written == limit) {
+                    writer.append("...").newLine();
+                    writer.flush();
+                    return;
+                }
+                Node node = queue.poll();
+                writer.value(node.data);
+                written++;
+                if (node.left != null) {
+                    queue.add(node.left);
+                }
+                if (node.right != null) {
+                    queue.add(node.right);
+                }
+            }
+            writer.newLine();
+        }
+        writer.flush();
+    }
+
+    private static int height(Node node) {
+        return node == null ? 0 : node.height;
+    }
+
+    /**
+     * Returns a copy of the path from node down to the new value, rebalanced.
+     */
+    private static Node insert(Node node, int val) {
+        if (node == null) {
+            return new Node(val, null, null);
+        }
+        if (val < node.data) {
+            return balance(node.data, insert(node.left, val), node.right);
+        }
+        return balance(node.data, node.left, insert(node.right, val));
+    }
+
+    /**
+     * Returns a copy of the path from node down to the removed value, rebalanced.
+     * The value must be present in the subtree.
+     */
+    private static Node delete(Node node, int val) {
+        if (val < node.data) {
+            return balance(node.data, delete(node.left, val), node.right);
+        }
+        if (val > node.data) {
+            return balance(node.data, node.left, delete(node.right, val));
+        }
+        if (node.left == null) {
+            return node.right;
+        }
+        if (node.right == null) {
+            return node.left;
+        }
+        Node min = node.right;
+        while (min.left != null) {
+            min = min.left;
+        }
+        return balance(min.data, node.left, deleteMin(node.right));
+    }
+
+    private static Node deleteMin(Node node) {
+        if (node.left == null) {
+            return node.right;
+        }
+        return balance(node.data, deleteMin(node.left), node.right);
+    }
+
+    /**
+     * Builds a node from its value and children, applying a single or double rotation
+     * if the children's heights differ by more than one.
+     */
+    private static Node balance(int data, Node left, Node right) {
+        int balance = height(left) - height(right);
+        if (balance > 1) {
+            if (height(left.left) >= height(left.right)) {
+                return rotateRight(data, left, right);
+            }
+            return rotateRight(data, rotateLeft(left.data, left.left, left.right), right);
+        }
+        if (balance < -1) {
+            if (height(right.right) >= height(right.left)) {
+                return rotateLeft(data, left, right);
+            }
+            return rotateLeft(data, left, rotateRight(right.data, right.left, right.right));
+        }
+        return new Node(data, left, right);
+    }
+
+    private static Node rotateRight(int data, Node left, Node right) {
+        return new Node(left.data, left.left, new Node(data, left.right, right));
+    }
+
+    private static Node rotateLeft(int data, Node left, Node right) {
+        return new Node(right.data, new Node(data, left, right.left), right.right);
+    }
+
+    /**
+     * Returns an estimate of the heap used by this version of the tree. Versions share
+     * the nodes they have in common, so each node is counted in every version that can
+     * reach it and the footprints of several versions do not add up.
+     * Time Complexity: O(1).
+     *
+     * @return The estimated number of bytes.
+     */
+    @Override
+    public long memoryFootprint() {
+        return MemoryLayout.shallowSizeOf(PersistentAVL.class) + (long) size * MemoryLayout.shallowSizeOf(Node.class);
+    }
+
+    public static void main(String[] args) {
+        System.out.println("\nPersistentAVL Tests");
+
+        PersistentAVL v1 = PersistentAVL.empty();
+        v1 = v1.Insert(10).Insert(20).Insert(30).Insert(40).Insert(50).Insert(25);
+
+        // Take a snapshot and keep writing
+        PersistentAVL snapshot = v1;
+        PersistentAVL v2 = v1.Delete(25).Delete(40).Insert(60);
+
+        System.out.println("Snapshot in order:");
+        snapshot.printInOrder(); //should output: 10 20 25 30 40 50
+        System.out.println("\n");
+        System.out.println("Snapshot breadth-first:");
+        snapshot.printBF(); /*should output: 30
+                                             20 40
+                                             10 25 50 */
+        System.out.println();
+
+        System.out.println("New version in order:");
+        v2.printInOrder(); //should output: 10 20 30 50 60
+        System.out.println("\n");
+        System.out.println("Sizes: " + snapshot.size() + " " + v2.size()); //should output: 6 5
+        System.out.println("Snapshot contains 25: " + snapshot.Search(25)); //should output: true
+        System.out.println("New version contains 25: " + v2.Search(25)); //should output: false
+    }
+}
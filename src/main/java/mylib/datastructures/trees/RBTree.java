@@ -0,0 +1,350 @@
+package main.java.mylib.datastructures.trees;
+
+import main.java.mylib.datastructures.nodes.TNode;
+
+/**
+ * RBTree class represents a red-black tree, a self-balancing binary search tree that
+ * keeps its height within 2 log2(n + 1). Compared to AVL it allows a less strict
+ * balance, so an insertion needs at most two rotations and a deletion at most three,
+ * which makes it the better choice for write-heavy workloads.
+ * It extends the BST (Binary Search Tree) class and stores the colour of each node in
+ * the balance field of TNode (RED or BLACK).
+ *
+ * @author Eeman Abid
+ *         <a href="mailto:eeman.abid@ucalgary.ca">eeman.abid@ucalgary.ca</a>
+ * @author Hareem Khan
+ *         <a href="mailto:hareem.khan@ucalgary.ca">hareem.khan@ucalgary.ca</a>
+ */
+
+public class RBTree extends BST {
+    public static final int BLACK = 0;
+    public static final int RED = 1;
+
+    /**
+     * Default constructor for RBTree class.
+     * Creates an empty red-black tree.
+     */
+    public RBTree(){
+        super();
+    }
+
+    /**
+     * Constructor for RBTree class that takes an initial value.
+     * Creates a red-black tree with a black root node containing the given value.
+     *
+     * @param val The initial value for the root node of the tree.
+     */
+    public RBTree(int val){
+        super(val);
+        this.root.setBalance(BLACK);
+    }
+
+    /**
+     * Links a new node into the red-black tree, which Insert(TNode) calls. The node is
+     * placed as a red leaf by the BST insertion and the tree is then recoloured and
+     * rotated upwards from the node until the red-black properties hold again.
+     *
+     * @param node The node to be inserted. Its child references are cleared.
+     * @return The number of nodes visited on the way down.
+     */
+    @Override
+    protected int insertNode(TNode node){
+        node.setLeft(null);
+        node.setRight(null);
+        node.setParent(null);
+        int visited = super.insertNode(node);
+        node.setBalance(RED);
+        insertFixup(node);
+        return visited;
+    }
+
+    /**
+     * Removes a node with the given value from the red-black tree, which Delete calls,
+     * and restores the red-black properties. Prints a message if the value is not in
+     * the tree.
+     *
+     * @param val The value to be deleted.
+     * @return The number of nodes visited, including the search for the successor.
+     */
+    @Override
+    protected int deleteValue(int val){
+        int visited = 0;
+        TNode node = root;
+        while (node != null && node.getData() != val){
+            visited++;
+            node = val < node.getData() ? node.getLeft() : node.getRight();
+        }
+        if (node == null){
+            System.out.println("Value not found in tree");
+            return visited;
+        }
+        visited++;
+
+        TNode child;
+        TNode childParent;
+        boolean removedBlack;
+        if (node.getLeft() == null){
+            child = node.getRight();
+            childParent = node.getParent();
+            removedBlack = isBlack(node);
+            transplant(node, child);
+        }
+        else if (node.getRight() == null){
+            child = node.getLeft();
+            childParent = node.getParent();
+            removedBlack = isBlack(node);
+            transplant(node, child);
+        }
+        else {
+            // Replace the node by its in-order successor, which has no left child
+            TNode successor = node.getRight();
+            visited++;
+            while (successor.getLeft() != null){
+                successor = successor.getLeft();
+                visited++;
+            }
+            removedBlack = isBlack(successor);
+            child = successor.getRight();
+            if (successor.getParent() == node){
+                childParent = successor;
+            }
+            else {
+                childParent = successor.getParent();
+                transplant(successor, successor.getRight());
+                successor.setRight(node.getRight());
+                successor.getRight().setParent(successor);
+            }
+            transplant(node, successor);
+            successor.setLeft(node.getLeft());
+            successor.getLeft().setParent(successor);
+            successor.setBalance(node.getBalance());
+        }
+
+        if (removedBlack){
+            deleteFixup(child, childParent);
+        }
+        nodeDeleted(val, node);
+        return visited;
+    }
+
+    /**
+     * Restores the red-black properties after inserting a red node.
+     *
+     * @param node The inserted node.
+     */
+    private void insertFixup(TNode node){
+        while (node != root && isRed(node.getParent())){
+            TNode parent = node.getParent();
+            TNode grandparent = parent.getParent();
+            if (parent == grandparent.getLeft()){
+                TNode uncle = grandparent.getRight();
+                if (isRed(uncle)){
+                    parent.setBalance(BLACK);
+                    uncle.setBalance(BLACK);
+                    grandparent.setBalance(RED);
+                    node = grandparent;
+                }
+                else {
+                    if (node == parent.getRight()){
+                        node = parent;
+                        rotateLeft(node);
+                        parent = node.getParent();
+                    }
+                    parent.setBalance(BLACK);
+                    grandparent.setBalance(RED);
+                    rotateRight(grandparent);
+                }
+            }
+            else {
+                TNode uncle = grandparent.getLeft();
+                if (isRed(uncle)){
+                    parent.setBalance(BLACK);
+                    uncle.setBalance(BLACK);
+                    grandparent.setBalance(RED);
+                    node = grandparent;
+                }
+                else {
+                    if (node == parent.getLeft()){
+                        node = parent;
+                        rotateRight(node);
+                        parent = node.getParent();
+                    }
+                    parent.setBalance(BLACK);
+                    grandparent.setBalance(RED);
+                    rotateLeft(grandparent);
+                }
+            }
+        }
+        root.setBalance(BLACK);
+    }
+
+    /**
+     * Restores the red-black properties after removing a black node. The node that
+     * took its place may be null, so its parent is passed separately.
+     *
+     * @param node The node that replaced the removed node, possibly null.
+     * @param parent The parent of that node.
+     */
+    private void deleteFixup(TNode node, TNode parent){
+        while (node != root && isBlack(node)){
+            if (node == parent.getLeft()){
+                TNode sibling = parent.getRight();
+                if (isRed(sibling)){
+                    sibling.setBalance(BLACK);
+                    parent.setBalance(RED);
+                    rotateLeft(parent);
+                    sibling = parent.getRight();
+                }
+                if (isBlack(sibling.getLeft()) && isBlack(sibling.getRight())){
+                    sibling.setBalance(RED);
+                    node = parent;
+                    parent = node.getParent();
+                }
+                else {
+                    if (isBlack(sibling.getRight())){
+                        sibling.getLeft().setBalance(BLACK);
+                        sibling.setBalance(RED);
+                        rotateRight(sibling);
+                        sibling = parent.getRight();
+                    }
+                    sibling.setBalance(parent.getBalance());
+                    parent.setBalance(BLACK);
+                    sibling.getRight().setBalance(BLACK);
+                    rotateLeft(parent);
+                    node = root;
+                }
+            }
+            else {
+                TNode sibling = parent.getLeft();
+                if (isRed(sibling)){
+                    sibling.setBalance(BLACK);
+                    parent.setBalance(RED);
+                    rotateRight(parent);
+                    sibling = parent.getLeft();
+                }
+                if (isBlack(sibling.getLeft()) && isBlack(sibling.getRight())){
+                    sibling.setBalance(RED);
+                    node = parent;
+                    parent = node.getParent();
+                }
+                else {
+                    if (isBlack(sibling.getLeft())){
+                        sibling.getRight().setBalance(BLACK);
+                        sibling.setBalance(RED);
+                        rotateLeft(sibling);
+                        sibling = parent.getLeft();
+                    }
+                    sibling.setBalance(parent.getBalance());
+                    parent.setBalance(BLACK);
+                    sibling.getLeft().setBalance(BLACK);
+                    rotateRight(parent);
+                    node = root;
+                }
+            }
+        }
+        if (node != null){
+            node.setBalance(BLACK);
+        }
+    }
+
+    /**
+     * Replaces the subtree rooted at target by the subtree rooted at replacement in the
+     * parent of target.
+     */
+    private void transplant(TNode target, TNode replacement){
+        TNode parent = target.getParent();
+        if (parent == null){
+            root = replacement;
+        }
+        else if (target == parent.getLeft()){
+            parent.setLeft(replacement);
+        }
+        else {
+            parent.setRight(replacement);
+        }
+        if (replacement != null){
+            replacement.setParent(parent);
+        }
+    }
+
+    /**
+     * Performs a left rotation around the given node, keeping parent references and
+     * the root up to date.
+     */
+    private void rotateLeft(TNode node){
+        TNode right = node.getRight();
+        node.setRight(right.getLeft());
+        if (right.getLeft() != null){
+            right.getLeft().setParent(node);
+        }
+        transplant(node, right);
+        right.setLeft(node);
+        node.setParent(right);
+    }
+
+    /**
+     * Performs a right rotation around the given node, keeping parent references and
+     * the root up to date.
+     */
+    private void rotateRight(TNode node){
+        TNode left = node.getLeft();
+        node.setLeft(left.getRight());
+        if (left.getRight() != null){
+            left.getRight().setParent(node);
+        }
+        transplant(node, left);
+        left.setRight(node);
+        node.setParent(left);
+    }
+
+    private static boolean isRed(TNode node){
+        return node != null && node.getBalance() == RED;
+    }
+
+    private static boolean isBlack(TNode node){
+        return node == null || node.getBalance() == BLACK;
+    }
+
+    public static void main(String[] args) {
+        System.out.println("\nRBTree Tests");
+
+        RBTree tree = new RBTree();
+
+        // Insert nodes
+        tree.Insert(10);
+        tree.Insert(20);
+        tree.Insert(30);
+        tree.Insert(40);
+        tree.Insert(50);
+        tree.Insert(25);
+
+        // Print tree
+        System.out.println("Red-black tree after insertion:");
+        tree.printInOrder(); //should output: 10 20 25 30 40 50
+        System.out.println("\n");
+        System.out.println("Breadth-First Traversal:");
+        tree.printBF(); /*should output: 20
+                                         10 40
+                                         30 50
+                                         25 */
+        System.out.println();
+
+        // Delete nodes
+        tree.Delete(25);
+        tree.Delete(40);
+
+        // Print tree
+        System.out.println("Red-black tree after deletion:");
+        tree.printInOrder(); //should output: 10 20 30 50
+        System.out.println("\n");
+        System.out.println("Breadth-First Traversal:");
+        tree.printBF(); /*should output: 20
+                                         10 50
+                                         30 */
+        System.out.println();
+
+        // Test getRoot method
+        TNode root = tree.getRoot();
+        System.out.println("Root node value: " + root.getData() + "\n"); //should output: 20
+    }
+}
@@ -0,0 +1,231 @@
+package main.java.mylib.datastructures.trees;
+
+import main.java.mylib.datastructures.nodes.TNode;
+
+/**
+ * ScapegoatTree class represents a binary search tree that keeps its depth within
+ * log(n) / log(1 / alpha) + 1 without storing anything extra in its nodes. Insertion and
+ * deletion are those of BST. When an insertion places a node too deep, the tree walks
+ * back up to the first ancestor whose larger subtree holds more than alpha of its nodes
+ * (the scapegoat) and rebuilds that subtree into a perfectly balanced one. When
+ * deletions have shrunk the tree below alpha of its largest size since the last full
+ * rebuild, the whole tree is rebuilt. Rebuilds relink the existing nodes, so references
+ * to nodes and their values stay valid.
+ *
+ * Searches take O(log n) in the worst case; insertions and deletions take O(log n)
+ * amortized. An alpha close to 1/2 keeps the tree shallow but rebuilds more often, and
+ * an alpha close to 1 rebuilds rarely. Callers of BST can switch to this class without
+ * other changes, and the balance field of TNode is left unused.
+ *
+ * @author Eeman Abid
+ *         <a href="mailto:eeman.abid@ucalgary.ca">eeman.abid@ucalgary.ca</a>
+ * @author Hareem Khan
+ *         <a href="mailto:hareem.khan@ucalgary.ca">hareem.khan@ucalgary.ca</a>
+ */
+
+public class ScapegoatTree extends BST {
+    /**
+     * Balance factor used by the default constructor.
+     */
+    public static final double DEFAULT_ALPHA = 2.0 / 3.0;
+
+    private final double alpha;
+    private final double logInverseAlpha;
+    private int maxSize;
+    private long rebuilds;
+
+    /**
+     * Default constructor for ScapegoatTree class.
+     * Creates an empty tree with DEFAULT_ALPHA.
+     */
+    public ScapegoatTree(){
+        this(DEFAULT_ALPHA);
+    }
+
+    /**
+     * Constructor for ScapegoatTree class that takes the balance factor.
+     *
+     * @param alpha The largest share of a subtree's nodes that one child may hold.
+     * @throws IllegalArgumentException if alpha is not greater than 0.5 and less than 1.
+     */
+    public ScapegoatTree(double alpha){
+        super();
+        if (!(alpha > 0.5 && alpha < 1)){
+            throw new IllegalArgumentException("alpha must be greater than 0.5 and less than 1");
+        }
+        this.alpha = alpha;
+        this.logInverseAlpha = Math.log(1 / alpha);
+    }
+
+    /**
+     * Constructor for ScapegoatTree class that takes an initial value.
+     * Creates a tree with DEFAULT_ALPHA and a root node containing the given value.
+     *
+     * @param val The initial value for the root node of the tree.
+     */
+    public ScapegoatTree(int val){
+        this(DEFAULT_ALPHA);
+        setRoot(new TNode(val, 0, null, null, null));
+    }
+
+    /**
+     * Sets the root node as BST does. The subtree is rebuilt if it is deeper than the
+     * tree allows.
+     *
+     * @param root The root node to be set.
+     */
+    @Override
+    public void setRoot(TNode root){
+        super.setRoot(root);
+        if (root != null){
+            root.setParent(null);
+        }
+        maxSize = size();
+        if (height() - 1 > depthLimit(maxSize)){
+            this.root = rebuild(this.root, maxSize);
+            rebuilds++;
+        }
+    }
+
+    /**
+     * Links a new node in as BST does, then rebuilds the subtree of the scapegoat if
+     * the node ended up deeper than the tree allows.
+     *
+     * @param node The node to be inserted.
+     * @return The number of nodes visited on the way down.
+     */
+    @Override
+    protected int insertNode(TNode node){
+        node.setParent(null);
+        node.setLeft(null);
+        node.setRight(null);
+        int visited = super.insertNode(node);
+        maxSize = Math.max(maxSize, size());
+        // visited is the number of edges from the root to the new node
+        if (visited > depthLimit(maxSize)){
+            rebuildScapegoat(node);
+        }
+        return visited;
+    }
+
+    /**
+     * Deletes a value as BST does, then rebuilds the whole tree once it holds fewer
+     * than alpha of the nodes it had after the last full rebuild.
+     *
+     * @param val The value to be deleted.
+     * @return The number of nodes visited.
+     */
+    @Override
+    protected int deleteValue(int val){
+        int before = size();
+        int visited = super.deleteValue(val);
+        int after = size();
+        if (after < before && after < alpha * maxSize){
+            root = rebuild(root, after);
+            maxSize = after;
+            rebuilds++;
+        }
+        return visited;
+    }
+
+    /**
+     * Returns the balance factor of the tree.
+     *
+     * @return The balance factor.
+     */
+    public double getAlpha(){
+        return alpha;
+    }
+
+    /**
+     * Returns the number of subtree and whole-tree rebuilds done so far.
+     *
+     * @return The number of rebuilds.
+     */
+    public long getRebuilds(){
+        return rebuilds;
+    }
+
+    /**
+     * Checks the structure of the tree like BST.verifyInvariants and also that the
+     * tree is no deeper than alpha allows.
+     * Time Complexity: O(n).
+     *
+     * @throws IllegalStateException describing the first violation found.
+     */
+    @Override
+    public void verifyInvariants(){
+        super.verifyInvariants();
+        if (height() - 1 > depthLimit(maxSize)){
+            throw new IllegalStateException("Height " + height() + " exceeds the alpha bound for " + maxSize + " nodes");
+        }
+    }
+
+    /**
+     * Returns the largest number of edges allowed from the root to a node:
+     * floor(log(n) / log(1 / alpha)).
+     */
+    private int depthLimit(int n){
+        if (n < 2){
+            return 0;
+        }
+        return (int) Math.floor(Math.log(n) / logInverseAlpha + 1e-9);
+    }
+
+    /**
+     * Walks up from the new node, counting subtree sizes, to the first ancestor whose
+     * child on the path holds more than alpha of its nodes, and rebuilds its subtree.
+     */
+    private void rebuildScapegoat(TNode node){
+        TNode child = node;
+        int childSize = 1;
+        TNode current = node.getParent();
+        while (current != null){
+            TNode sibling = current.getLeft() == child ? current.getRight() : current.getLeft();
+            int currentSize = childSize + 1 + countNodes(sibling);
+            if (childSize > alpha * currentSize){
+                TNode parent = current.getParent();
+                TNode rebuilt = rebuild(current, currentSize);
+                rebuilt.setParent(parent);
+                if (parent == null){
+                    root = rebuilt;
+                }
+                else if (parent.getLeft() == current){
+                    parent.setLeft(rebuilt);
+                }
+                else {
+                    parent.setRight(rebuilt);
+                }
+                rebuilds++;
+                return;
+            }
+            child = current;
+            childSize = currentSize;
+            current = current.getParent();
+        }
+    }
+
+    public static void main(String[] args) {
+        System.out.println("\nScapegoatTree Tests");
+
+        ScapegoatTree tree = new ScapegoatTree();
+
+        // Sorted input would make a plain BST a chain of height 100
+        for (int i = 1; i <= 100; i++) {
+            tree.Insert(i);
+        }
+        tree.verifyInvariants();
+        System.out.println("Size: " + tree.size()); //should output: 100
+        System.out.println("Height: " + tree.height()); //should output: 12
+
+        // Delete most values so the whole tree is rebuilt
+        for (int i = 1; i <= 60; i++) {
+            tree.Delete(i);
+        }
+        tree.verifyInvariants();
+        System.out.println("Size after deletion: " + tree.size()); //should output: 40
+        System.out.println("Height after deletion: " + tree.height()); //should output: 6
+
+        System.out.println("Search 75: " + tree.Search(75).getData() + "\n"); //should output: 75
+    }
+}
@@ -0,0 +1,319 @@
+package main.java.mylib.datastructures.trees;
+
+import main.java.mylib.datastructures.metrics.Instrumented;
+import main.java.mylib.datastructures.metrics.MemoryLayout;
+
+/**
+ * SegmentTree class represents a segment tree with lazy propagation over an array of
+ * long values indexed from 0. Every node covers a range of indexes and stores the sum,
+ * minimum and maximum of that range, so a range query combines O(log n) nodes.
+ *
+ * Adding a value to a whole range marks the O(log n) nodes that cover it as pending
+ * instead of visiting every value; the pending amount is pushed down to the children
+ * the next time an operation has to look inside such a node. Point updates, range
+ * updates and range sum, min and max queries all take O(log n), and the tree is built
+ * from an array in O(n).
+ *
+ * The nodes are kept in flat arrays, with the children of node k at 2k and 2k + 1.
+ *
+ * @author Eeman Abid
+ *         <a href="mailto:eeman.abid@ucalgary.ca">eeman.abid@ucalgary.ca</a>
+ * @author Hareem Khan
+ *         <a href="mailto:hareem.khan@ucalgary.ca">hareem.khan@ucalgary.ca</a>
+ */
+
+public class SegmentTree implements Instrumented {
+    private static final int SUM = 0;
+    private static final int MIN = 1;
+    private static final int MAX = 2;
+
+    private final int n;
+    private final long[] sum;
+    private final long[] min;
+    private final long[] max;
+    private final long[] pending;
+
+    /**
+     * Constructor for SegmentTree class that creates a tree of n zero values.
+     *
+     * @param n The number of values.
+     * @throws IllegalArgumentException if n is negative.
+     */
+    public SegmentTree(int n){
+        this(zeros(n));
+    }
+
+    /**
+     * Constructor for SegmentTree class that builds the tree from an array in O(n).
+     *
+     * @param values The initial values. The array is not kept.
+     */
+    public SegmentTree(long[] values){
+        this.n = values.length;
+        int nodes = n == 0 ? 1 : 4 * n;
+        sum = new long[nodes];
+        min = new long[nodes];
+        max = new long[nodes];
+        pending = new long[nodes];
+        if (n > 0){
+            build(1, 0, n - 1, values);
+        }
+    }
+
+    /**
+     * Constructor for SegmentTree class that builds the tree from an int array in O(n).
+     *
+     * @param values The initial values. The array is not kept.
+     */
+    public SegmentTree(int[] values){
+        this(toLong(values));
+    }
+
+    /**
+     * Returns the number of values.
+     *
+     * @return The number of values.
+     */
+    public int size(){
+        return n;
+    }
+
+    /**
+     * Returns the value at index i.
+     * Time Complexity: O(log n).
+     *
+     * @param i The index of the value.
+     * @return The value at index i.
+     */
+    public long get(int i){
+        return rangeSum(i, i);
+    }
+
+    /**
+     * Replaces the value at index i.
+     * Time Complexity: O(log n).
+     *
+     * @param i The index of the value.
+     * @param value The new value.
+     */
+    public void set(int i, long value){
+        checkIndex(i);
+        set(1, 0, n - 1, i, value);
+    }
+
+    /**
+     * Adds delta to the value at index i.
+     * Time Complexity: O(log n).
+     *
+     * @param i The index of the value.
+     * @param delta The amount to add.
+     */
+    public void add(int i, long delta){
+        rangeAdd(i, i, delta);
+    }
+
+    /**
+     * Adds delta to every value with an index from lo to hi, both included.
+     * Time Complexity: O(log n).
+     *
+     * @param lo The first index of the range.
+     * @param hi The last index of the range.
+     * @param delta The amount to add to each value.
+     */
+    public void rangeAdd(int lo, int hi, long delta){
+        checkRange(lo, hi);
+        rangeAdd(1, 0, n - 1, lo, hi, delta);
+    }
+
+    /**
+     * Returns the sum of the values with an index from lo to hi, both included.
+     * Time Complexity: O(log n).
+     *
+     * @param lo The first index of the range.
+     * @param hi The last index of the range.
+     * @return The sum of the range.
+     */
+    public long rangeSum(int lo, int hi){
+        checkRange(lo, hi);
+        return query(1, 0, n - 1, lo, hi, SUM);
+    }
+
+    /**
+     * Returns the smallest value with an index from lo to hi, both included.
+     * Time Complexity: O(log n).
+     *
+     * @param lo The first index of the range.
+     * @param hi The last index of the range.
+     * @return The minimum of the range.
+     */
+    public long rangeMin(int lo, int hi){
+        checkRange(lo, hi);
+        return query(1, 0, n - 1, lo, hi, MIN);
+    }
+
+    /**
+     * Returns the largest value with an index from lo to hi, both included.
+     * Time Complexity: O(log n).
+     *
+     * @param lo The first index of the range.
+     * @param hi The last index of the range.
+     * @return The maximum of the range.
+     */
+    public long rangeMax(int lo, int hi){
+        checkRange(lo, hi);
+        return query(1, 0, n - 1, lo, hi, MAX);
+    }
+
+    private void build(int node, int from, int to, long[] values){
+        if (from == to){
+            sum[node] = values[from];
+            min[node] = values[from];
+            max[node] = values[from];
+            return;
+        }
+        int mid = (from + to) >>> 1;
+        build(2 * node, from, mid, values);
+        build(2 * node + 1, mid + 1, to, values);
+        pull(node);
+    }
+
+    private void set(int node, int from, int to, int i, long value){
+        if (from == to){
+            sum[node] = value;
+            min[node] = value;
+            max[node] = value;
+            return;
+        }
+        push(node, from, to);
+        int mid = (from + to) >>> 1;
+        if (i <= mid){
+            set(2 * node, from, mid, i, value);
+        }
+        else {
+            set(2 * node + 1, mid + 1, to, i, value);
+        }
+        pull(node);
+    }
+
+    private void rangeAdd(int node, int from, int to, int lo, int hi, long delta){
+        if (lo <= from && to <= hi){
+            apply(node, from, to, delta);
+            return;
+        }
+        push(node, from, to);
+        int mid = (from + to) >>> 1;
+        if (lo <= mid){
+            rangeAdd(2 * node, from, mid, lo, hi, delta);
+        }
+        if (hi > mid){
+            rangeAdd(2 * node + 1, mid + 1, to, lo, hi, delta);
+        }
+        pull(node);
+    }
+
+    private long query(int node, int from, int to, int lo, int hi, int kind){
+        if (lo <= from && to <= hi){
+            return kind == SUM ? sum[node] : kind == MIN ? min[node] : max[node];
+        }
+        push(node, from, to);
+        int mid = (from + to) >>> 1;
+        if (hi <= mid){
+            return query(2 * node, from, mid, lo, hi, kind);
+        }
+        if (lo > mid){
+            return query(2 * node + 1, mid + 1, to, lo, hi, kind);
+        }
+        long left = query(2 * node, from, mid, lo, hi, kind);
+        long right = query(2 * node + 1, mid + 1, to, lo, hi, kind);
+        return kind == SUM ? left + right : kind == MIN ? Math.min(left, right) : Math.max(left, right);
+    }
+
+    /**
+     * Adds delta to every value covered by a node and records it as pending for the
+     * node's children.
+     */
+    private void apply(int node, int from, int to, long delta){
+        sum[node] += delta * (to - from + 1);
+        min[node] += delta;
+        max[node] += delta;
+        if (from != to){
+            pending[node] += delta;
+        }
+    }
+
+    /**
+     * Moves the pending addition of a node down to its two children.
+     */
+    private void push(int node, int from, int to){
+        if (pending[node] != 0){
+            int mid = (from + to) >>> 1;
+            apply(2 * node, from, mid, pending[node]);
+            apply(2 * node + 1, mid + 1, to, pending[node]);
+            pending[node] = 0;
+        }
+    }
+
+    private void pull(int node){
+        sum[node] = sum[2 * node] + sum[2 * node + 1];
+        min[node] = Math.min(min[2 * node], min[2 * node + 1]);
+        max[node] = Math.max(max[2 * node], max[2 * node + 1]);
+    }
+
+    private void checkIndex(int i){
+        if (i < 0 || i >= n){
+            throw new IndexOutOfBoundsException("Index: " + i + ", Size: " + n);
+        }
+    }
+
+    private void checkRange(int lo, int hi){
+        checkIndex(lo);
+        checkIndex(hi);
+        if (lo > hi){
+            throw new IllegalArgumentException("lo must not be greater than hi");
+        }
+    }
+
+    private static long[] zeros(int n){
+        if (n < 0){
+            throw new IllegalArgumentException("size must not be negative");
+        }
+        return new long[n];
+    }
+
+    private static long[] toLong(int[] values){
+        long[] result = new long[values.length];
+        for (int i = 0; i < values.length; i++){
+            result[i] = values[i];
+        }
+        return result;
+    }
+
+    /**
+     * Returns an estimate of the heap used by the tree and its arrays.
+     * Time Complexity: O(1).
+     *
+     * @return The estimated number of bytes.
+     */
+    @Override
+    public long memoryFootprint(){
+        return MemoryLayout.shallowSizeOf(getClass()) + MemoryLayout.sizeOf(sum) + MemoryLayout.sizeOf(min)
+                + MemoryLayout.sizeOf(max) + MemoryLayout.sizeOf(pending);
+    }
+
+    public static void main(String[] args) {
+        System.out.println("\nSegmentTree Tests");
+
+        SegmentTree tree = new SegmentTree(new int[]{5, 3, 7, 9, 6, 4, 1, 2});
+
+        System.out.println("Sum of 2..5: " + tree.rangeSum(2, 5)); //should output: 26
+        System.out.println("Min of 0..4: " + tree.rangeMin(0, 4)); //should output: 3
+        System.out.println("Max of 4..7: " + tree.rangeMax(4, 7)); //should output: 6
+
+        // Range and point updates
+        tree.rangeAdd(0, 3, 10);
+        tree.set(5, 20);
+        System.out.println("Sum of 2..5 after updates: " + tree.rangeSum(2, 5)); //should output: 62
+        System.out.println("Min of 0..4: " + tree.rangeMin(0, 4)); //should output: 6
+        System.out.println("Max of 4..7: " + tree.rangeMax(4, 7) + "\n"); //should output: 20
+    }
+}
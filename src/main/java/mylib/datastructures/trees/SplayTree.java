@@ -0,0 +1,252 @@
+package main.java.mylib.datastructures.trees;
+
+import main.java.mylib.datastructures.nodes.TNode;
+
+/**
+ * SplayTree class represents a splay tree, a self-adjusting binary search tree. Every
+ * Search, Insert and Delete moves the node it reaches to the root with a series of
+ * rotations (a splay), so frequently accessed values stay within a few hops of the
+ * root. Any sequence of m operations on n values costs O((m + n) log n) in total,
+ * and under skewed access patterns the hot values cost far less than log n each.
+ * It extends the BST (Binary Search Tree) class. The splay is done top-down in a single
+ * iterative pass, so degenerate shapes do not use any call stack.
+ *
+ * Note that Search changes the shape of the tree.
+ *
+ * @author Eeman Abid
+ *         <a href="mailto:eeman.abid@ucalgary.ca">eeman.abid@ucalgary.ca</a>
+ * @author Hareem Khan
+ *         <a href="mailto:hareem.khan@ucalgary.ca">hareem.khan@ucalgary.ca</a>
+ */
+
+public class SplayTree extends BST {
+    private int splayVisits;
+
+    /**
+     * Default constructor for SplayTree class.
+     * Creates an empty splay tree.
+     */
+    public SplayTree(){
+        super();
+    }
+
+    /**
+     * Constructor for SplayTree class that takes an initial value.
+     *
+     * @param val The initial value for the root node of the tree.
+     */
+    public SplayTree(int val){
+        super(val);
+    }
+
+    /**
+     * Searches for a node with the given value and splays the last node reached to
+     * the root.
+     *
+     * @param val The value to be searched.
+     * @return The node with the given value, or null if not found.
+     */
+    @Override
+    public TNode Search(int val){
+        if (filter != null && !filter.mightContain(val)){
+            return null;
+        }
+        root = splay(root, val);
+        if (root != null && root.getData() == val){
+            return root;
+        }
+        return null;
+    }
+
+    /**
+     * Links a new node into the splay tree, which Insert(TNode) calls. The tree is
+     * splayed on the node's value and split around the new root, which becomes the
+     * inserted node.
+     *
+     * @param node The node to be inserted. Its child references are replaced.
+     * @return The number of nodes visited by the splay.
+     */
+    @Override
+    protected int insertNode(TNode node){
+        node.setParent(null);
+        splayVisits = 0;
+        if (root == null){
+            node.setLeft(null);
+            node.setRight(null);
+            root = node;
+            nodeInserted(node.getData(), 1);
+            return splayVisits;
+        }
+        TNode top = splay(root, node.getData());
+        if (node.getData() < top.getData()){
+            setLeft(node, top.getLeft());
+            top.setLeft(null);
+            setRight(node, top);
+        }
+        else {
+            setRight(node, top.getRight());
+            top.setRight(null);
+            setLeft(node, top);
+        }
+        root = node;
+        nodeInserted(node.getData(), 1);
+        return splayVisits;
+    }
+
+    /**
+     * Removes a node with the given value from the splay tree, which Delete calls. The
+     * node is splayed to the root and replaced by the largest value of its left subtree.
+     * Prints a message if the value is not in the tree.
+     *
+     * @param val The value to be deleted.
+     * @return The number of nodes visited by the splays.
+     */
+    @Override
+    protected int deleteValue(int val){
+        splayVisits = 0;
+        root = splay(root, val);
+        if (root == null || root.getData() != val){
+            System.out.println("Value not found in tree");
+            return splayVisits;
+        }
+        TNode removed = root;
+        TNode right = root.getRight();
+        if (root.getLeft() == null){
+            root = right;
+        }
+        else {
+            // Every value on the left is <= val, so splaying on val brings the
+            // largest one up; equal values can still sit to its right
+            TNode top = splay(root.getLeft(), val);
+            while (top.getRight() != null){
+                TNode next = top.getRight();
+                setRight(top, next.getLeft());
+                setLeft(next, top);
+                top = next;
+            }
+            setRight(top, right);
+            root = top;
+        }
+        if (root != null){
+            root.setParent(null);
+        }
+        nodeDeleted(val, removed);
+        return splayVisits;
+    }
+
+    /**
+     * Top-down splay. Walks from node towards val, rotating at every zig-zig step and
+     * hanging the nodes passed on the left or right onto two side trees, which are then
+     * joined under the last node reached. That node is returned as the new subtree root.
+     *
+     * @param node The root of the subtree to splay.
+     * @param val The value to splay on.
+     * @return The new root of the subtree, with a null parent.
+     */
+    private TNode splay(TNode node, int val){
+        if (node == null){
+            return null;
+        }
+        TNode header = new TNode();
+        TNode leftMax = header;
+        TNode rightMin = header;
+
+        while (true){
+            splayVisits++;
+            if (val < node.getData()){
+                TNode child = node.getLeft();
+                if (child == null){
+                    break;
+                }
+                if (val < child.getData()){
+                    setLeft(node, child.getRight());
+                    setRight(child, node);
+                    node = child;
+                    if (node.getLeft() == null){
+                        break;
+                    }
+                }
+                setLeft(rightMin, node);
+                rightMin = node;
+                node = node.getLeft();
+            }
+            else if (val > node.getData()){
+                TNode child = node.getRight();
+                if (child == null){
+                    break;
+                }
+                if (val > child.getData()){
+                    setRight(node, child.getLeft());
+                    setLeft(child, node);
+                    node = child;
+                    if (node.getRight() == null){
+                        break;
+                    }
+                }
+                setRight(leftMax, node);
+                leftMax = node;
+                node = node.getRight();
+            }
+            else {
+                break;
+            }
+        }
+
+        setRight(leftMax, node.getLeft());
+        setLeft(rightMin, node.getRight());
+        setLeft(node, header.getRight());
+        setRight(node, header.getLeft());
+        node.setParent(null);
+        return node;
+    }
+
+    private static void setLeft(TNode parent, TNode child){
+        parent.setLeft(child);
+        if (child != null){
+            child.setParent(parent);
+        }
+    }
+
+    private static void setRight(TNode parent, TNode child){
+        parent.setRight(child);
+        if (child != null){
+            child.setParent(parent);
+        }
+    }
+
+    public static void main(String[] args) {
+        System.out.println("\nSplayTree Tests");
+
+        SplayTree tree = new SplayTree();
+
+        // Insert nodes
+        tree.Insert(10);
+        tree.Insert(20);
+        tree.Insert(30);
+        tree.Insert(40);
+        tree.Insert(50);
+        tree.Insert(25);
+
+        // Print tree
+        System.out.println("Splay tree after insertion:");
+        tree.printInOrder(); //should output: 10 20 25 30 40 50
+        System.out.println("\n");
+        System.out.println("Root node value: " + tree.getRoot().getData() + "\n"); //should output: 25
+
+        // A search moves the value to the root
+        tree.Search(40);
+        System.out.println("Root after searching 40: " + tree.getRoot().getData() + "\n"); //should output: 40
+
+        // Delete nodes
+        tree.Delete(25);
+        tree.Delete(40);
+
+        // Print tree
+        System.out.println("Splay tree after deletion:");
+        tree.printInOrder(); //should output: 10 20 30 50
+        System.out.println("\n");
+        System.out.println("Breadth-First Traversal:");
+        tree.printBF();
+        System.out.println();
+    }
+}
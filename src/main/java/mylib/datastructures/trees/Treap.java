@@ -0,0 +1,451 @@
+package main.java.mylib.datastructures.trees;
+
+import main.java.mylib.datastructures.nodes.TNode;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Treap class represents a randomized binary search tree. Every node gets a random
+ * priority, stored in the balance field of TNode, and the tree is kept in heap order of
+ * those priorities. This gives an expected depth of O(log n) for any insertion order
+ * and makes it cheap to cut a tree at a key (split) and to concatenate two trees whose
+ * values do not overlap (join), both in expected O(log n).
+ *
+ * On top of split and join the class offers union, intersection and difference of two
+ * treaps in expected O(m log(n / m + 1)) for sizes m &lt;= n, and fork-join versions
+ * that process the two halves of each split in parallel.
+ *
+ * A treap holds each value at most once. The operations that combine two treaps reuse
+ * their nodes, so the input treaps are left empty.
+ *
+ * @author Eeman Abid
+ *         <a href="mailto:eeman.abid@ucalgary.ca">eeman.abid@ucalgary.ca</a>
+ * @author Hareem Khan
+ *         <a href="mailto:hareem.khan@ucalgary.ca">hareem.khan@ucalgary.ca</a>
+ */
+
+public class Treap extends BST {
+    private static final int UNION = 0;
+    private static final int INTERSECTION = 1;
+    private static final int DIFFERENCE = 2;
+
+    private int findVisits;
+
+    /**
+     * Default constructor for Treap class.
+     * Creates an empty treap.
+     */
+    public Treap(){
+        super();
+    }
+
+    /**
+     * Constructor for Treap class that takes an initial value.
+     *
+     * @param val The initial value for the root node of the treap.
+     */
+    public Treap(int val){
+        super(val);
+        this.root.setBalance(randomPriority());
+    }
+
+    /**
+     * Inserts a new node with the given value into the treap. Nothing is inserted, and
+     * no node is taken from the attached pool, if the value is already present.
+     *
+     * @param val The value to be inserted.
+     */
+    @Override
+    public void Insert(int val){
+        if (find(val) != null){
+            return;
+        }
+        super.Insert(val);
+    }
+
+    /**
+     * Links a node into the treap with a new random priority, which Insert(TNode)
+     * calls. The node is not inserted if its value is already present.
+     *
+     * @param node The node to be inserted. Its child references are replaced.
+     * @return The number of nodes visited by the search for the value.
+     */
+    @Override
+    protected int insertNode(TNode node){
+        if (find(node.getData()) != null){
+            return findVisits;
+        }
+        node.setBalance(randomPriority());
+        node.setLeft(null);
+        node.setRight(null);
+        TNode[] parts = split(root, node.getData());
+        root = detach(join(join(parts[0], node), parts[1]));
+        nodeInserted(node.getData(), depth(node));
+        return findVisits;
+    }
+
+    /**
+     * Removes the node with the given value by joining its two subtrees in its place,
+     * which Delete calls. Prints a message if the value is not in the treap.
+     *
+     * @param val The value to be deleted.
+     * @return The number of nodes visited by the search for the value.
+     */
+    @Override
+    protected int deleteValue(int val){
+        TNode node = find(val);
+        if (node == null){
+            System.out.println("Value not found in tree");
+            return findVisits;
+        }
+        TNode replacement = join(node.getLeft(), node.getRight());
+        TNode parent = node.getParent();
+        if (parent == null){
+            root = detach(replacement);
+        }
+        else if (parent.getLeft() == node){
+            setLeft(parent, replacement);
+        }
+        else {
+            setRight(parent, replacement);
+        }
+        nodeDeleted(val, node);
+        return findVisits;
+    }
+
+    /**
+     * Cuts the treap at a key. Values less than key stay in this treap and all other
+     * values are moved into the returned treap. The values that stay are set as the
+     * new contents of this treap, so its size is counted again and its filter, if any,
+     * is refilled without the values that moved.
+     * Time Complexity: expected O(log n) for the cut, O(n) to recount this treap.
+     *
+     * @param key The smallest value of the returned treap.
+     * @return A treap holding the values greater than or equal to key.
+     */
+    public Treap split(int key){
+        TNode[] parts = split(root, key);
+        setRoot(detach(parts[0]));
+        Treap upper = new Treap();
+        upper.root = detach(parts[1]);
+        upper.invalidateSize();
+        return upper;
+    }
+
+    /**
+     * Concatenates two treaps where every value of left is less than every value of
+     * right. Both input treaps are left empty.
+     * Time Complexity: expected O(log n).
+     *
+     * @param left The treap with the smaller values.
+     * @param right The treap with the larger values.
+     * @return The joined treap.
+     * @throws IllegalArgumentException if the value ranges overlap.
+     */
+    public static Treap join(Treap left, Treap right){
+        if (left.root != null && right.root != null && max(left.root) >= min(right.root)){
+            throw new IllegalArgumentException("left values must be less than right values");
+        }
+        Treap result = new Treap();
+        result.root = detach(join(left.root, right.root));
+        result.invalidateSize();
+        left.setRoot(null);
+        right.setRoot(null);
+        return result;
+    }
+
+    /**
+     * Returns the union of two treaps. Both input treaps are left empty.
+     *
+     * @param a The first treap.
+     * @param b The second treap.
+     * @return A treap with every value found in a or b.
+     */
+    public static Treap union(Treap a, Treap b){
+        return combine(a, b, UNION, 0);
+    }
+
+    /**
+     * Returns the intersection of two treaps. Both input treaps are left empty.
+     *
+     * @param a The first treap.
+     * @param b The second treap.
+     * @return A treap with the values found in both a and b.
+     */
+    public static Treap intersection(Treap a, Treap b){
+        return combine(a, b, INTERSECTION, 0);
+    }
+
+    /**
+     * Returns the values of a that are not in b. Both input treaps are left empty.
+     *
+     * @param a The treap to take values from.
+     * @param b The treap of values to leave out.
+     * @return A treap with the values of a that are not in b.
+     */
+    public static Treap difference(Treap a, Treap b){
+        return combine(a, b, DIFFERENCE, 0);
+    }
+
+    /**
+     * Fork-join version of union(a, b) for large treaps.
+     *
+     * @param a The first treap.
+     * @param b The second treap.
+     * @return A treap with every value found in a or b.
+     */
+    public static Treap parallelUnion(Treap a, Treap b){
+        return combine(a, b, UNION, parallelDepth());
+    }
+
+    /**
+     * Fork-join version of intersection(a, b) for large treaps.
+     *
+     * @param a The first treap.
+     * @param b The second treap.
+     * @return A treap with the values found in both a and b.
+     */
+    public static Treap parallelIntersection(Treap a, Treap b){
+        return combine(a, b, INTERSECTION, parallelDepth());
+    }
+
+    /**
+     * Fork-join version of difference(a, b) for large treaps.
+     *
+     * @param a The treap to take values from.
+     * @param b The treap of values to leave out.
+     * @return A treap with the values of a that are not in b.
+     */
+    public static Treap parallelDifference(Treap a, Treap b){
+        return combine(a, b, DIFFERENCE, parallelDepth());
+    }
+
+    private static Treap combine(Treap a, Treap b, int op, int forkDepth){
+        SetOperation task = new SetOperation(a.root, b.root, op, forkDepth);
+        a.setRoot(null);
+        b.setRoot(null);
+        Treap result = new Treap();
+        result.root = detach(forkDepth > 0 ? ForkJoinPool.commonPool().invoke(task) : task.compute());
+        result.invalidateSize();
+        return result;
+    }
+
+    /**
+     * Number of recursion levels that fork new tasks: enough for a few tasks per worker.
+     */
+    private static int parallelDepth(){
+        int parallelism = ForkJoinPool.commonPool().getParallelism();
+        return 32 - Integer.numberOfLeadingZeros(parallelism) + 2;
+    }
+
+    /**
+     * Recursive set operation on two subtrees. The root with the higher priority stays
+     * the root, the other subtree is split at its value and the matching halves are
+     * combined below it. While forkDepth is positive the left half is forked.
+     */
+    @SuppressWarnings("serial")
+    private static class SetOperation extends RecursiveTask<TNode> {
+        private final TNode a;
+        private final TNode b;
+        private final int op;
+        private final int forkDepth;
+
+        SetOperation(TNode a, TNode b, int op, int forkDepth){
+            this.a = a;
+            this.b = b;
+            this.op = op;
+            this.forkDepth = forkDepth;
+        }
+
+        @Override
+        protected TNode compute(){
+            TNode top = a;
+            TNode other = b;
+            if (top == null || other == null){
+                if (op == UNION){
+                    return top != null ? top : other;
+                }
+                return op == DIFFERENCE ? top : null;
+            }
+            if (op != DIFFERENCE && other.getBalance() > top.getBalance()){
+                top = b;
+                other = a;
+            }
+
+            TNode[] parts = split(other, top.getData());
+            TNode[] upper = split(parts[1], top.getData() + 1L);
+            boolean inOther = upper[0] != null;
+
+            TNode left;
+            TNode right;
+            SetOperation leftTask = new SetOperation(top.getLeft(), parts[0], op, forkDepth - 1);
+            SetOperation rightTask = new SetOperation(top.getRight(), upper[1], op, forkDepth - 1);
+            if (forkDepth > 0){
+                leftTask.fork();
+                right = rightTask.compute();
+                left = leftTask.join();
+            }
+            else {
+                left = leftTask.compute();
+                right = rightTask.compute();
+            }
+
+            boolean keep = op == UNION || (op == INTERSECTION) == inOther;
+            if (!keep){
+                return Treap.join(left, right);
+            }
+            setLeft(top, left);
+            setRight(top, right);
+            return top;
+        }
+    }
+
+    /**
+     * Splits a subtree into the values less than key and the values greater than or
+     * equal to key.
+     *
+     * @return An array holding the two subtrees, either of which may be null.
+     */
+    private static TNode[] split(TNode node, long key){
+        if (node == null){
+            return new TNode[]{null, null};
+        }
+        if (node.getData() < key){
+            TNode[] parts = split(node.getRight(), key);
+            setRight(node, parts[0]);
+            parts[0] = node;
+            return parts;
+        }
+        TNode[] parts = split(node.getLeft(), key);
+        setLeft(node, parts[1]);
+        parts[1] = node;
+        return parts;
+    }
+
+    /**
+     * Joins two subtrees where every value of left is less than every value of right,
+     * keeping the higher priority on top.
+     */
+    private static TNode join(TNode left, TNode right){
+        if (left == null){
+            return right;
+        }
+        if (right == null){
+            return left;
+        }
+        if (left.getBalance() > right.getBalance()){
+            setRight(left, join(left.getRight(), right));
+            return left;
+        }
+        setLeft(right, join(left, right.getLeft()));
+        return right;
+    }
+
+    private static TNode detach(TNode node){
+        if (node != null){
+            node.setParent(null);
+        }
+        return node;
+    }
+
+    /**
+     * Walks down to the node holding val, counting the nodes visited in findVisits.
+     */
+    private TNode find(int val){
+        findVisits = 0;
+        TNode node = root;
+        while (node != null){
+            findVisits++;
+            if (val == node.getData()){
+                return node;
+            }
+            node = val < node.getData() ? node.getLeft() : node.getRight();
+        }
+        return null;
+    }
+
+    /**
+     * Returns the depth of a node, the root being at depth 1.
+     */
+    private static int depth(TNode node){
+        int depth = 0;
+        for (; node != null; node = node.getParent()){
+            depth++;
+        }
+        return depth;
+    }
+
+    private static int min(TNode node){
+        while (node.getLeft() != null){
+            node = node.getLeft();
+        }
+        return node.getData();
+    }
+
+    private static int max(TNode node){
+        while (node.getRight() != null){
+            node = node.getRight();
+        }
+        return node.getData();
+    }
+
+    private static int randomPriority(){
+        return ThreadLocalRandom.current().nextInt();
+    }
+
+    private static void setLeft(TNode parent, TNode child){
+        parent.setLeft(child);
+        if (child != null){
+            child.setParent(parent);
+        }
+    }
+
+    private static void setRight(TNode parent, TNode child){
+        parent.setRight(child);
+        if (child != null){
+            child.setParent(parent);
+        }
+    }
+
+    public static void main(String[] args) {
+        System.out.println("\nTreap Tests");
+
+        Treap tree = new Treap();
+        for (int val : new int[]{50, 20, 70, 10, 30, 60, 80}) {
+            tree.Insert(val);
+        }
+        System.out.println("Treap after insertion:");
+        tree.printInOrder(); //should output: 10 20 30 50 60 70 80
+        System.out.println("\n");
+
+        // Split at 50 and join the halves back together
+        Treap upper = tree.split(50);
+        System.out.print("Lower half: ");
+        tree.printInOrder(); //should output: 10 20 30
+        System.out.print("\nUpper half: ");
+        upper.printInOrder(); //should output: 50 60 70 80
+        System.out.println("\n");
+        Treap joined = Treap.join(tree, upper);
+
+        Treap other = new Treap();
+        for (int val : new int[]{30, 40, 50, 90}) {
+            other.Insert(val);
+        }
+        System.out.print("Union with 30 40 50 90: ");
+        Treap.union(joined, other).printInOrder(); //should output: 10 20 30 40 50 60 70 80 90
+        System.out.println("\n");
+
+        Treap a = new Treap();
+        Treap b = new Treap();
+        for (int i = 1; i <= 10; i++) {
+            a.Insert(i);
+            if (i % 2 == 0) {
+                b.Insert(i);
+            }
+        }
+        System.out.print("Difference 1..10 minus evens: ");
+        Treap.difference(a, b).printInOrder(); //should output: 1 3 5 7 9
+        System.out.println("\n");
+    }
+}